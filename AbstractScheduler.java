@@ -6,25 +6,800 @@ import java.util.*;
 /**
  * Abstract base class for CPU scheduling algorithms.
  * Provides common functionality for all schedulers.
+ *
+ * The simulation loop lives here; subclasses describe a policy by supplying the ready
+ * queue that orders waiting processes and, for preemptive policies, the length of each
+ * time slice. While running, the scheduler periodically takes lightweight checkpoints so
+ * that after a process is added, removed or replaced, {@link #execute()} resumes from the
+ * last checkpoint before the earliest affected arrival instead of starting again at time 0.
+ *
+ * Processes with I/O bursts block on a {@link Device} when a CPU burst ends and re-enter
+ * the ready queue when their I/O burst completes, so every policy overlaps computation
+ * with I/O. Runs of such workloads restart from time 0 after an edit and cannot be snapshotted.
+ * The same holds for policies whose own state is not captured, which say so through
+ * {@link #supportsCheckpoints()}.
  */
 public abstract class AbstractScheduler implements Scheduler {
+    /** Default number of scheduling decisions between two checkpoints. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1024;
+    // Checkpoints kept at most; beyond this every other one is dropped and the spacing doubles
+    private static final int MAX_CHECKPOINTS = 64;
+
     protected List<Process> processes;
     protected List<Process> completedProcesses;
     protected List<String> ganttChart;
     protected int currentTime;
     protected int contextSwitches;
 
+    // Processes ordered by arrival time (ties keep insertion order) and the ready queue
+    protected List<Process> jobs;
+    protected Queue<Process> readyQueue;
+    protected int nextArrival;
+
+    // Running totals of the completed processes' metrics
+    protected long totalWaitingTime;
+    protected long totalTurnaroundTime;
+    protected long totalResponseTime;
+
+    private final List<Checkpoint> checkpoints;
+    private int checkpointInterval;
+    // How many intervals apart checkpoints are, doubled each time the list is thinned
+    private long checkpointSpacing = 1;
+    private int decisionsSinceCheckpoint;
+    private boolean started;
+    private int dirtyFrom;
+    private boolean ganttChartRecorded = true;
+
+    // Devices for processes with I/O bursts; only consulted when the workload has any
+    private final IoSubsystem io = new IoSubsystem();
+    private boolean ioWorkload;
+    private boolean cpuBusy;
+    private boolean anyBlocked;
+
+    // The process whose slice ended only for the policy to look again, until the next dispatch
+    private Process reevaluated;
+    // Whether the process running now kept the CPU from its last slice, and when it got it
+    private boolean continued;
+    private int segmentStart;
+
+    // Null when nothing is listening, so an unobserved run only pays for a field check
+    private final List<SchedulingListener> listeners;
+    private SchedulingListener listener;
+
     public AbstractScheduler() {
         this.processes = new ArrayList<>();
         this.completedProcesses = new ArrayList<>();
         this.ganttChart = new ArrayList<>();
         this.currentTime = 0;
         this.contextSwitches = 0;
+        this.jobs = new ArrayList<>();
+        this.checkpoints = new ArrayList<>();
+        this.checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+        this.dirtyFrom = Integer.MAX_VALUE;
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * Scheduler state at a decision point, holding only what the rest of the run can change.
+     * Processes that completed before the checkpoint keep their results, and processes that
+     * had not arrived yet are simply reset, so neither is copied.
+     */
+    private static final class Checkpoint {
+        final int time;
+        final int nextArrival;
+        final int completedCount;
+        final int ganttSize;
+        final int contextSwitches;
+        final long totalWaitingTime;
+        final long totalTurnaroundTime;
+        final long totalResponseTime;
+        final Process[] ready;
+        final int[] remainingTimes;
+        final int[] responseTimes;
+
+        Checkpoint(AbstractScheduler scheduler) {
+            this.time = scheduler.currentTime;
+            this.nextArrival = scheduler.nextArrival;
+            this.completedCount = scheduler.completedProcesses.size();
+            this.ganttSize = scheduler.ganttChart.size();
+            this.contextSwitches = scheduler.contextSwitches;
+            this.totalWaitingTime = scheduler.totalWaitingTime;
+            this.totalTurnaroundTime = scheduler.totalTurnaroundTime;
+            this.totalResponseTime = scheduler.totalResponseTime;
+            this.ready = scheduler.readyQueue.toArray(new Process[0]);
+            this.remainingTimes = new int[ready.length];
+            this.responseTimes = new int[ready.length];
+            for (int i = 0; i < ready.length; i++) {
+                remainingTimes[i] = ready[i].getRemainingTime();
+                responseTimes[i] = ready[i].getResponseTime();
+            }
+        }
+    }
+
+    /**
+     * Forwards every event to several listeners in registration order.
+     */
+    private static final class MulticastListener implements SchedulingListener {
+        private final SchedulingListener[] targets;
+
+        MulticastListener(SchedulingListener[] targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public void onArrival(Process process, int time) {
+            for (SchedulingListener target : targets) {
+                target.onArrival(process, time);
+            }
+        }
+
+        @Override
+        public void onDispatch(Process process, int time, int readyQueueLength) {
+            for (SchedulingListener target : targets) {
+                target.onDispatch(process, time, readyQueueLength);
+            }
+        }
+
+        @Override
+        public void onPreemption(Process process, int time) {
+            for (SchedulingListener target : targets) {
+                target.onPreemption(process, time);
+            }
+        }
+
+        @Override
+        public void onBlock(Process process, int time) {
+            for (SchedulingListener target : targets) {
+                target.onBlock(process, time);
+            }
+        }
+
+        @Override
+        public void onWakeup(Process process, int time) {
+            for (SchedulingListener target : targets) {
+                target.onWakeup(process, time);
+            }
+        }
+
+        @Override
+        public void onCompletion(Process process, int time) {
+            for (SchedulingListener target : targets) {
+                target.onCompletion(process, time);
+            }
+        }
+
+        @Override
+        public void onIdle(int startTime, int endTime) {
+            for (SchedulingListener target : targets) {
+                target.onIdle(startTime, endTime);
+            }
+        }
+    }
+
+    /**
+     * Creates the queue that holds arrived processes waiting for the CPU.
+     * The queue's ordering defines the scheduling policy; ties must be broken by
+     * {@link Process#getSequenceNumber()} so that every run is deterministic.
+     * @return An empty ready queue.
+     */
+    protected abstract Queue<Process> createReadyQueue();
+
+    /**
+     * Gets the time the given process may run before the scheduler decides again.
+     * Non-preemptive policies run a process until it completes.
+     * @param process The process about to run.
+     * @return The length of the time slice.
+     */
+    protected int getTimeSlice(Process process) {
+        return process.getRemainingTime();
+    }
+
+    /**
+     * Whether the policy can take the CPU away from an unfinished process.
+     * Preemptive policies count a context switch on every dispatch after time 0;
+     * non-preemptive ones count one on every dispatch after the first.
+     * @return true if the policy is preemptive.
+     */
+    protected boolean isPreemptive() {
+        return false;
+    }
+
+    /**
+     * Checks whether the time slice that just ended was cut short only so that the policy
+     * could look at the ready queue again, rather than because the process used up its turn.
+     * A process whose slice ends this way and is picked again keeps the CPU: no context switch
+     * or preemption is counted and its Gantt segment goes on. It only counts as preempted
+     * once another process is dispatched.
+     * @param process The process whose slice ended, which has neither completed nor blocked.
+     * @return false by default, where every slice end is a preemption.
+     */
+    protected boolean isReevaluation(Process process) {
+        return false;
+    }
+
+    /**
+     * Gets the next time at which a queued process that the ready queue is currently holding
+     * back becomes eligible to run. While the ready queue returns nothing, the clock skips to
+     * the earlier of this time and the next arrival.
+     * @return The wakeup time, or Integer.MAX_VALUE if the queue never holds processes back.
+     */
+    protected int getNextWakeupTime() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the next time a process arrives or finishes an I/O burst. Preemptive policies can
+     * end a time slice there to reconsider the running process.
+     * @return The time, or Integer.MAX_VALUE if no process will become ready.
+     */
+    protected int getNextReadyTime() {
+        int arrival = nextArrival < jobs.size() ? jobs.get(nextArrival).getArrivalTime() : Integer.MAX_VALUE;
+        return ioWorkload ? Math.min(arrival, io.nextCompletionTime()) : arrival;
     }
 
     @Override
     public void addProcess(Process process) {
         processes.add(process);
+        if (started) {
+            // Keep the arrival order up to date so the next run can resume from a checkpoint
+            jobs.add(upperBound(process.getArrivalTime()), process);
+            dirtyFrom = Math.min(dirtyFrom, process.getArrivalTime());
+        }
+    }
+
+    /**
+     * Removes a process from the scheduler.
+     * @param process The process to remove.
+     * @return true if the process was part of the workload.
+     */
+    public boolean removeProcess(Process process) {
+        if (!processes.remove(process)) {
+            return false;
+        }
+        if (started) {
+            for (int i = lowerBound(process.getArrivalTime()); i < jobs.size(); i++) {
+                if (jobs.get(i) == process) {
+                    jobs.remove(i);
+                    break;
+                }
+            }
+            dirtyFrom = Math.min(dirtyFrom, process.getArrivalTime());
+        }
+        return true;
+    }
+
+    /**
+     * Replaces a process with an edited version of it.
+     * The replacement is ordered after processes added earlier with the same arrival time.
+     * @param oldProcess The process to remove.
+     * @param newProcess The process to add in its place.
+     */
+    public void replaceProcess(Process oldProcess, Process newProcess) {
+        if (!removeProcess(oldProcess)) {
+            throw new IllegalArgumentException("Process is not scheduled: " + oldProcess);
+        }
+        addProcess(newProcess);
+    }
+
+    @Override
+    public void addSchedulingListener(SchedulingListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+        updateListener();
+    }
+
+    @Override
+    public void removeSchedulingListener(SchedulingListener listener) {
+        listeners.remove(listener);
+        updateListener();
+    }
+
+    private void updateListener() {
+        if (listeners.isEmpty()) {
+            listener = null;
+        } else if (listeners.size() == 1) {
+            listener = listeners.get(0);
+        } else {
+            listener = new MulticastListener(listeners.toArray(new SchedulingListener[0]));
+        }
+    }
+
+    /**
+     * Sets how many scheduling decisions are made between two checkpoints.
+     * When the ready queue is longer than the interval, checkpoints are spaced by the queue
+     * length instead so that copying it never dominates the simulation. At most 64
+     * checkpoints are kept: when there would be more, every other one is dropped and later
+     * ones are taken twice as far apart, so long runs hold checkpoints spread over the whole
+     * run in bounded memory. Policies that do not support checkpoints take no checkpoints
+     * whatever the interval.
+     * @param checkpointInterval The number of decisions, or 0 to disable checkpoints.
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be >= 0");
+        }
+        this.checkpointInterval = checkpointInterval;
+        if (checkpointInterval == 0) {
+            checkpoints.clear();
+            checkpointSpacing = 1;
+        }
+    }
+
+    /**
+     * Checks whether the scheduler's state is fully captured by checkpoints and snapshots.
+     * Policies that keep state of their own beyond the ready queue and the processes, which
+     * the base class cannot copy, return false; their runs restart from time 0 after an edit
+     * and {@link #takeSnapshot()} refuses them.
+     * @return True by default.
+     */
+    protected boolean supportsCheckpoints() {
+        return true;
+    }
+
+    /**
+     * Registers a device that I/O bursts can name. Devices named by processes but not
+     * registered are created as first-come, first-served devices with one channel.
+     * @param device The device.
+     */
+    public void addDevice(Device device) {
+        io.add(device);
+    }
+
+    /**
+     * Gets the registered devices and those created for the last run, in the order they were added.
+     * @return The devices.
+     */
+    public Collection<Device> getDevices() {
+        return io.getDevices();
+    }
+
+    /**
+     * Gets the simulated time the last run reached.
+     * @return The current time.
+     */
+    public int getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Gets the CPU time spent running processes so far.
+     * @return The busy time.
+     */
+    public long getCpuBusyTime() {
+        long busy = 0;
+        for (Process p : processes) {
+            busy += p.getBurstTime() - p.getRemainingTime();
+        }
+        return busy;
+    }
+
+    /**
+     * Gets the fraction of the run so far in which the CPU was busy.
+     * @return The CPU utilization.
+     */
+    public double getCpuUtilization() {
+        return currentTime <= 0 ? 0 : (double) getCpuBusyTime() / currentTime;
+    }
+
+    /**
+     * Gets the time in which at least one device was serving a request.
+     * @return The I/O busy time.
+     */
+    public long getIoBusyTime() {
+        return io.getBusyTime();
+    }
+
+    /**
+     * Gets the time in which the CPU ran a process while at least one device was serving a
+     * request; the more of the I/O busy time this covers, the better the policy overlaps
+     * computation with I/O.
+     * @return The overlap time.
+     */
+    public long getOverlapTime() {
+        return io.getOverlapTime();
+    }
+
+    /**
+     * Sets whether execute() builds the Gantt chart as a list of strings. Turn it off for
+     * long runs whose segments are recorded by a listener such as a GanttStoreWriter instead;
+     * execute() then returns an empty list.
+     * @param ganttChartRecorded false to skip the in-memory Gantt chart.
+     */
+    public void setGanttChartRecorded(boolean ganttChartRecorded) {
+        this.ganttChartRecorded = ganttChartRecorded;
+    }
+
+    public boolean isGanttChartRecorded() {
+        return ganttChartRecorded;
+    }
+
+    /**
+     * Executes the scheduling algorithm.
+     * After the workload is edited, the run resumes from the last checkpoint taken before
+     * the earliest affected arrival time; the schedule before that point cannot change.
+     * @return A list of strings representing the Gantt chart.
+     */
+    @Override
+    public List<String> execute() {
+        runUntil(Integer.MAX_VALUE);
+        return ganttChart;
+    }
+
+    /**
+     * Runs the simulation up to the first scheduling decision at or after the given time,
+     * then pauses. Calling it again, or calling {@link #execute()}, continues the run.
+     * A paused scheduler can be saved with {@link #takeSnapshot()}.
+     * @param time The simulated time at which to pause.
+     * @return true if every process has completed.
+     */
+    public boolean runUntil(int time) {
+        if (!started) {
+            start();
+        } else if (dirtyFrom <= currentTime) {
+            // Edits that lie ahead of the current time need no rollback
+            Checkpoint checkpoint = findCheckpointBefore(dirtyFrom);
+            if (checkpoint != null) {
+                restore(checkpoint);
+            } else {
+                start();
+            }
+        }
+        dirtyFrom = Integer.MAX_VALUE;
+        return run(time);
+    }
+
+    /**
+     * Captures the state of a paused run. Only the ready queue is copied; see
+     * {@link SchedulerSnapshot} for what may change while the snapshot is being written.
+     * @return The snapshot.
+     * @throws IllegalStateException If the workload has I/O bursts or the policy does not
+     *         {@link #supportsCheckpoints() support checkpoints}.
+     */
+    public SchedulerSnapshot takeSnapshot() {
+        if (!supportsCheckpoints()) {
+            throw new IllegalStateException(getName() + " cannot be snapshotted");
+        }
+        if (!started) {
+            start();
+        }
+        if (ioWorkload) {
+            throw new IllegalStateException("Runs of workloads with I/O bursts cannot be snapshotted");
+        }
+        int[] readyJobs = new int[readyQueue.size()];
+        int[] remainingTimes = new int[readyJobs.length];
+        int[] responseTimes = new int[readyJobs.length];
+        int i = 0;
+        for (Process p : readyQueue) {
+            readyJobs[i] = (int) p.getSequenceNumber();
+            remainingTimes[i] = p.getRemainingTime();
+            responseTimes[i] = p.getResponseTime();
+            i++;
+        }
+        return new SchedulerSnapshot(getName(), currentTime, nextArrival, contextSwitches,
+                completedProcesses.size(), ganttChart.size(), decisionsSinceCheckpoint,
+                totalWaitingTime, totalTurnaroundTime, totalResponseTime,
+                jobs, readyJobs, remainingTimes, responseTimes);
+    }
+
+    /**
+     * Replaces the workload and state of this scheduler with a snapshot, so that the next
+     * call to {@link #runUntil(int)} or {@link #execute()} continues the saved run exactly.
+     * The scheduler works on its own copies of the snapshot's processes, and its Gantt chart
+     * holds only the entries recorded after the snapshot.
+     * @param snapshot The snapshot to resume from.
+     * @throws IllegalStateException If the policy does not {@link #supportsCheckpoints() support checkpoints}.
+     */
+    public void resume(SchedulerSnapshot snapshot) {
+        if (!supportsCheckpoints()) {
+            throw new IllegalStateException(getName() + " cannot be resumed from a snapshot");
+        }
+        if (!getName().equals(snapshot.schedulerName)) {
+            throw new IllegalArgumentException("Snapshot was taken from " + snapshot.schedulerName
+                    + ", not " + getName());
+        }
+
+        jobs = new ArrayList<>(snapshot.jobs.size());
+        for (Process p : snapshot.jobs) {
+            jobs.add(new Process(p));
+        }
+        processes = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs.size(); i++) {
+            Process p = jobs.get(i);
+            p.setSequenceNumber(i);
+            if (i >= snapshot.nextArrival) {
+                p.reset();
+            }
+        }
+
+        readyQueue = createReadyQueue();
+        boolean[] ready = new boolean[snapshot.nextArrival];
+        for (int i = 0; i < snapshot.readyJobs.length; i++) {
+            Process p = jobs.get(snapshot.readyJobs[i]);
+            p.restore(snapshot.readyRemainingTimes[i], snapshot.readyResponseTimes[i]);
+            readyQueue.add(p);
+            ready[snapshot.readyJobs[i]] = true;
+        }
+
+        // On a single CPU no two processes complete at the same time, so this is completion order
+        completedProcesses = new ArrayList<>(snapshot.completedCount);
+        for (int i = 0; i < snapshot.nextArrival; i++) {
+            if (!ready[i]) {
+                completedProcesses.add(jobs.get(i));
+            }
+        }
+        completedProcesses.sort(Comparator.comparingInt(Process::getCompletionTime));
+
+        ganttChart.clear();
+        checkpoints.clear();
+        checkpointSpacing = 1;
+        currentTime = snapshot.time;
+        nextArrival = snapshot.nextArrival;
+        contextSwitches = snapshot.contextSwitches;
+        totalWaitingTime = snapshot.totalWaitingTime;
+        totalTurnaroundTime = snapshot.totalTurnaroundTime;
+        totalResponseTime = snapshot.totalResponseTime;
+        decisionsSinceCheckpoint = snapshot.decisionsSinceCheckpoint;
+        dirtyFrom = Integer.MAX_VALUE;
+        started = true;
+    }
+
+    /**
+     * Resets all state for a run from time 0.
+     */
+    private void start() {
+        started = true;
+        ganttChart.clear();
+        completedProcesses.clear();
+        checkpoints.clear();
+        checkpointSpacing = 1;
+        currentTime = 0;
+        contextSwitches = 0;
+        totalWaitingTime = 0;
+        totalTurnaroundTime = 0;
+        totalResponseTime = 0;
+        decisionsSinceCheckpoint = 0;
+        nextArrival = 0;
+
+        jobs = new ArrayList<>(processes);
+        jobs.sort(Comparator.comparingInt(Process::getArrivalTime));
+        ioWorkload = false;
+        for (Process p : jobs) {
+            p.reset();
+            ioWorkload |= p.hasIoBursts();
+        }
+        io.reset();
+        cpuBusy = false;
+        anyBlocked = false;
+        reevaluated = null;
+        continued = false;
+        readyQueue = createReadyQueue();
+    }
+
+    /**
+     * Rolls the scheduler back to a checkpoint, discarding everything recorded after it.
+     */
+    private void restore(Checkpoint checkpoint) {
+        currentTime = checkpoint.time;
+        nextArrival = checkpoint.nextArrival;
+        contextSwitches = checkpoint.contextSwitches;
+        totalWaitingTime = checkpoint.totalWaitingTime;
+        totalTurnaroundTime = checkpoint.totalTurnaroundTime;
+        totalResponseTime = checkpoint.totalResponseTime;
+        decisionsSinceCheckpoint = 0;
+        reevaluated = null;
+        continued = false;
+        completedProcesses.subList(checkpoint.completedCount, completedProcesses.size()).clear();
+        ganttChart.subList(checkpoint.ganttSize, ganttChart.size()).clear();
+
+        for (int i = nextArrival; i < jobs.size(); i++) {
+            jobs.get(i).reset();
+        }
+        readyQueue = createReadyQueue();
+        for (int i = 0; i < checkpoint.ready.length; i++) {
+            checkpoint.ready[i].restore(checkpoint.remainingTimes[i], checkpoint.responseTimes[i]);
+            readyQueue.add(checkpoint.ready[i]);
+        }
+    }
+
+    /**
+     * Runs the simulation loop until every process has completed or the pause time is reached.
+     * @param pauseTime The time of the first decision point at which to stop.
+     * @return true if every process has completed.
+     */
+    private boolean run(int pauseTime) {
+        Process runningProcess = null;
+        while (!allProcessesCompleted()) {
+            admitArrivals();
+
+            // The previous time slice has ended: retire or requeue its process
+            if (runningProcess != null) {
+                if (runningProcess.isCompleted()) {
+                    complete(runningProcess);
+                } else if (runningProcess.isBlocked()) {
+                    io.submit(runningProcess, currentTime);
+                    anyBlocked = true;
+                    if (listener != null) {
+                        listener.onBlock(runningProcess, currentTime);
+                    }
+                } else {
+                    if (isReevaluation(runningProcess)) {
+                        reevaluated = runningProcess;
+                    } else if (listener != null) {
+                        listener.onPreemption(runningProcess, currentTime);
+                    }
+                    readyQueue.add(runningProcess);
+                }
+                runningProcess = null;
+                continue;
+            }
+
+            if (currentTime >= pauseTime) {
+                return false;
+            }
+            // Blocked processes and device queues are not checkpointed, so edits restart the run
+            if (checkpointInterval > 0 && !ioWorkload && supportsCheckpoints() && ++decisionsSinceCheckpoint
+                    >= checkpointSpacing * Math.max(checkpointInterval, readyQueue.size())) {
+                addCheckpoint();
+                decisionsSinceCheckpoint = 0;
+            }
+
+            Process next = readyQueue.poll();
+            continued = next != null && next == reevaluated;
+            if (reevaluated != null && !continued && listener != null) {
+                listener.onPreemption(reevaluated, currentTime);
+            }
+            reevaluated = null;
+            if (next == null) {
+                // No process is ready to execute, skip ahead to the next arrival or wakeup
+                int idleStart = currentTime;
+                currentTime = Math.min(getNextReadyTime(), getNextWakeupTime());
+                cpuBusy = false;
+                if (listener != null) {
+                    listener.onIdle(idleStart, currentTime);
+                }
+                continue;
+            }
+            if (!continued) {
+                if (listener != null) {
+                    listener.onDispatch(next, currentTime, readyQueue.size());
+                }
+                // A process that blocked on I/O released the CPU just like one that completed
+                if (isPreemptive() ? currentTime > 0 : !completedProcesses.isEmpty() || anyBlocked) {
+                    contextSwitches++;
+                }
+                segmentStart = currentTime;
+            }
+            int startTime = currentTime;
+            currentTime += next.execute(getTimeSlice(next), startTime);
+            recordExecution(next, startTime, currentTime);
+            runningProcess = next;
+            cpuBusy = true;
+        }
+        return true;
+    }
+
+    /**
+     * Moves every process that has arrived or finished its I/O burst by the current time
+     * into the ready queue, in time order with arrivals first on ties.
+     */
+    private void admitArrivals() {
+        if (ioWorkload) {
+            admitWakeups();
+        }
+        while (nextArrival < jobs.size() && jobs.get(nextArrival).getArrivalTime() <= currentTime) {
+            admit(jobs.get(nextArrival));
+        }
+    }
+
+    private void admit(Process p) {
+        p.setSequenceNumber(nextArrival);
+        readyQueue.add(p);
+        nextArrival++;
+        if (listener != null) {
+            listener.onArrival(p, p.getArrivalTime());
+        }
+    }
+
+    /**
+     * Wakes up the processes whose I/O bursts completed by the current time, admitting any
+     * arrivals that came before each of them first.
+     */
+    private void admitWakeups() {
+        int wakeup;
+        while ((wakeup = io.nextCompletionTime()) <= currentTime) {
+            while (nextArrival < jobs.size() && jobs.get(nextArrival).getArrivalTime() <= wakeup) {
+                admit(jobs.get(nextArrival));
+            }
+            Process p = io.completeNext(cpuBusy);
+            readyQueue.add(p);
+            if (listener != null) {
+                listener.onWakeup(p, wakeup);
+            }
+        }
+        io.advanceTo(currentTime, cpuBusy);
+    }
+
+    private void complete(Process process) {
+        completedProcesses.add(process);
+        totalWaitingTime += process.getWaitingTime();
+        totalTurnaroundTime += process.getTurnaroundTime();
+        totalResponseTime += process.getResponseTime();
+        if (listener != null) {
+            listener.onCompletion(process, process.getCompletionTime());
+        }
+    }
+
+    /**
+     * Records a time slice in the Gantt chart. A slice of a process that kept the CPU after a
+     * {@link #isReevaluation(Process) reevaluation} extends its last entry instead.
+     * @param process The process that ran.
+     * @param startTime The start time of the slice.
+     * @param endTime The end time of the slice.
+     */
+    protected void recordExecution(Process process, int startTime, int endTime) {
+        if (continued && ganttChartRecorded && !ganttChart.isEmpty()) {
+            ganttChart.remove(ganttChart.size() - 1);
+            startTime = segmentStart;
+        }
+        updateGanttChart(process, startTime, endTime);
+    }
+
+    /**
+     * Takes a checkpoint, first thinning the list to every other checkpoint if it is full.
+     */
+    private void addCheckpoint() {
+        if (checkpoints.size() == MAX_CHECKPOINTS) {
+            int kept = 0;
+            for (int i = 0; i < checkpoints.size(); i += 2) {
+                checkpoints.set(kept++, checkpoints.get(i));
+            }
+            checkpoints.subList(kept, checkpoints.size()).clear();
+            checkpointSpacing *= 2;
+        }
+        checkpoints.add(new Checkpoint(this));
+    }
+
+    private Checkpoint findCheckpointBefore(int time) {
+        // Every process admitted at a checkpoint strictly before the edit is unaffected by it
+        int low = 0;
+        int high = checkpoints.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).time < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        checkpoints.subList(low, checkpoints.size()).clear();
+        return low > 0 ? checkpoints.get(low - 1) : null;
+    }
+
+    private int lowerBound(int arrivalTime) {
+        int low = 0;
+        int high = jobs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (jobs.get(mid).getArrivalTime() < arrivalTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(int arrivalTime) {
+        int low = 0;
+        int high = jobs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (jobs.get(mid).getArrivalTime() <= arrivalTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     @Override
@@ -32,10 +807,7 @@ public abstract class AbstractScheduler implements Scheduler {
         if (completedProcesses.isEmpty()) {
             return 0;
         }
-        return completedProcesses.stream()
-                .mapToInt(Process::getWaitingTime)
-                .average()
-                .orElse(0);
+        return (double) totalWaitingTime / completedProcesses.size();
     }
 
     @Override
@@ -43,10 +815,7 @@ public abstract class AbstractScheduler implements Scheduler {
         if (completedProcesses.isEmpty()) {
             return 0;
         }
-        return completedProcesses.stream()
-                .mapToInt(Process::getTurnaroundTime)
-                .average()
-                .orElse(0);
+        return (double) totalTurnaroundTime / completedProcesses.size();
     }
 
     @Override
@@ -54,10 +823,7 @@ public abstract class AbstractScheduler implements Scheduler {
         if (completedProcesses.isEmpty()) {
             return 0;
         }
-        return completedProcesses.stream()
-                .mapToInt(Process::getResponseTime)
-                .average()
-                .orElse(0);
+        return (double) totalResponseTime / completedProcesses.size();
     }
 
     @Override
@@ -94,6 +860,9 @@ public abstract class AbstractScheduler implements Scheduler {
      * @param endTime The end time of execution.
      */
     protected void updateGanttChart(Process process, int startTime, int endTime) {
+        if (!ganttChartRecorded) {
+            return;
+        }
         ganttChart.add(String.format("Time %d-%d: %s", startTime, endTime, process.getName()));
     }
 
@@ -0,0 +1,265 @@
+package com.cpuscheduler.ui;
+
+import com.cpuscheduler.core.SchedulerFactory;
+import com.cpuscheduler.io.ExportFormat;
+import com.cpuscheduler.io.GanttExporter;
+import com.cpuscheduler.io.ProcessResultExporter;
+import com.cpuscheduler.io.WorkloadReader;
+import com.cpuscheduler.model.Process;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-interactive runner that simulates every combination of workload file and scheduler
+ * configuration and writes one CSV summary.
+ *
+ * Usage: --batch &lt;directory|glob&gt; --schedulers FCFS,SJF,PRIORITY,RR:4 --output summary.csv [--threads N]
+ *        [--export &lt;directory&gt; [--format csv|jsonl]]
+ *
+ * With --export, the per-process results and Gantt segments of every run are also streamed to
+ * files named &lt;workload&gt;.&lt;scheduler&gt;.processes.csv and &lt;workload&gt;.&lt;scheduler&gt;.gantt.csv.
+ * Runs execute in parallel on a fixed pool. Files are listed lazily, and only a bounded number
+ * of workloads are held in memory at once, so a directory with thousands of traces is fine.
+ */
+public class BatchRunner {
+    private static final String USAGE = "Usage: --batch <directory|glob> --schedulers FCFS,SJF,PRIORITY,RR:4 "
+            + "--output <summary.csv> [--threads N] [--export <directory> [--format csv|jsonl]]";
+
+    private final String input;
+    private final List<String> schedulerSpecs;
+    private final Path output;
+    private final int threads;
+    private Path exportDirectory;
+    private ExportFormat exportFormat = ExportFormat.CSV;
+
+    public BatchRunner(String input, List<String> schedulerSpecs, Path output, int threads) {
+        if (schedulerSpecs.isEmpty()) {
+            throw new IllegalArgumentException("At least one scheduler configuration is required");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be greater than 0");
+        }
+        // Fail fast on a bad configuration instead of once per file
+        for (String spec : schedulerSpecs) {
+            SchedulerFactory.createScheduler(spec);
+        }
+        this.input = input;
+        this.schedulerSpecs = new ArrayList<>(schedulerSpecs);
+        this.output = output;
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a batch runner from command-line arguments.
+     * @param args The arguments, starting with --batch.
+     * @return The batch runner.
+     * @throws IllegalArgumentException If the arguments are incomplete or invalid.
+     */
+    public static BatchRunner fromArgs(String[] args) {
+        Map<String, String> options = parseOptions(args, USAGE, "--batch", "--schedulers", "--output");
+        int threads = intOption(options, "--threads", Runtime.getRuntime().availableProcessors());
+        BatchRunner runner = new BatchRunner(options.get("--batch"), parseSpecs(options.get("--schedulers")),
+                Paths.get(options.get("--output")), threads);
+        if (options.containsKey("--export")) {
+            ExportFormat format = options.containsKey("--format")
+                    ? ExportFormat.parse(options.get("--format")) : ExportFormat.CSV;
+            runner.setExport(Paths.get(options.get("--export")), format);
+        }
+        return runner;
+    }
+
+    /**
+     * Parses "--name value" pairs.
+     * @param args The arguments.
+     * @param usage The message to fail with when the arguments are malformed.
+     * @param required The options that must be present.
+     * @return The options by name.
+     * @throws IllegalArgumentException If an option has no value or a required option is missing.
+     */
+    static Map<String, String> parseOptions(String[] args, String usage, String... required) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException(usage);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+        for (String option : required) {
+            if (!options.containsKey(option)) {
+                throw new IllegalArgumentException(usage);
+            }
+        }
+        return options;
+    }
+
+    static int intOption(Map<String, String> options, String name, int defaultValue) {
+        if (!options.containsKey(name)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(options.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + options.get(name));
+        }
+    }
+
+    static List<String> parseSpecs(String list) {
+        List<String> specs = new ArrayList<>();
+        for (String spec : list.split(",")) {
+            if (!spec.trim().isEmpty()) {
+                specs.add(spec.trim());
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * Streams the per-process results and Gantt segments of every run to files.
+     * @param directory The directory to write to.
+     * @param format The output format.
+     */
+    public void setExport(Path directory, ExportFormat format) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Export directory does not exist: " + directory);
+        }
+        this.exportDirectory = directory;
+        this.exportFormat = format;
+    }
+
+    /**
+     * Runs every combination and writes the summary.
+     * @return The number of workload files that could not be processed.
+     * @throws IOException If the input cannot be listed or the summary cannot be written.
+     */
+    public int run() throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // At most two workloads per worker are loaded at any time
+        Semaphore inFlight = new Semaphore(threads * 2);
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             DirectoryStream<Path> files = listInputs(input)) {
+            writer.write(RunSummary.CSV_HEADER);
+            writer.newLine();
+
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                inFlight.acquireUninterruptibly();
+                CompletableFuture<Void> done = CompletableFuture
+                    .supplyAsync(() -> load(file), pool)
+                    .thenCompose(workload -> runAll(file, workload, pool))
+                    .thenAccept(lines -> writeLines(writer, lines))
+                    .whenComplete((ignored, e) -> {
+                        inFlight.release();
+                        if (e != null) {
+                            failures.incrementAndGet();
+                            System.err.println("Failed to process " + file + ": " + rootCause(e).getMessage());
+                        }
+                    });
+                pending.add(done);
+                pending.removeIf(CompletableFuture::isDone);
+            }
+
+            for (CompletableFuture<Void> future : pending) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    // Already reported
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return failures.get();
+    }
+
+    /**
+     * Lists the workload files named by a directory or a glob over a directory.
+     * @param input The directory or glob.
+     * @return The matching entries.
+     * @throws IOException If the directory cannot be listed.
+     */
+    static DirectoryStream<Path> listInputs(String input) throws IOException {
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            return Files.newDirectoryStream(path);
+        }
+        // Treat the last path element as a glob over its parent directory
+        Path directory = path.getParent() != null ? path.getParent() : Paths.get(".");
+        return Files.newDirectoryStream(directory, path.getFileName().toString());
+    }
+
+    static List<Process> load(Path file) {
+        try {
+            List<Process> workload = WorkloadReader.read(file);
+            if (workload.isEmpty()) {
+                throw new IOException(file + ": no processes");
+            }
+            return workload;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompletableFuture<List<String>> runAll(Path file, List<Process> workload, ExecutorService pool) {
+        List<CompletableFuture<String>> runs = new ArrayList<>();
+        // Every configuration is compared against the same optimum
+        double optimum = RunSummary.optimalTurnaroundTime(workload);
+        for (String spec : schedulerSpecs) {
+            runs.add(CompletableFuture.supplyAsync(() -> runOne(file, workload, spec, optimum), pool));
+        }
+        return CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<String> lines = new ArrayList<>();
+                for (CompletableFuture<String> run : runs) {
+                    lines.add(run.join());
+                }
+                return lines;
+            });
+    }
+
+    private String runOne(Path file, List<Process> workload, String spec, double optimum) {
+        String fileName = file.getFileName().toString();
+        if (exportDirectory == null) {
+            return RunSummary.simulate(workload, spec, optimum).toCsv(fileName);
+        }
+        String prefix = file.getFileName() + "." + spec.replace(':', '-') + ".";
+        try (ProcessResultExporter results = new ProcessResultExporter(
+                 exportDirectory.resolve(prefix + "processes." + exportFormat.getExtension()), exportFormat);
+             GanttExporter gantt = new GanttExporter(
+                 exportDirectory.resolve(prefix + "gantt." + exportFormat.getExtension()), exportFormat)) {
+            return RunSummary.simulate(workload, spec, optimum, results, gantt).toCsv(fileName);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeLines(BufferedWriter writer, List<String> lines) {
+        synchronized (writer) {
+            try {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static Throwable rootCause(Throwable e) {
+        while (e.getCause() != null && (e instanceof CompletionException || e instanceof UncheckedIOException)) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
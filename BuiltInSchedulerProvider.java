@@ -0,0 +1,78 @@
+package com.cpuscheduler.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Provider for the policies that ship with the scheduler. These are registered directly by
+ * {@link SchedulerFactory} rather than through the service loader, so using them never
+ * triggers a classpath scan.
+ */
+final class BuiltInSchedulerProvider implements SchedulerProvider {
+    static final List<SchedulerProvider> ALL = Collections.unmodifiableList(Arrays.asList(
+        new BuiltInSchedulerProvider("FCFS", Collections.emptyList(), "First-Come, First-Served (FCFS)",
+                false, args -> new FCFSScheduler()),
+        new BuiltInSchedulerProvider("SJF", Collections.emptyList(), "Shortest Job First (SJF) - Non-preemptive",
+                false, args -> new SJFScheduler()),
+        new BuiltInSchedulerProvider("PRIORITY", Collections.emptyList(), "Priority Scheduling - Non-preemptive",
+                false, args -> new PriorityScheduler()),
+        new BuiltInSchedulerProvider("RR", Collections.singletonList("ROUND_ROBIN"), "Round Robin",
+                true, args -> new RoundRobinScheduler(args[0]),
+                new Parameter("quantum", "time quantum", 4, 1)),
+        new BuiltInSchedulerProvider("PSJF", Collections.emptyList(), "Predicted SJF (exponential averaging)",
+                false, args -> new PredictiveSJFScheduler(BurstPredictor.exponentialAverage(args[0] / 100.0), false),
+                new Parameter("alpha", "alpha (weight of the last burst in percent)", 50, 1, 100)),
+        new BuiltInSchedulerProvider("PSRTF", Collections.emptyList(), "Predicted SRTF (exponential averaging)",
+                true, args -> new PredictiveSJFScheduler(BurstPredictor.exponentialAverage(args[0] / 100.0), true),
+                new Parameter("alpha", "alpha (weight of the last burst in percent)", 50, 1, 100))
+    ));
+
+    private final String name;
+    private final List<String> aliases;
+    private final String displayName;
+    private final boolean preemptive;
+    private final Function<int[], Scheduler> factory;
+    private final List<Parameter> parameters;
+
+    private BuiltInSchedulerProvider(String name, List<String> aliases, String displayName, boolean preemptive,
+                                     Function<int[], Scheduler> factory, Parameter... parameters) {
+        this.name = name;
+        this.aliases = aliases;
+        this.displayName = displayName;
+        this.preemptive = preemptive;
+        this.factory = factory;
+        this.parameters = Collections.unmodifiableList(Arrays.asList(parameters));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean isPreemptive() {
+        return preemptive;
+    }
+
+    @Override
+    public Scheduler create(int[] arguments) {
+        return factory.apply(arguments);
+    }
+}
@@ -0,0 +1,308 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Estimates the length of the next CPU burst of a process from the bursts seen so far, for
+ * policies such as {@link PredictiveSJFScheduler} that cannot know burst times in advance.
+ *
+ * Processes are grouped into classes, numbered from 0, and a predictor learns one model per
+ * class; a class it has not seen yet is predicted by the mean of every burst observed. The
+ * state of each model is a few numbers in primitive arrays indexed by class, so a predictor
+ * stays small across millions of bursts. Predictors are stateful: give each scheduler its own.
+ */
+public abstract class BurstPredictor {
+    // Weight of the most recent burst in the built-in exponential averages
+    private static final double DEFAULT_ALPHA = 0.5;
+    private static final double DEFAULT_VARIANCE_ALPHA = 0.25;
+    private static final double DEFAULT_DEVIATIONS = 1;
+    // Histogram buckets are powers of two, so every positive int has one
+    private static final int BUCKETS = 31;
+    // A class histogram is halved once it holds this many bursts, so old behaviour fades
+    private static final int HISTOGRAM_WINDOW = 256;
+
+    private final String spec;
+    private long observedTime;
+    private long observations;
+
+    private BurstPredictor(String spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Predicts the length of the CPU burst a process is about to start.
+     * @param classId The class of the process.
+     * @param process The process; only the oracle looks at its burst times.
+     * @return The predicted burst time, at least 1.
+     */
+    public final int predict(int classId, Process process) {
+        double estimate = estimate(classId, process);
+        if (Double.isNaN(estimate)) {
+            estimate = observations == 0 ? 1 : (double) observedTime / observations;
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(estimate)));
+    }
+
+    /**
+     * Learns the length of a CPU burst that has just ended.
+     * @param classId The class of the process that ran it.
+     * @param burstTime The length of the burst.
+     */
+    public final void observe(int classId, int burstTime) {
+        observedTime += burstTime;
+        observations++;
+        update(classId, burstTime);
+    }
+
+    /**
+     * Forgets everything learned, for a new run.
+     */
+    public final void reset() {
+        observedTime = 0;
+        observations = 0;
+        clear();
+    }
+
+    /**
+     * Estimates the next burst of a class.
+     * @return The estimate, or NaN if the class has no history.
+     */
+    abstract double estimate(int classId, Process process);
+
+    abstract void update(int classId, int burstTime);
+
+    abstract void clear();
+
+    /**
+     * A predictor that knows every burst time in advance, the reference that predicted
+     * policies are measured against.
+     * @return The predictor.
+     */
+    public static BurstPredictor oracle() {
+        return new BurstPredictor("oracle") {
+            @Override
+            double estimate(int classId, Process process) {
+                return process.getCurrentBurstTime();
+            }
+
+            @Override
+            void update(int classId, int burstTime) {
+            }
+
+            @Override
+            void clear() {
+            }
+        };
+    }
+
+    /**
+     * Exponential averaging, the textbook estimate: tau = alpha * burst + (1 - alpha) * tau.
+     * @param alpha The weight of the most recent burst, in (0, 1]; 1 predicts the last burst.
+     * @return The predictor.
+     */
+    public static BurstPredictor exponentialAverage(double alpha) {
+        requireWeight(alpha);
+        return new BurstPredictor("ewma:" + format(alpha)) {
+            private double[] averages = new double[0];
+
+            @Override
+            double estimate(int classId, Process process) {
+                return classId < averages.length ? averages[classId] : Double.NaN;
+            }
+
+            @Override
+            void update(int classId, int burstTime) {
+                averages = grow(averages, classId, 1);
+                double average = averages[classId];
+                averages[classId] = Double.isNaN(average) ? burstTime : alpha * burstTime + (1 - alpha) * average;
+            }
+
+            @Override
+            void clear() {
+                averages = new double[0];
+            }
+        };
+    }
+
+    /**
+     * An exponentially weighted mean and variance, predicting the mean plus a number of
+     * standard deviations. Classes with erratic bursts are then predicted longer, so they
+     * lose fewer ties to classes that reliably run short.
+     * @param alpha The weight of the most recent burst, in (0, 1].
+     * @param deviations The standard deviations added to the mean; may be negative.
+     * @return The predictor.
+     */
+    public static BurstPredictor meanAndVariance(double alpha, double deviations) {
+        requireWeight(alpha);
+        if (Double.isNaN(deviations) || Double.isInfinite(deviations)) {
+            throw new IllegalArgumentException("Number of standard deviations must be finite");
+        }
+        return new BurstPredictor("ewmv:" + format(alpha) + ":" + format(deviations)) {
+            // Mean and variance of class c at 2c and 2c + 1
+            private double[] moments = new double[0];
+
+            @Override
+            double estimate(int classId, Process process) {
+                if (2 * classId >= moments.length) {
+                    return Double.NaN;
+                }
+                return moments[2 * classId] + deviations * Math.sqrt(moments[2 * classId + 1]);
+            }
+
+            @Override
+            void update(int classId, int burstTime) {
+                moments = grow(moments, classId, 2);
+                double mean = moments[2 * classId];
+                if (Double.isNaN(mean)) {
+                    moments[2 * classId] = burstTime;
+                    moments[2 * classId + 1] = 0;
+                    return;
+                }
+                double difference = burstTime - mean;
+                double increment = alpha * difference;
+                moments[2 * classId] = mean + increment;
+                moments[2 * classId + 1] = (1 - alpha) * (moments[2 * classId + 1] + difference * increment);
+            }
+
+            @Override
+            void clear() {
+                moments = new double[0];
+            }
+        };
+    }
+
+    /**
+     * A histogram of recent bursts per class with power-of-two buckets, predicting a
+     * quantile. Unlike an average it is not pulled off by rare very long bursts, and a
+     * quantile above the median errs towards running short jobs late rather than long
+     * jobs early.
+     * @param quantile The quantile to predict, in (0, 1).
+     * @return The predictor.
+     */
+    public static BurstPredictor histogram(double quantile) {
+        if (!(quantile > 0 && quantile < 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        return new BurstPredictor("histogram:" + format(quantile)) {
+            // Counts of class c at c * BUCKETS .. c * BUCKETS + BUCKETS - 1
+            private int[] counts = new int[0];
+
+            @Override
+            double estimate(int classId, Process process) {
+                int base = classId * BUCKETS;
+                if (base >= counts.length) {
+                    return Double.NaN;
+                }
+                int total = 0;
+                for (int b = 0; b < BUCKETS; b++) {
+                    total += counts[base + b];
+                }
+                if (total == 0) {
+                    return Double.NaN;
+                }
+                int cumulative = 0;
+                for (int b = 0; b < BUCKETS; b++) {
+                    cumulative += counts[base + b];
+                    if (cumulative >= quantile * total) {
+                        // The middle of [2^b, 2^(b+1))
+                        return ((1L << b) + (1L << (b + 1)) - 1) / 2.0;
+                    }
+                }
+                return Double.NaN;
+            }
+
+            @Override
+            void update(int classId, int burstTime) {
+                int base = classId * BUCKETS;
+                if (base >= counts.length) {
+                    counts = Arrays.copyOf(counts, Math.max(base + BUCKETS, 2 * counts.length));
+                }
+                counts[base + 31 - Integer.numberOfLeadingZeros(burstTime)]++;
+                int total = 0;
+                for (int b = 0; b < BUCKETS; b++) {
+                    total += counts[base + b];
+                }
+                if (total >= HISTOGRAM_WINDOW) {
+                    for (int b = 0; b < BUCKETS; b++) {
+                        counts[base + b] >>= 1;
+                    }
+                }
+            }
+
+            @Override
+            void clear() {
+                counts = new int[0];
+            }
+        };
+    }
+
+    /**
+     * Parses a specification such as "ewma:0.5", "ewmv:0.25:1", "histogram:0.5" or "oracle".
+     * Parameters left out take their defaults.
+     * @param spec The specification.
+     * @return A new predictor.
+     */
+    public static BurstPredictor parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "oracle":
+                    requireArguments(spec, parts, 0);
+                    return oracle();
+                case "ewma":
+                    requireArguments(spec, parts, 1);
+                    return exponentialAverage(parts.length > 1 ? Double.parseDouble(parts[1]) : DEFAULT_ALPHA);
+                case "ewmv":
+                    requireArguments(spec, parts, 2);
+                    return meanAndVariance(
+                            parts.length > 1 ? Double.parseDouble(parts[1]) : DEFAULT_VARIANCE_ALPHA,
+                            parts.length > 2 ? Double.parseDouble(parts[2]) : DEFAULT_DEVIATIONS);
+                case "histogram":
+                    requireArguments(spec, parts, 1);
+                    return histogram(parts.length > 1 ? Double.parseDouble(parts[1]) : 0.5);
+                default:
+                    throw new IllegalArgumentException("Unknown burst predictor: " + spec);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid burst predictor: " + spec);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    /**
+     * Makes room for a class in an array with a fixed number of slots per class; new slots
+     * are NaN, meaning no history.
+     */
+    private static double[] grow(double[] values, int classId, int slots) {
+        int needed = (classId + 1) * slots;
+        if (needed <= values.length) {
+            return values;
+        }
+        int oldLength = values.length;
+        double[] grown = Arrays.copyOf(values, Math.max(needed, 2 * oldLength));
+        Arrays.fill(grown, oldLength, grown.length, Double.NaN);
+        return grown;
+    }
+
+    private static void requireArguments(String spec, String[] parts, int maximum) {
+        if (parts.length > maximum + 1) {
+            throw new IllegalArgumentException("Invalid burst predictor: " + spec);
+        }
+    }
+
+    private static void requireWeight(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Smoothing weight must be greater than 0 and at most 1");
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
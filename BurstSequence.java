@@ -0,0 +1,130 @@
+package com.cpuscheduler.model;
+
+/**
+ * The bursts of a process that alternates between running on the CPU and waiting for a
+ * device, such as a disk or the network. A sequence starts and ends with a CPU burst, so it
+ * has one CPU burst more than it has I/O bursts; I/O burst i follows CPU burst i.
+ */
+public class BurstSequence {
+    /** The device of I/O bursts that do not name one. */
+    public static final String DEFAULT_DEVICE = "io";
+
+    private final int[] cpuBursts;
+    private final int[] ioBursts;
+    private final String[] devices;
+    private final int totalCpuTime;
+    private final long totalIoTime;
+
+    /**
+     * Creates a burst sequence.
+     * @param cpuBursts The CPU burst times, each greater than 0.
+     * @param ioBursts The I/O burst times, each greater than 0; one fewer than the CPU bursts.
+     * @param devices The device of each I/O burst.
+     */
+    public BurstSequence(int[] cpuBursts, int[] ioBursts, String[] devices) {
+        if (cpuBursts.length == 0) {
+            throw new IllegalArgumentException("A burst sequence needs at least one CPU burst");
+        }
+        if (ioBursts.length != cpuBursts.length - 1 || devices.length != ioBursts.length) {
+            throw new IllegalArgumentException("CPU and I/O bursts must alternate, starting and ending with CPU");
+        }
+        long cpu = 0;
+        long io = 0;
+        for (int burst : cpuBursts) {
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Burst time must be > 0");
+            }
+            cpu += burst;
+        }
+        for (int i = 0; i < ioBursts.length; i++) {
+            if (ioBursts[i] <= 0) {
+                throw new IllegalArgumentException("I/O burst time must be > 0");
+            }
+            if (devices[i] == null || devices[i].isEmpty()) {
+                throw new IllegalArgumentException("I/O bursts need a device");
+            }
+            io += ioBursts[i];
+        }
+        if (cpu > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total CPU time is too large");
+        }
+        this.cpuBursts = cpuBursts.clone();
+        this.ioBursts = ioBursts.clone();
+        this.devices = devices.clone();
+        this.totalCpuTime = (int) cpu;
+        this.totalIoTime = io;
+    }
+
+    /**
+     * Parses bursts separated by spaces, alternating CPU and I/O and starting with CPU, such
+     * as "4 disk:10 3 net:2 5". An I/O burst is device:time, or just a time for the default device.
+     * @param spec The bursts.
+     * @return The burst sequence.
+     * @throws IllegalArgumentException If the specification is not valid.
+     */
+    public static BurstSequence parse(String spec) {
+        String[] tokens = spec.trim().split("\\s+");
+        if (tokens.length % 2 == 0) {
+            throw new IllegalArgumentException("Bursts must start and end with a CPU burst: " + spec);
+        }
+        int[] cpuBursts = new int[tokens.length / 2 + 1];
+        int[] ioBursts = new int[tokens.length / 2];
+        String[] devices = new String[ioBursts.length];
+        try {
+            for (int i = 0; i < tokens.length; i++) {
+                if (i % 2 == 0) {
+                    cpuBursts[i / 2] = Integer.parseInt(tokens[i]);
+                } else {
+                    int colon = tokens[i].lastIndexOf(':');
+                    devices[i / 2] = colon < 0 ? DEFAULT_DEVICE : tokens[i].substring(0, colon);
+                    ioBursts[i / 2] = Integer.parseInt(tokens[i].substring(colon + 1));
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bursts: " + spec);
+        }
+        return new BurstSequence(cpuBursts, ioBursts, devices);
+    }
+
+    public int getCpuBurstCount() {
+        return cpuBursts.length;
+    }
+
+    public int getCpuBurst(int index) {
+        return cpuBursts[index];
+    }
+
+    public int getIoBurst(int index) {
+        return ioBursts[index];
+    }
+
+    public String getDevice(int index) {
+        return devices[index];
+    }
+
+    /**
+     * Gets the sum of the CPU bursts, which is the burst time of the process.
+     * @return The total CPU time.
+     */
+    public int getTotalCpuTime() {
+        return totalCpuTime;
+    }
+
+    public long getTotalIoTime() {
+        return totalIoTime;
+    }
+
+    /**
+     * Formats the sequence in the form {@link #parse(String)} accepts.
+     * @return The specification.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append(cpuBursts[0]);
+        for (int i = 0; i < ioBursts.length; i++) {
+            builder.append(' ').append(devices[i]).append(':').append(ioBursts[i])
+                   .append(' ').append(cpuBursts[i + 1]);
+        }
+        return builder.toString();
+    }
+}
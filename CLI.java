@@ -1,26 +1,37 @@
 package com.cpuscheduler.ui;
 
 import com.cpuscheduler.core.*;
-import com.cpuscheduler.core.SchedulerFactory.SchedulerType;
+import com.cpuscheduler.io.ExportFormat;
+import com.cpuscheduler.io.GanttStore;
+import com.cpuscheduler.io.GanttStoreWriter;
+import com.cpuscheduler.io.ProcessResultExporter;
+import com.cpuscheduler.io.SchedTraceImporter;
+import com.cpuscheduler.io.TimeSeriesExporter;
+import com.cpuscheduler.io.WorkloadReader;
+import com.cpuscheduler.model.BurstSequence;
 import com.cpuscheduler.model.Process;
 import java.io.Console;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
  * Command-line interface for the CPU Scheduler application.
  */
 public class CLI {
+    // Number of time windows in the exported metrics over time
+    private static final int METRIC_WINDOWS = 100;
+
     private final Scanner scanner;
     private final List<Process> processes;
-    private final Map<Integer, String> schedulerMap;
     private final Console console;
 
     public CLI() {
         this.console = System.console();
         this.scanner = new Scanner(System.in);
         this.processes = new ArrayList<>();
-        this.schedulerMap = new HashMap<>();
-        initializeSchedulerMap();
     }
     
     /**
@@ -42,13 +53,6 @@ public class CLI {
         }
     }
 
-    private void initializeSchedulerMap() {
-        schedulerMap.put(1, "First-Come, First-Served (FCFS)");
-        schedulerMap.put(2, "Shortest Job First (SJF)");
-        schedulerMap.put(3, "Priority Scheduling");
-        schedulerMap.put(4, "Round Robin");
-    }
-
     public void start() {
         System.out.println("=== CPU Scheduler Simulator ===\n");
         
@@ -59,8 +63,31 @@ public class CLI {
             // Select scheduling algorithm
             Scheduler scheduler = selectScheduler();
             
+            // Optionally stream the results to files while the scheduler runs
+            Path exportDirectory = selectExportDirectory();
+            
             // Run the scheduler and display results
-            runScheduler(scheduler);
+            if (exportDirectory == null) {
+                runScheduler(scheduler);
+            } else {
+                ExportFormat format = selectExportFormat();
+                TimeSeriesMetrics metrics = TimeSeriesMetrics.forWorkload(processes, METRIC_WINDOWS);
+                Path storeFile = exportDirectory.resolve("gantt.store");
+                try (ProcessResultExporter results = new ProcessResultExporter(
+                         exportDirectory.resolve("processes." + format.getExtension()), format);
+                     GanttStoreWriter gantt = new GanttStoreWriter(storeFile)) {
+                    scheduler.addSchedulingListener(results);
+                    scheduler.addSchedulingListener(gantt);
+                    scheduler.addSchedulingListener(metrics);
+                    runScheduler(scheduler);
+                }
+                // The exported Gantt chart is read back from the store, which stays for --gantt-query
+                try (GanttStore store = GanttStore.open(storeFile)) {
+                    store.export(exportDirectory.resolve("gantt." + format.getExtension()), format);
+                }
+                TimeSeriesExporter.write(exportDirectory.resolve("metrics." + format.getExtension()), format, metrics);
+                System.out.println("\nResults exported to " + exportDirectory.toAbsolutePath());
+            }
         } catch (Exception e) {
             System.err.println("An error occurred: " + e.getMessage());
             e.printStackTrace();
@@ -78,6 +105,7 @@ public class CLI {
         System.out.println("2. name, arrival, burst, priority");
         System.out.println("3. name arrival burst priority");
         System.out.println("Note: Priority is optional (default=1). Example: P1,0,5,1 or P1 0 5 1");
+        System.out.println("For I/O, give alternating CPU and device:time bursts. Example: P1,0,4 disk:10 3,1");
         System.out.println("Type 'sample' to load sample processes or 'done' when finished.\n");
         
         int processId = 1;
@@ -135,7 +163,8 @@ public class CLI {
                 
                 String name = parts[0];
                 int arrivalTime = Integer.parseInt(parts[1]);
-                int burstTime = Integer.parseInt(parts[2]);
+                BurstSequence bursts = parts[2].contains(" ") ? BurstSequence.parse(parts[2]) : null;
+                int burstTime = bursts != null ? bursts.getTotalCpuTime() : Integer.parseInt(parts[2]);
                 int priority = (parts.length == 4) ? Integer.parseInt(parts[3]) : 1; // Default priority is 1
                 
                 if (name.isEmpty()) {
@@ -158,55 +187,96 @@ public class CLI {
                     continue;
                 }
                 
-                Process process = new Process(processId, name, arrivalTime, burstTime, priority);
+                Process process = bursts != null
+                        ? new Process(processId, name, arrivalTime, bursts, priority)
+                        : new Process(processId, name, arrivalTime, burstTime, priority);
                 processes.add(process);
                 processId++;
                 
             } catch (NumberFormatException e) {
                 System.out.println("Invalid number format. Please try again.");
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage() + ". Please try again.");
             }
         }
     }
 
     private Scheduler selectScheduler() {
+        List<SchedulerProvider> providers = SchedulerFactory.getProviders();
         System.out.println("\n=== Select Scheduling Algorithm ===");
-        for (Map.Entry<Integer, String> entry : schedulerMap.entrySet()) {
-            System.out.printf("%d. %s%n", entry.getKey(), entry.getValue());
+        for (int i = 0; i < providers.size(); i++) {
+            System.out.printf("%d. %s%n", i + 1, providers.get(i).getDisplayName());
         }
+        String range = "1-" + providers.size();
         
         while (true) {
             try {
-                String choiceStr = readLine("\nEnter your choice (1-4): ").trim();
+                String choiceStr = readLine("\nEnter your choice (" + range + "): ").trim();
                 if (choiceStr.isEmpty()) {
-                    System.out.println("Please enter a number between 1 and 4.");
+                    System.out.println("Please enter a number between 1 and " + providers.size() + ".");
                     continue;
                 }
                 int choice = Integer.parseInt(choiceStr);
                 
-                if (choice < 1 || choice > 4) {
-                    System.out.println("Please enter a number between 1 and 4.");
+                if (choice < 1 || choice > providers.size()) {
+                    System.out.println("Please enter a number between 1 and " + providers.size() + ".");
                     continue;
                 }
                 
-                int timeQuantum = 1;
-                if (choice == 4) { // Round Robin
-                    String input = readLine("Enter time quantum (default=4): ").trim();
-                    if (input != null && !input.isEmpty()) {
-                        timeQuantum = Integer.parseInt(input);
-                        if (timeQuantum <= 0) {
-                            System.out.println("Time quantum must be greater than 0. Using default value of 4.");
-                            timeQuantum = 4;
+                SchedulerProvider provider = providers.get(choice - 1);
+                List<SchedulerProvider.Parameter> parameters = provider.getParameters();
+                int[] arguments = new int[parameters.size()];
+                for (int i = 0; i < arguments.length; i++) {
+                    SchedulerProvider.Parameter parameter = parameters.get(i);
+                    arguments[i] = parameter.getDefaultValue();
+                    String input = readLine(String.format("Enter %s (default=%d): ",
+                            parameter.getDescription(), parameter.getDefaultValue())).trim();
+                    if (!input.isEmpty()) {
+                        int value = Integer.parseInt(input);
+                        if (value < parameter.getMinimum()) {
+                            System.out.printf("The %s must be at least %d. Using default value of %d.%n",
+                                    parameter.getDescription(), parameter.getMinimum(), parameter.getDefaultValue());
+                        } else if (value > parameter.getMaximum()) {
+                            System.out.printf("The %s must be at most %d. Using default value of %d.%n",
+                                    parameter.getDescription(), parameter.getMaximum(), parameter.getDefaultValue());
+                        } else {
+                            arguments[i] = value;
                         }
-                    } else {
-                        timeQuantum = 4;
                     }
                 }
-                
-                SchedulerType type = SchedulerType.values()[choice - 1];
-                return SchedulerFactory.createScheduler(type, timeQuantum);
+                return SchedulerFactory.createScheduler(provider, arguments);
                 
             } catch (NumberFormatException e) {
                 System.out.println("Please enter a valid number.");
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage() + ".");
+            }
+        }
+    }
+
+    private Path selectExportDirectory() {
+        String input = readLine("\nExport results to directory (blank to skip): ");
+        if (input == null || input.trim().isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(input.trim());
+        if (!Files.isDirectory(directory)) {
+            System.out.println("Not a directory. Results will not be exported.");
+            return null;
+        }
+        return directory;
+    }
+
+    private ExportFormat selectExportFormat() {
+        while (true) {
+            String input = readLine("Export format (csv/jsonl, default=csv): ");
+            if (input == null || input.trim().isEmpty()) {
+                return ExportFormat.CSV;
+            }
+            try {
+                return ExportFormat.parse(input);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Please enter csv or jsonl.");
             }
         }
     }
@@ -232,6 +302,8 @@ public class CLI {
         System.out.printf("Average Turnaround Time: %.2f%n", scheduler.getAverageTurnaroundTime());
         System.out.printf("Average Response Time: %.2f%n", scheduler.getAverageResponseTime());
         System.out.println("Number of Context Switches: " + scheduler.getContextSwitches());
+        printOptimalityGap(scheduler.getAverageTurnaroundTime(), processes);
+        printUtilization(scheduler);
         
         // Display process details
         System.out.println("\n=== Process Details ===");
@@ -250,7 +322,464 @@ public class CLI {
         }
     }
 
+    /**
+     * Prints the optimal average turnaround time of a single-CPU workload and how far a run was from it.
+     * @param averageTurnaroundTime The average turnaround time of the run.
+     * @param workload The processes of the run.
+     */
+    private static void printOptimalityGap(double averageTurnaroundTime, List<Process> workload) {
+        if (!OptimalityBaseline.hasBaseline(workload)) {
+            return;
+        }
+        double optimum = OptimalityBaseline.optimalAverageTurnaroundTime(workload);
+        System.out.printf("Optimal Average Turnaround Time (SRPT): %.2f%n", optimum);
+        System.out.printf("Gap from Optimum: %.1f%%%n", 100 * OptimalityBaseline.gap(averageTurnaroundTime, optimum));
+    }
+
+    /**
+     * Prints how busy the CPU and each device were, for runs that did any I/O.
+     * @param scheduler The scheduler after a run.
+     */
+    private static void printUtilization(Scheduler scheduler) {
+        if (!(scheduler instanceof AbstractScheduler)
+                || ((AbstractScheduler) scheduler).getDevices().isEmpty()) {
+            return;
+        }
+        AbstractScheduler run = (AbstractScheduler) scheduler;
+        int elapsed = run.getCurrentTime();
+        System.out.println("\n=== Utilization ===");
+        System.out.printf("CPU: %.1f%%%n", 100 * run.getCpuUtilization());
+        for (Device device : run.getDevices()) {
+            System.out.printf("%s: %.1f%% (%d requests, average queue time %.2f, max queue %d)%n",
+                    device.getName(), 100 * device.getUtilization(elapsed), device.getRequests(),
+                    device.getAverageQueueTime(), device.getMaxQueueLength());
+        }
+        System.out.println("I/O Busy Time: " + run.getIoBusyTime());
+        System.out.println("CPU and I/O Overlap: " + run.getOverlapTime());
+    }
+
+    /**
+     * Converts a perf sched or ftrace text dump into a workload file.
+     * Usage: --import-trace &lt;trace&gt; --output &lt;workload.csv&gt; [--resolution-ns N]
+     */
+    private static void importTrace(String[] args) throws IOException {
+        String usage = "Usage: --import-trace <trace> --output <workload.csv> [--resolution-ns N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage, "--output");
+        long resolution = SchedTraceImporter.DEFAULT_RESOLUTION_NANOS;
+        if (options.containsKey("--resolution-ns")) {
+            try {
+                resolution = Long.parseLong(options.get("--resolution-ns"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid resolution: " + options.get("--resolution-ns"));
+            }
+        }
+
+        SchedTraceImporter importer = new SchedTraceImporter(resolution);
+        int count = importer.convert(Paths.get(options.get("--import-trace")), Paths.get(options.get("--output")));
+        System.out.println("Imported " + count + " processes from " + importer.getEvents() + " events ("
+                + importer.getSkippedLines() + " other lines skipped)");
+    }
+
+    /**
+     * Finds the best Round Robin time quantum for a workload file.
+     * Usage: --tune-quantum &lt;workload&gt; [--objective response|p99|mix:&lt;response weight&gt;]
+     *        [--switch-cost N] [--max-quantum N] [--threads N]
+     */
+    private static void tuneQuantum(String[] args) throws IOException {
+        String usage = "Usage: --tune-quantum <workload> [--objective response|p99|mix:<response weight>] "
+                + "[--switch-cost N] [--max-quantum N] [--threads N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage);
+        List<Process> workload = WorkloadReader.read(Paths.get(options.get("--tune-quantum")));
+        if (workload.isEmpty()) {
+            throw new IllegalArgumentException("The workload contains no processes");
+        }
+
+        QuantumTuner tuner = new QuantumTuner(workload,
+                BatchRunner.intOption(options, "--threads", Runtime.getRuntime().availableProcessors()));
+        tuner.setObjective(parseObjective(options.getOrDefault("--objective", "response")));
+        tuner.setSwitchCost(BatchRunner.intOption(options, "--switch-cost", 0));
+        QuantumTuner.Evaluation best = options.containsKey("--max-quantum")
+                ? tuner.tune(BatchRunner.intOption(options, "--max-quantum", 0))
+                : tuner.tune();
+        System.out.println(best);
+    }
+
+    /**
+     * Compares the placement heuristics for a policy on a set of cores.
+     * Usage: --placement-report &lt;workload&gt; --cores &lt;speed,speed,...&gt; [--policy SPEC]
+     *        [--migration-penalty N] [--cold-penalty N] [--warm-window N]
+     */
+    private static void placementReport(String[] args) throws IOException {
+        String usage = "Usage: --placement-report <workload> --cores <speed,speed,...> [--policy SPEC] "
+                + "[--migration-penalty N] [--cold-penalty N] [--warm-window N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage, "--cores");
+        List<Process> workload = WorkloadReader.read(Paths.get(options.get("--placement-report")));
+        String policy = options.getOrDefault("--policy", "RR:4");
+        CacheModel cacheModel = new CacheModel(
+                BatchRunner.intOption(options, "--migration-penalty", 0),
+                BatchRunner.intOption(options, "--cold-penalty", 0),
+                BatchRunner.intOption(options, "--warm-window", Integer.MAX_VALUE));
+
+        double[] speeds = parseCoreSpeeds(options.get("--cores"));
+
+        double bound = OptimalityBaseline.lowerBoundAverageTurnaroundTime(workload, speeds);
+        System.out.printf(Locale.ROOT, "Lower bound on avgTurnaround: %.2f%n", bound);
+        for (MultiCoreScheduler.Placement placement : MultiCoreScheduler.Placement.values()) {
+            MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, speeds);
+            scheduler.setPlacement(placement);
+            scheduler.setCacheModel(cacheModel);
+            for (Process p : workload) {
+                scheduler.addProcess(new Process(p));
+            }
+            scheduler.execute();
+            System.out.printf(Locale.ROOT, "%-10s avgWaiting=%.2f avgTurnaround=%.2f gap=%.1f%% %s%n", placement,
+                    scheduler.getAverageWaitingTime(), scheduler.getAverageTurnaroundTime(),
+                    100 * OptimalityBaseline.gap(scheduler.getAverageTurnaroundTime(), bound),
+                    scheduler.getPlacementStats());
+        }
+    }
+
+    /**
+     * Parses core speeds such as "1,1,0.5", where "64x1" stands for 64 cores of speed 1.
+     */
+    private static double[] parseCoreSpeeds(String list) {
+        List<Double> speeds = new ArrayList<>();
+        for (String part : list.split(",")) {
+            String spec = part.trim().toLowerCase(Locale.ROOT);
+            int times = spec.indexOf('x');
+            try {
+                int count = times < 0 ? 1 : Integer.parseInt(spec.substring(0, times));
+                double speed = Double.parseDouble(spec.substring(times + 1));
+                if (count <= 0) {
+                    throw new IllegalArgumentException("Invalid core count: " + part);
+                }
+                for (int i = 0; i < count; i++) {
+                    speeds.add(speed);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid core speed: " + part);
+            }
+        }
+        double[] result = new double[speeds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = speeds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a policy on cores with a run queue each, once on one thread and once in parallel,
+     * and checks that both runs agree.
+     * Usage: --partitioned &lt;workload&gt; --cores &lt;speed,speed,...|NxSPEED&gt; [--policy SPEC]
+     *        [--balance-interval N] [--threads N] [--migration-penalty N] [--cold-penalty N] [--warm-window N]
+     */
+    private static void partitioned(String[] args) throws IOException {
+        String usage = "Usage: --partitioned <workload> --cores <speed,speed,...|NxSPEED> [--policy SPEC] "
+                + "[--balance-interval N] [--threads N] [--migration-penalty N] [--cold-penalty N] [--warm-window N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage, "--cores");
+        List<Process> workload = WorkloadReader.read(Paths.get(options.get("--partitioned")));
+        double[] speeds = parseCoreSpeeds(options.get("--cores"));
+        String policy = options.getOrDefault("--policy", "RR:4");
+        int interval = BatchRunner.intOption(options, "--balance-interval",
+                PartitionedMultiCoreScheduler.DEFAULT_BALANCE_INTERVAL);
+        int threads = BatchRunner.intOption(options, "--threads", Runtime.getRuntime().availableProcessors());
+        CacheModel cacheModel = new CacheModel(
+                BatchRunner.intOption(options, "--migration-penalty", 0),
+                BatchRunner.intOption(options, "--cold-penalty", 0),
+                BatchRunner.intOption(options, "--warm-window", Integer.MAX_VALUE));
+
+        String sequential = null;
+        for (int t : new int[]{1, threads}) {
+            PartitionedMultiCoreScheduler scheduler = new PartitionedMultiCoreScheduler(policy, speeds);
+            scheduler.setBalanceInterval(interval);
+            scheduler.setCacheModel(cacheModel);
+            scheduler.setThreads(t);
+            scheduler.setGanttChartRecorded(false);
+            List<Process> copies = new ArrayList<>(workload.size());
+            for (Process p : workload) {
+                Process copy = new Process(p);
+                copies.add(copy);
+                scheduler.addProcess(copy);
+            }
+            long start = System.nanoTime();
+            scheduler.execute();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            // Every completion and response time, so any divergence between the runs shows
+            long checksum = 17;
+            for (Process p : copies) {
+                checksum = 31 * (31 * checksum + p.getCompletionTime()) + p.getResponseTime();
+            }
+            String result = String.format(Locale.ROOT,
+                    "avgWaiting=%.4f avgTurnaround=%.4f avgResponse=%.4f contextSwitches=%d migrations=%d "
+                            + "balanceMoves=%d makespan=%d checksum=%016x",
+                    scheduler.getAverageWaitingTime(), scheduler.getAverageTurnaroundTime(),
+                    scheduler.getAverageResponseTime(), scheduler.getContextSwitches(), scheduler.getMigrations(),
+                    scheduler.getBalanceMoves(), scheduler.getMakespan(), checksum);
+            System.out.printf(Locale.ROOT, "%d thread%s: %d ms, %d windows%n  %s%n", t, t == 1 ? "" : "s", millis,
+                    scheduler.getWindowCount(), result);
+            if (sequential == null) {
+                sequential = result;
+            } else {
+                System.out.println(result.equals(sequential) ? "Identical to the sequential run"
+                        : "DIFFERENT from the sequential run");
+            }
+            if (threads == 1) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Compares burst predictors for SJF and SRTF against the clairvoyant versions of both.
+     * Usage: --predictor-report &lt;workload&gt; [--predictors SPEC,SPEC,...] [--mode sjf|srtf|both]
+     */
+    private static void predictorReport(String[] args) throws IOException {
+        String usage = "Usage: --predictor-report <workload> [--predictors SPEC,SPEC,...] [--mode sjf|srtf|both]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage);
+        List<Process> workload = WorkloadReader.read(Paths.get(options.get("--predictor-report")));
+        List<String> predictors = BatchRunner.parseSpecs(options.getOrDefault("--predictors", "ewma:0.5,ewmv,histogram"));
+        String mode = options.getOrDefault("--mode", "both").toLowerCase(Locale.ROOT);
+        if (!mode.equals("sjf") && !mode.equals("srtf") && !mode.equals("both")) {
+            throw new IllegalArgumentException(usage);
+        }
+
+        for (boolean preemptive : new boolean[]{false, true}) {
+            if (mode.equals(preemptive ? "sjf" : "srtf")) {
+                continue;
+            }
+            PredictiveSJFScheduler oracle = runPredictive(workload, BurstPredictor.oracle(), preemptive);
+            System.out.printf(Locale.ROOT, "%s: avgTurnaround=%.2f avgWaiting=%.2f%n", oracle.getName(),
+                    oracle.getAverageTurnaroundTime(), oracle.getAverageWaitingTime());
+            for (String spec : predictors) {
+                PredictiveSJFScheduler scheduler = runPredictive(workload, BurstPredictor.parse(spec), preemptive);
+                System.out.printf(Locale.ROOT,
+                        "  %-20s avgTurnaround=%.2f avgWaiting=%.2f mae=%.2f bias=%+.2f relError=%.1f%% loss=%.1f%%%n",
+                        scheduler.getPredictor(), scheduler.getAverageTurnaroundTime(),
+                        scheduler.getAverageWaitingTime(), scheduler.getMeanAbsoluteError(), scheduler.getMeanError(),
+                        100 * scheduler.getRelativeError(),
+                        100 * OptimalityBaseline.gap(scheduler.getAverageTurnaroundTime(),
+                                oracle.getAverageTurnaroundTime()));
+            }
+        }
+    }
+
+    private static PredictiveSJFScheduler runPredictive(List<Process> workload, BurstPredictor predictor,
+                                                        boolean preemptive) {
+        PredictiveSJFScheduler scheduler = new PredictiveSJFScheduler(predictor, preemptive);
+        scheduler.setGanttChartRecorded(false);
+        for (Process p : workload) {
+            scheduler.addProcess(new Process(p));
+        }
+        scheduler.execute();
+        return scheduler;
+    }
+
+    /**
+     * Profiles a workload file or a perf sched/ftrace dump in one pass and suggests policies.
+     * Usage: --profile &lt;file&gt; [--format workload|trace] [--resolution-ns N]
+     */
+    private static void profile(String[] args) throws IOException {
+        String usage = "Usage: --profile <file> [--format workload|trace] [--resolution-ns N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage);
+        Path file = Paths.get(options.get("--profile"));
+        String format = options.getOrDefault("--format", "workload").toLowerCase(Locale.ROOT);
+        WorkloadProfiler profiler = new WorkloadProfiler();
+        if (format.equals("workload")) {
+            if (options.containsKey("--resolution-ns")) {
+                throw new IllegalArgumentException(usage);
+            }
+            WorkloadReader.forEach(file, profiler);
+        } else if (format.equals("trace")) {
+            new SchedTraceImporter(longOption(options, "--resolution-ns", SchedTraceImporter.DEFAULT_RESOLUTION_NANOS))
+                    .importTrace(file, profiler);
+        } else {
+            throw new IllegalArgumentException(usage);
+        }
+        System.out.print(profiler);
+    }
+
+    /**
+     * Estimates the steady-state turnaround time of a policy under an endless stream of jobs.
+     * Usage: --steady-state &lt;policy&gt; --burst &lt;distribution&gt; [--arrival &lt;distribution&gt; | --utilization U]
+     *        [--priorities K] [--precision P] [--confidence C] [--max-jobs N] [--seed N]
+     */
+    private static void steadyState(String[] args) {
+        String usage = "Usage: --steady-state <policy> --burst <distribution> "
+                + "[--arrival <distribution> | --utilization U] [--priorities K] [--precision P] "
+                + "[--confidence C] [--max-jobs N] [--seed N]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage, "--burst");
+        String policy = options.get("--steady-state");
+        Distribution burst = Distribution.parse(options.get("--burst"));
+        SteadyStateSimulator simulator;
+        if (options.containsKey("--arrival")) {
+            if (options.containsKey("--utilization")) {
+                throw new IllegalArgumentException(usage);
+            }
+            simulator = new SteadyStateSimulator(policy, Distribution.parse(options.get("--arrival")), burst);
+        } else {
+            simulator = SteadyStateSimulator.forUtilization(policy, burst,
+                    doubleOption(options, "--utilization", 0.8));
+        }
+        simulator.setPriorityLevels(BatchRunner.intOption(options, "--priorities", 1));
+        simulator.setRelativePrecision(doubleOption(options, "--precision", 0.01));
+        simulator.setConfidence(doubleOption(options, "--confidence", 0.95));
+        simulator.setMaxJobs(longOption(options, "--max-jobs", 1_000_000_000L));
+        simulator.setSeed(longOption(options, "--seed", 1));
+        System.out.println(simulator.run());
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double defaultValue) {
+        if (!options.containsKey(name)) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(options.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + options.get(name));
+        }
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        if (!options.containsKey(name)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(options.get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + options.get(name));
+        }
+    }
+
+    /**
+     * Queries a Gantt store written by an earlier run, without running the scheduler again.
+     * With no query, prints a summary of the store.
+     * Usage: --gantt-query &lt;store&gt; [--from T] [--to T] [--process ID] [--export FILE] [--format csv|jsonl]
+     */
+    private static void ganttQuery(String[] args) throws IOException {
+        String usage = "Usage: --gantt-query <store> [--from T] [--to T] [--process ID] "
+                + "[--export FILE] [--format csv|jsonl]";
+        Map<String, String> options = BatchRunner.parseOptions(args, usage);
+        try (GanttStore store = GanttStore.open(Paths.get(options.get("--gantt-query")))) {
+            boolean byTime = options.containsKey("--from") || options.containsKey("--to");
+            if (byTime && options.containsKey("--process")) {
+                throw new IllegalArgumentException(usage);
+            }
+            long from = longOption(options, "--from", 0);
+            long to = longOption(options, "--to", store.getEndTime());
+
+            if (options.containsKey("--export")) {
+                Path file = Paths.get(options.get("--export"));
+                ExportFormat format = ExportFormat.parse(options.getOrDefault("--format", "csv"));
+                if (options.containsKey("--process")) {
+                    throw new IllegalArgumentException("Only time ranges can be exported: " + usage);
+                }
+                if (byTime) {
+                    store.export(file, format, from, to);
+                } else {
+                    store.export(file, format);
+                }
+                return;
+            }
+
+            List<GanttStore.Segment> segments;
+            if (options.containsKey("--process")) {
+                segments = store.getSegments(BatchRunner.intOption(options, "--process", 0));
+            } else if (byTime) {
+                segments = store.getSegments(from, to);
+            } else {
+                System.out.printf("%d segments of %d processes, ending at time %d%n",
+                        store.size(), store.getProcessCount(), store.getEndTime());
+                return;
+            }
+            for (GanttStore.Segment segment : segments) {
+                System.out.println(segment);
+            }
+        }
+    }
+
+    private static QuantumTuner.Objective parseObjective(String objective) {
+        String name = objective.trim().toLowerCase(Locale.ROOT);
+        if (name.equals("response")) {
+            return QuantumTuner.Objective.meanResponse();
+        }
+        if (name.equals("p99")) {
+            return QuantumTuner.Objective.p99Turnaround();
+        }
+        if (name.startsWith("mix:")) {
+            try {
+                double weight = Double.parseDouble(name.substring(4));
+                if (weight < 0 || weight > 1) {
+                    throw new NumberFormatException();
+                }
+                return QuantumTuner.Objective.weighted(weight, 1 - weight);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("The mix weight must be between 0 and 1: " + objective);
+            }
+        }
+        throw new IllegalArgumentException("Unknown objective: " + objective);
+    }
+
     public static void main(String[] args) {
-        new CLI().start();
+        if (args.length == 0) {
+            new CLI().start();
+            return;
+        }
+
+        // Headless batch mode for pipelines
+        try {
+            if (args[0].equals("--import-trace")) {
+                importTrace(args);
+                return;
+            }
+            if (args[0].equals("--tune-quantum")) {
+                tuneQuantum(args);
+                return;
+            }
+            if (args[0].equals("--placement-report")) {
+                placementReport(args);
+                return;
+            }
+            if (args[0].equals("--partitioned")) {
+                partitioned(args);
+                return;
+            }
+            if (args[0].equals("--predictor-report")) {
+                predictorReport(args);
+                return;
+            }
+            if (args[0].equals("--profile")) {
+                profile(args);
+                return;
+            }
+            if (args[0].equals("--steady-state")) {
+                steadyState(args);
+                return;
+            }
+            if (args[0].equals("--gantt-query")) {
+                ganttQuery(args);
+                return;
+            }
+            if (args[0].equals("--worker")) {
+                SweepWorker.fromArgs(args).run();
+                return;
+            }
+            if (args[0].equals("--serve")) {
+                SimulationServer.fromArgs(args).run();
+                return;
+            }
+            if (args[0].equals("--coordinate")) {
+                int failures = SweepCoordinator.fromArgs(args).run();
+                System.exit(failures == 0 ? 0 : 1);
+            }
+            int failures = BatchRunner.fromArgs(args).run();
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        } catch (Exception e) {
+            System.err.println("An error occurred: " + e.getMessage());
+            System.exit(1);
+        }
     }
 }
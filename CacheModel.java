@@ -0,0 +1,63 @@
+package com.cpuscheduler.core;
+
+/**
+ * Cost of losing cache warmth when a process resumes.
+ *
+ * A process that resumes on a different core than it last ran on pays the migration penalty.
+ * One that resumes on the same core after being off the CPU for longer than the warm window
+ * pays the cold penalty, since other work has since displaced its cache lines. A process's
+ * first slice pays nothing; it has no warm state to lose.
+ */
+public final class CacheModel {
+    /** No penalties: placement only matters through core speeds. */
+    public static final CacheModel NONE = new CacheModel(0, 0, Integer.MAX_VALUE);
+
+    private final int migrationPenalty;
+    private final int coldPenalty;
+    private final int warmWindow;
+
+    /**
+     * Creates a cache model.
+     * @param migrationPenalty Time units lost when resuming on another core.
+     * @param coldPenalty Time units lost when resuming on the same core after the warm window.
+     * @param warmWindow How long a process may be off the CPU before its cache is considered cold.
+     */
+    public CacheModel(int migrationPenalty, int coldPenalty, int warmWindow) {
+        if (migrationPenalty < 0 || coldPenalty < 0 || warmWindow < 0) {
+            throw new IllegalArgumentException("Penalties and warm window cannot be negative");
+        }
+        this.migrationPenalty = migrationPenalty;
+        this.coldPenalty = coldPenalty;
+        this.warmWindow = warmWindow;
+    }
+
+    public int getMigrationPenalty() {
+        return migrationPenalty;
+    }
+
+    public int getColdPenalty() {
+        return coldPenalty;
+    }
+
+    public int getWarmWindow() {
+        return warmWindow;
+    }
+
+    /**
+     * Gets the penalty for running a process on a core.
+     * @param lastCore The core the process last ran on, or -1 if it has not run yet.
+     * @param core The core it is about to run on.
+     * @param lastRun The time its last slice ended.
+     * @param time The current time.
+     * @return The penalty in time units.
+     */
+    public int penalty(int lastCore, int core, int lastRun, int time) {
+        if (lastCore < 0) {
+            return 0;
+        }
+        if (lastCore != core) {
+            return migrationPenalty;
+        }
+        return time - lastRun > warmWindow ? coldPenalty : 0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.cpuscheduler.gui;
+
+import com.cpuscheduler.core.*;
+import com.cpuscheduler.model.Process;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Window that runs every scheduling algorithm against the same process list at once
+ * and shows the results side by side.
+ * Each run executes on a shared worker pool with its own copy of the processes, so the
+ * total time is close to that of the slowest algorithm rather than the sum of all of them.
+ */
+public class ComparisonView {
+    private static final double LANE_HEIGHT = 90;
+
+    // Shared by all comparison windows; daemon threads so they never keep the JVM alive
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "scheduler-compare");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Stage stage = new Stage();
+    private final ObservableList<Result> results = FXCollections.observableArrayList();
+    private final VBox lanes = new VBox(5);
+    private final Label statusLabel = new Label();
+
+    /**
+     * The outcome of one scheduler run.
+     */
+    public static class Result {
+        private final String name;
+        private final double averageWaitingTime;
+        private final double averageTurnaroundTime;
+        private final double averageResponseTime;
+        private final int contextSwitches;
+        private final long wallTimeMillis;
+        private final double optimalityGap;
+
+        Result(Scheduler scheduler, long wallTimeMillis, double optimalTurnaroundTime) {
+            this.name = scheduler.getName();
+            this.averageWaitingTime = scheduler.getAverageWaitingTime();
+            this.averageTurnaroundTime = scheduler.getAverageTurnaroundTime();
+            this.averageResponseTime = scheduler.getAverageResponseTime();
+            this.contextSwitches = scheduler.getContextSwitches();
+            this.wallTimeMillis = wallTimeMillis;
+            this.optimalityGap = OptimalityBaseline.gap(averageTurnaroundTime, optimalTurnaroundTime);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getAverageWaitingTime() {
+            return averageWaitingTime;
+        }
+
+        public double getAverageTurnaroundTime() {
+            return averageTurnaroundTime;
+        }
+
+        public double getAverageResponseTime() {
+            return averageResponseTime;
+        }
+
+        public int getContextSwitches() {
+            return contextSwitches;
+        }
+
+        public long getWallTimeMillis() {
+            return wallTimeMillis;
+        }
+
+        /**
+         * Gets how far the average turnaround time is above the optimum for the workload.
+         * @return The relative gap, or NaN if the workload has no baseline.
+         */
+        public double getOptimalityGap() {
+            return optimalityGap;
+        }
+    }
+
+    public ComparisonView() {
+        TableView<Result> table = new TableView<>(results);
+        table.getColumns().setAll(
+            column("Algorithm", Result::getName),
+            column("Avg Waiting", r -> String.format("%.2f", r.getAverageWaitingTime())),
+            column("Avg Turnaround", r -> String.format("%.2f", r.getAverageTurnaroundTime())),
+            column("Avg Response", r -> String.format("%.2f", r.getAverageResponseTime())),
+            column("Gap from Optimum", r -> Double.isNaN(r.getOptimalityGap())
+                ? "-" : String.format("%.1f%%", 100 * r.getOptimalityGap())),
+            column("Context Switches", Result::getContextSwitches),
+            column("Run Time (ms)", Result::getWallTimeMillis)
+        );
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.setPrefHeight(200);
+
+        ScrollPane laneScroll = new ScrollPane(lanes);
+        laneScroll.setFitToWidth(true);
+
+        VBox root = new VBox(10, table, new Label("Gantt Charts"), laneScroll, statusLabel);
+        root.setPadding(new Insets(10));
+
+        stage.setTitle("Algorithm Comparison");
+        stage.setScene(new Scene(root, 1000, 700));
+    }
+
+    private static boolean takesQuantum(SchedulerProvider provider) {
+        List<SchedulerProvider.Parameter> parameters = provider.getParameters();
+        return !parameters.isEmpty() && parameters.get(0).getName().equals("quantum");
+    }
+
+    private static <T> TableColumn<Result, T> column(String title, Function<Result, T> value) {
+        TableColumn<Result, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(value.apply(cellData.getValue())));
+        return column;
+    }
+
+    /**
+     * Shows the window and starts one run per available policy, with one run per requested
+     * time quantum for policies that take one. Results appear as each run finishes.
+     * @param processes The processes to schedule; each run works on its own copies.
+     * @param quanta The time quanta to compare.
+     */
+    public void show(List<Process> processes, List<Integer> quanta) {
+        List<Process> workload = new ArrayList<>(processes);
+        List<Scheduler> schedulers = new ArrayList<>();
+        for (SchedulerProvider provider : SchedulerFactory.getProviders()) {
+            if (takesQuantum(provider)) {
+                for (int quantum : quanta) {
+                    schedulers.add(SchedulerFactory.createScheduler(provider, quantum));
+                }
+            } else {
+                schedulers.add(SchedulerFactory.createScheduler(provider));
+            }
+        }
+
+        stage.show();
+        long started = System.nanoTime();
+        // Submitted first, so it is computed before any run needs it
+        CompletableFuture<Double> optimum = CompletableFuture.supplyAsync(() -> optimalTurnaroundTime(workload), WORKERS);
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (Scheduler scheduler : schedulers) {
+            // Reserve the lane up front so lanes keep a stable order as runs complete
+            Label laneTitle = new Label(scheduler.getName() + " - running...");
+            GanttChartView lane = new GanttChartView();
+            lane.setPrefHeight(LANE_HEIGHT);
+            lane.setMinHeight(LANE_HEIGHT);
+            lanes.getChildren().addAll(laneTitle, lane);
+
+            runs.add(CompletableFuture
+                .supplyAsync(() -> run(scheduler, workload, optimum.join()), WORKERS)
+                .thenAcceptAsync(ganttData -> {
+                    laneTitle.setText(scheduler.getName());
+                    // Fast runs finish before the lane is laid out; it then fits once it gets a width
+                    lane.setGanttData(ganttData);
+                }, Platform::runLater)
+                .exceptionally(e -> {
+                    Platform.runLater(() -> laneTitle.setText(scheduler.getName() + " - failed: " + e.getMessage()));
+                    return null;
+                }));
+        }
+
+        statusLabel.setText(String.format("Running %d configurations...", schedulers.size()));
+        CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0]))
+            .thenRunAsync(() -> statusLabel.setText(String.format("Compared %d configurations in %d ms",
+                schedulers.size(), (System.nanoTime() - started) / 1_000_000)), Platform::runLater);
+    }
+
+    private static double optimalTurnaroundTime(List<Process> workload) {
+        return OptimalityBaseline.hasBaseline(workload)
+            ? OptimalityBaseline.optimalAverageTurnaroundTime(workload) : Double.NaN;
+    }
+
+    private List<String> run(Scheduler scheduler, List<Process> workload, double optimalTurnaroundTime) {
+        workload.forEach(p -> scheduler.addProcess(new Process(p)));
+        long start = System.nanoTime();
+        List<String> ganttData = scheduler.execute();
+        Result result = new Result(scheduler, (System.nanoTime() - start) / 1_000_000, optimalTurnaroundTime);
+        Platform.runLater(() -> results.add(result));
+        return ganttData;
+    }
+}
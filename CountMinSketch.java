@@ -0,0 +1,111 @@
+package com.cpuscheduler.core;
+
+/**
+ * A count-min sketch: approximate counts of strings, such as process names, in fixed memory.
+ * Each key is counted in one counter per row and its estimate is the smallest of them, so
+ * estimates never fall below the true count, and with width w they exceed it by more than
+ * e/w of the total only with probability e^-depth.
+ *
+ * Counters are updated conservatively: only those still at the key's minimum are raised,
+ * which keeps the same guarantee and makes the overestimates of rare keys much smaller.
+ */
+public final class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * Creates an empty sketch.
+     * @param width The counters per row; the error is about e/width of the total.
+     * @param depth The number of rows; the error bound fails with probability e^-depth.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Width and depth must be greater than 0");
+        }
+        if ((long) width * depth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sketch is too large: " + width + " x " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    /**
+     * Counts one occurrence of a key.
+     * @param key The key.
+     * @return The estimated count of the key, including this occurrence.
+     */
+    public long add(String key) {
+        total++;
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, h1, h2)]);
+        }
+        estimate++;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, h1, h2);
+            if (counters[index] < estimate) {
+                counters[index] = estimate;
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimates how often a key was counted.
+     * @param key The key.
+     * @return The estimate, never below the true count.
+     */
+    public long estimate(String key) {
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(row, h1, h2)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Gets the number of keys counted, with repeats.
+     * @return The total count.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets how far an estimate may exceed the true count, e/width of the total, with
+     * probability at least 1 - e^-depth.
+     * @return The error bound.
+     */
+    public long getErrorBound() {
+        return (long) Math.ceil(Math.E * total / width);
+    }
+
+    /**
+     * Picks a row's counter from two hashes, so each row behaves like an independent hash.
+     */
+    private int index(int row, int h1, int h2) {
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * Spreads a string hash over 64 bits (the finalizer of MurmurHash3), since String.hashCode
+     * alone leaves similar names in neighbouring counters.
+     */
+    private static long mix(int hash) {
+        long x = hash * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        return x ^ (x >>> 33);
+    }
+}
@@ -0,0 +1,249 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+
+/**
+ * A simulated I/O device, such as a disk or a network link, that serves the I/O bursts of
+ * blocked processes. A device serves up to a fixed number of requests at once, one per
+ * channel, and queues the rest in first-come, first-served or priority order. Serving a
+ * request takes the length of the I/O burst plus the fixed latency of the device.
+ *
+ * Register devices with {@link AbstractScheduler#addDevice(Device)}; a device that a process
+ * names but that was not registered is created with the defaults of {@link #Device(String)}.
+ * The statistics describe the last run of the scheduler the device belongs to.
+ */
+public class Device {
+    /**
+     * The order in which queued requests are served.
+     */
+    public enum Discipline {
+        /** In the order the requests were made. */
+        FCFS,
+        /** Highest process priority first, then in the order the requests were made. */
+        PRIORITY
+    }
+
+    private final String name;
+    private final Discipline discipline;
+    private final int channels;
+    private final int latency;
+
+    // State of the current run: the queue and the request on each channel
+    private Queue<Process> queue;
+    private final Process[] serving;
+    private final int[] servingUntil;
+    private int busyChannels;
+
+    private long requests;
+    private long busyTime;
+    private long queueTime;
+    private int maxQueueLength;
+
+    /**
+     * Creates a first-come, first-served device with one channel and no latency.
+     * @param name The device name that I/O bursts refer to.
+     */
+    public Device(String name) {
+        this(name, Discipline.FCFS, 1, 0);
+    }
+
+    /**
+     * Creates a device.
+     * @param name The device name that I/O bursts refer to.
+     * @param discipline The order in which queued requests are served.
+     * @param channels The number of requests served at once.
+     * @param latency The time added to every request, such as a seek or round-trip time.
+     */
+    public Device(String name, Discipline discipline, int channels, int latency) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Device name cannot be empty");
+        }
+        if (channels <= 0) {
+            throw new IllegalArgumentException("Number of channels must be greater than 0");
+        }
+        if (latency < 0) {
+            throw new IllegalArgumentException("Latency must be >= 0");
+        }
+        this.name = name;
+        this.discipline = Objects.requireNonNull(discipline);
+        this.channels = channels;
+        this.latency = latency;
+        this.serving = new Process[channels];
+        this.servingUntil = new int[channels];
+        reset();
+    }
+
+    /**
+     * Parses a device specification of the form name[:fcfs|priority[:channels[:latency]]],
+     * such as "disk:priority:2:1".
+     * @param spec The specification.
+     * @return The device.
+     */
+    public static Device parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        if (parts.length > 4) {
+            throw new IllegalArgumentException("Invalid device: " + spec);
+        }
+        Discipline discipline = Discipline.FCFS;
+        if (parts.length > 1) {
+            try {
+                discipline = Discipline.valueOf(parts[1].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown queueing discipline: " + parts[1]);
+            }
+        }
+        try {
+            int channels = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 1;
+            int latency = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : 0;
+            return new Device(parts[0].trim(), discipline, channels, latency);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid device: " + spec);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Discipline getDiscipline() {
+        return discipline;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the number of I/O bursts the device started serving.
+     * @return The number of requests.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the time spent serving requests, summed over the channels.
+     * @return The busy time.
+     */
+    public long getBusyTime() {
+        return busyTime;
+    }
+
+    /**
+     * Gets the fraction of the device's capacity that was used.
+     * @param elapsed The length of the run.
+     * @return The busy time divided by the channel time available.
+     */
+    public double getUtilization(long elapsed) {
+        return elapsed <= 0 ? 0 : (double) busyTime / ((double) channels * elapsed);
+    }
+
+    /**
+     * Gets the average time a request waited in the queue before being served.
+     * @return The average queueing delay.
+     */
+    public double getAverageQueueTime() {
+        return requests == 0 ? 0 : (double) queueTime / requests;
+    }
+
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + discipline.name().toLowerCase(Locale.ROOT) + ":" + channels + ":" + latency;
+    }
+
+    /**
+     * Clears the queue and the statistics for a new run.
+     */
+    void reset() {
+        queue = discipline == Discipline.FCFS
+                ? new ArrayDeque<>()
+                : new PriorityQueue<>(Comparator.comparingInt(Process::getPriority)
+                        .thenComparingInt(Process::getBlockedSince)
+                        .thenComparingLong(Process::getSequenceNumber));
+        Arrays.fill(serving, null);
+        busyChannels = 0;
+        requests = 0;
+        busyTime = 0;
+        queueTime = 0;
+        maxQueueLength = 0;
+    }
+
+    int getBusyChannels() {
+        return busyChannels;
+    }
+
+    /**
+     * Accepts the I/O burst of a process that has just blocked.
+     * @param process The blocked process.
+     * @param time The current time.
+     */
+    void submit(Process process, int time) {
+        if (busyChannels < channels) {
+            for (int channel = 0; channel < channels; channel++) {
+                if (serving[channel] == null) {
+                    start(channel, process, time);
+                    return;
+                }
+            }
+        }
+        queue.add(process);
+        maxQueueLength = Math.max(maxQueueLength, queue.size());
+    }
+
+    /**
+     * Gets the time the next request being served completes.
+     * @return The completion time, or Integer.MAX_VALUE if the device is idle.
+     */
+    int nextCompletionTime() {
+        int next = Integer.MAX_VALUE;
+        if (busyChannels > 0) {
+            for (int channel = 0; channel < channels; channel++) {
+                if (serving[channel] != null && servingUntil[channel] < next) {
+                    next = servingUntil[channel];
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Completes the request that finishes first and starts the next queued one on its channel.
+     * @return The process whose I/O burst completed.
+     */
+    Process completeNext() {
+        int first = -1;
+        for (int channel = 0; channel < channels; channel++) {
+            if (serving[channel] != null && (first < 0 || servingUntil[channel] < servingUntil[first])) {
+                first = channel;
+            }
+        }
+        Process done = serving[first];
+        int time = servingUntil[first];
+        serving[first] = null;
+        busyChannels--;
+        Process next = queue.poll();
+        if (next != null) {
+            start(first, next, time);
+        }
+        return done;
+    }
+
+    private void start(int channel, Process process, int time) {
+        int service = process.getIoBurstTime() + latency;
+        serving[channel] = process;
+        servingUntil[channel] = time + service;
+        busyChannels++;
+        requests++;
+        busyTime += service;
+        queueTime += time - process.getBlockedSince();
+    }
+}
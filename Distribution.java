@@ -0,0 +1,193 @@
+package com.cpuscheduler.core;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * A probability distribution of non-negative durations, used to generate interarrival and
+ * burst times. Samples are real numbers; callers round them to whole time units.
+ */
+public abstract class Distribution {
+    private final String spec;
+    private final double mean;
+
+    private Distribution(String spec, double mean) {
+        this.spec = spec;
+        this.mean = mean;
+    }
+
+    /**
+     * Draws one value.
+     * @param random The source of randomness.
+     * @return The sample.
+     */
+    public abstract double sample(SplittableRandom random);
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * A distribution that always returns the same value.
+     * @param value The value.
+     * @return The distribution.
+     */
+    public static Distribution constant(double value) {
+        requireNonNegative(value);
+        return new Distribution("const:" + format(value), value) {
+            @Override
+            public double sample(SplittableRandom random) {
+                return value;
+            }
+        };
+    }
+
+    /**
+     * A uniform distribution over [min, max).
+     * @param min The smallest value.
+     * @param max The upper bound.
+     * @return The distribution.
+     */
+    public static Distribution uniform(double min, double max) {
+        requireNonNegative(min);
+        if (!(max >= min)) {
+            throw new IllegalArgumentException("Maximum must not be below the minimum");
+        }
+        return new Distribution("uniform:" + format(min) + ":" + format(max), (min + max) / 2) {
+            @Override
+            public double sample(SplittableRandom random) {
+                return min + (max - min) * random.nextDouble();
+            }
+        };
+    }
+
+    /**
+     * An exponential distribution, the memoryless case: Poisson arrivals or M/M/1 service.
+     * @param mean The mean.
+     * @return The distribution.
+     */
+    public static Distribution exponential(double mean) {
+        requirePositive(mean);
+        return new Distribution("exp:" + format(mean), mean) {
+            @Override
+            public double sample(SplittableRandom random) {
+                return -mean * Math.log(1 - random.nextDouble());
+            }
+        };
+    }
+
+    /**
+     * A two-phase balanced-means hyperexponential distribution, for values more variable than
+     * exponential ones, such as a few long jobs among many short ones.
+     * @param mean The mean.
+     * @param cv The coefficient of variation, at least 1.
+     * @return The distribution.
+     */
+    public static Distribution hyperexponential(double mean, double cv) {
+        requirePositive(mean);
+        if (!(cv >= 1)) {
+            throw new IllegalArgumentException("Coefficient of variation must be at least 1");
+        }
+        double cv2 = cv * cv;
+        double p = 0.5 * (1 + Math.sqrt((cv2 - 1) / (cv2 + 1)));
+        double mean1 = mean / (2 * p);
+        double mean2 = mean / (2 * (1 - p));
+        return new Distribution("hyperexp:" + format(mean) + ":" + format(cv), mean) {
+            @Override
+            public double sample(SplittableRandom random) {
+                double phaseMean = random.nextDouble() < p ? mean1 : mean2;
+                return -phaseMean * Math.log(1 - random.nextDouble());
+            }
+        };
+    }
+
+    /**
+     * A lognormal distribution with the given mean and coefficient of variation.
+     * @param mean The mean.
+     * @param cv The coefficient of variation.
+     * @return The distribution.
+     */
+    public static Distribution lognormal(double mean, double cv) {
+        requirePositive(mean);
+        requireNonNegative(cv);
+        double sigma2 = Math.log(1 + cv * cv);
+        double mu = Math.log(mean) - sigma2 / 2;
+        double sigma = Math.sqrt(sigma2);
+        return new Distribution("lognormal:" + format(mean) + ":" + format(cv), mean) {
+            @Override
+            public double sample(SplittableRandom random) {
+                return Math.exp(mu + sigma * gaussian(random));
+            }
+        };
+    }
+
+    /**
+     * Parses a specification such as "exp:10", "uniform:1:20", "const:5",
+     * "hyperexp:10:3" or "lognormal:10:0.5". A bare number is a constant.
+     * @param spec The specification.
+     * @return The distribution.
+     */
+    public static Distribution parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "const":
+                case "constant":
+                    requireArguments(spec, parts, 1);
+                    return constant(Double.parseDouble(parts[1]));
+                case "uniform":
+                    requireArguments(spec, parts, 2);
+                    return uniform(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "exp":
+                case "exponential":
+                    requireArguments(spec, parts, 1);
+                    return exponential(Double.parseDouble(parts[1]));
+                case "hyperexp":
+                    requireArguments(spec, parts, 2);
+                    return hyperexponential(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "lognormal":
+                    requireArguments(spec, parts, 2);
+                    return lognormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default:
+                    requireArguments(spec, parts, 0);
+                    return constant(Double.parseDouble(parts[0]));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid distribution: " + spec);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static void requireArguments(String spec, String[] parts, int count) {
+        if (parts.length != count + 1) {
+            throw new IllegalArgumentException("Invalid distribution: " + spec);
+        }
+    }
+
+    private static void requireNonNegative(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Distribution parameters must be finite and non-negative");
+        }
+    }
+
+    private static void requirePositive(double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Distribution mean must be finite and greater than 0");
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    /**
+     * Draws a standard normal value with the Box-Muller transform.
+     */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
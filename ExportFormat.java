@@ -0,0 +1,40 @@
+package com.cpuscheduler.io;
+
+import java.util.Locale;
+
+/**
+ * Machine-readable output formats for exported results.
+ */
+public enum ExportFormat {
+    CSV("csv"),
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets the usual file extension for the format, without the dot.
+     * @return The file extension.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a format name such as "csv", "jsonl" or "json_lines".
+     * @param name The format name.
+     * @return The matching format.
+     */
+    public static ExportFormat parse(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(normalized) || format.name().toLowerCase(Locale.ROOT).equals(normalized)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
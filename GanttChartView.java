@@ -0,0 +1,466 @@
+package com.cpuscheduler.gui;
+
+import com.cpuscheduler.io.GanttStore;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+import java.util.*;
+
+/**
+ * Gantt chart drawn on a single canvas.
+ * Only the visible part of the timeline is painted, so the cost of a redraw depends on
+ * the width of the view rather than on the number of segments in the schedule.
+ * Segments narrower than a pixel are merged into one column per pixel.
+ * The segments either come from Gantt chart entries, kept in primitive arrays, or are read
+ * on demand from a memory-mapped {@link GanttStore}, which is how schedules too large for
+ * the heap are browsed.
+ */
+public class GanttChartView extends Pane {
+    private static final double PADDING = 10;
+    private static final double BAR_Y = 20;
+    private static final double BAR_HEIGHT = 40;
+    private static final double DEFAULT_WIDTH_PER_TIME_UNIT = 40;
+    private static final double MAX_WIDTH_PER_TIME_UNIT = 200;
+    private static final double MIN_LABEL_WIDTH = 30;
+    private static final String IDLE = "Idle";
+
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+
+    // Segments in timeline order, stored as parallel primitive arrays
+    private int[] starts = new int[0];
+    private int[] ends = new int[0];
+    private int[] nameIndexes = new int[0];
+    private int segmentCount;
+    private final List<String> names = new ArrayList<>();
+    private final List<Color> colors = new ArrayList<>();
+    private long maxTime;
+    // When set, segments are read from the store instead of the arrays
+    private GanttStore store;
+
+    // Viewport: time at the left edge and pixels per time unit
+    private double viewStart;
+    private double widthPerTimeUnit = DEFAULT_WIDTH_PER_TIME_UNIT;
+    private double dragAnchorX;
+    private double dragAnchorStart;
+    // Set when a fit was asked for before the view had a width to fit to
+    private boolean needsFit;
+
+    public GanttChartView() {
+        getChildren().add(canvas);
+        canvas.widthProperty().bind(widthProperty());
+        canvas.heightProperty().bind(heightProperty());
+        canvas.widthProperty().addListener((obs, oldVal, newVal) -> {
+            if (needsFit) {
+                fitToWidth();
+            } else {
+                redraw();
+            }
+        });
+        canvas.heightProperty().addListener((obs, oldVal, newVal) -> redraw());
+
+        tooltip.setShowDelay(Duration.millis(100));
+        Tooltip.install(canvas, tooltip);
+
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> {
+            dragAnchorX = e.getX();
+            dragAnchorStart = viewStart;
+        });
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, e -> {
+            viewStart = dragAnchorStart - (e.getX() - dragAnchorX) / widthPerTimeUnit;
+            clampViewport();
+            redraw();
+        });
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::updateTooltip);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, e -> {
+            if (e.getClickCount() == 2) {
+                fitToWidth();
+            }
+        });
+    }
+
+    /**
+     * Replaces the displayed schedule with the given Gantt chart entries.
+     * Entries use the scheduler format "Time start-end: name".
+     * @param ganttData The Gantt chart entries in timeline order.
+     */
+    public void setGanttData(List<String> ganttData) {
+        clearSegments();
+        store = null;
+        if (ganttData != null) {
+            ensureCapacity(ganttData.size());
+            Map<String, Integer> nameLookup = new HashMap<>();
+            for (String entry : ganttData) {
+                parseEntry(entry, nameLookup);
+            }
+        }
+        fitToWidth();
+    }
+
+    /**
+     * Displays the schedule recorded in a Gantt store. The store stays open and is read as
+     * the view is scrolled and zoomed; the caller closes it after replacing or clearing the chart.
+     * @param ganttStore The store to display.
+     */
+    public void setGanttStore(GanttStore ganttStore) {
+        clearSegments();
+        store = ganttStore;
+        for (String name : ganttStore.getNames()) {
+            names.add(name);
+            colors.add(colorFor(name));
+        }
+        maxTime = ganttStore.getEndTime();
+        fitToWidth();
+    }
+
+    /**
+     * Removes all segments from the chart.
+     */
+    public void clear() {
+        clearSegments();
+        store = null;
+        redraw();
+    }
+
+    /**
+     * Zooms so that the whole schedule fits the current width, but never wider than the
+     * default scale of 40 pixels per time unit. If the view has not been laid out yet, the
+     * fit is done once it first gets a width.
+     */
+    public void fitToWidth() {
+        viewStart = 0;
+        double available = canvas.getWidth() - 2 * PADDING;
+        needsFit = available <= 0;
+        if (needsFit) {
+            redraw();
+            return;
+        }
+        widthPerTimeUnit = maxTime > 0
+                ? Math.min(DEFAULT_WIDTH_PER_TIME_UNIT, available / maxTime)
+                : DEFAULT_WIDTH_PER_TIME_UNIT;
+        redraw();
+    }
+
+    private void clearSegments() {
+        segmentCount = 0;
+        maxTime = 0;
+        names.clear();
+        colors.clear();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (starts.length < capacity) {
+            starts = new int[capacity];
+            ends = new int[capacity];
+            nameIndexes = new int[capacity];
+        }
+    }
+
+    private void parseEntry(String entry, Map<String, Integer> nameLookup) {
+        int colon = entry.indexOf(':');
+        if (colon < 0) {
+            return;
+        }
+        String timeRange = entry.substring(0, colon).replace("Time ", "").trim();
+        String processName = entry.substring(colon + 1).trim();
+        int dash = timeRange.indexOf('-');
+        if (dash < 0) {
+            return;
+        }
+
+        try {
+            int startTime = Integer.parseInt(timeRange.substring(0, dash).trim());
+            int endTime = Integer.parseInt(timeRange.substring(dash + 1).trim());
+
+            // Schedulers only report busy time, so show any gap before this entry as idle
+            int previousEnd = segmentCount > 0 ? ends[segmentCount - 1] : 0;
+            if (startTime > previousEnd) {
+                addSegment(previousEnd, startTime, nameIndexFor(IDLE, nameLookup));
+            }
+            int nameIndex = nameIndexFor(processName, nameLookup);
+
+            // Merge with the previous segment when the same process simply keeps running
+            if (segmentCount > 0 && nameIndexes[segmentCount - 1] == nameIndex
+                    && ends[segmentCount - 1] == startTime) {
+                ends[segmentCount - 1] = endTime;
+            } else {
+                addSegment(startTime, endTime, nameIndex);
+            }
+            maxTime = Math.max(maxTime, endTime);
+        } catch (NumberFormatException e) {
+            // Skip invalid entries
+        }
+    }
+
+    private int nameIndexFor(String processName, Map<String, Integer> nameLookup) {
+        Integer nameIndex = nameLookup.get(processName);
+        if (nameIndex == null) {
+            nameIndex = names.size();
+            nameLookup.put(processName, nameIndex);
+            names.add(processName);
+            colors.add(colorFor(processName));
+        }
+        return nameIndex;
+    }
+
+    private void addSegment(int startTime, int endTime, int nameIndex) {
+        if (segmentCount == starts.length) {
+            int capacity = Math.max(16, segmentCount * 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            nameIndexes = Arrays.copyOf(nameIndexes, capacity);
+        }
+        starts[segmentCount] = startTime;
+        ends[segmentCount] = endTime;
+        nameIndexes[segmentCount] = nameIndex;
+        segmentCount++;
+    }
+
+    private long segmentCount() {
+        return store != null ? store.size() : segmentCount;
+    }
+
+    private long startOf(long i) {
+        return store != null ? store.getStartTime(i) : starts[(int) i];
+    }
+
+    private long endOf(long i) {
+        return store != null ? store.getEndTime(i) : ends[(int) i];
+    }
+
+    private int nameIndexOf(long i) {
+        return store != null ? store.getNameIndex(i) : nameIndexes[(int) i];
+    }
+
+    private static Color colorFor(String processName) {
+        if (processName.equals(IDLE)) {
+            return Color.LIGHTGRAY;
+        }
+        // Generate a consistent color based on process name
+        int hash = processName.hashCode();
+        return Color.hsb(Math.abs(hash) % 360, 0.7, 0.9);
+    }
+
+    private void handleScroll(ScrollEvent e) {
+        if (segmentCount() == 0 || e.getDeltaY() == 0) {
+            return;
+        }
+        // Keep the time under the cursor fixed while zooming
+        double anchorTime = timeAt(e.getX());
+        double factor = e.getDeltaY() > 0 ? 1.25 : 0.8;
+        double minWidth = Math.max(1, canvas.getWidth() - 2 * PADDING) / Math.max(1, maxTime);
+        widthPerTimeUnit = Math.max(Math.min(minWidth, DEFAULT_WIDTH_PER_TIME_UNIT),
+                Math.min(MAX_WIDTH_PER_TIME_UNIT, widthPerTimeUnit * factor));
+        viewStart = anchorTime - (e.getX() - PADDING) / widthPerTimeUnit;
+        clampViewport();
+        redraw();
+        e.consume();
+    }
+
+    private void clampViewport() {
+        double visibleTime = Math.max(0, canvas.getWidth() - 2 * PADDING) / widthPerTimeUnit;
+        viewStart = Math.max(0, Math.min(viewStart, Math.max(0, maxTime - visibleTime)));
+    }
+
+    private double timeAt(double x) {
+        return viewStart + (x - PADDING) / widthPerTimeUnit;
+    }
+
+    private double xAt(double time) {
+        return PADDING + (time - viewStart) * widthPerTimeUnit;
+    }
+
+    /**
+     * Finds the first segment that ends after the given time.
+     * @param time The time to search for.
+     * @return The segment index, or the number of segments if there is none.
+     */
+    private long firstSegmentEndingAfter(double time) {
+        if (store != null) {
+            // Integer end times exceed a time exactly when they exceed its floor
+            return store.firstSegmentEndingAfter((long) Math.floor(time));
+        }
+        int low = 0;
+        int high = segmentCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void updateTooltip(MouseEvent e) {
+        double time = timeAt(e.getX());
+        long i = firstSegmentEndingAfter(time);
+        if (e.getY() < BAR_Y || e.getY() > BAR_Y + BAR_HEIGHT
+                || i >= segmentCount() || startOf(i) > time) {
+            tooltip.setText(null);
+            tooltip.hide();
+            return;
+        }
+        long start = startOf(i);
+        long end = endOf(i);
+        tooltip.setText(String.format("%s\nTime: %d - %d\nDuration: %d",
+                names.get(nameIndexOf(i)), start, end, end - start));
+    }
+
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        gc.clearRect(0, 0, width, canvas.getHeight());
+
+        long count = segmentCount();
+        if (count == 0) {
+            gc.setFill(Color.BLACK);
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.setTextBaseline(VPos.BASELINE);
+            gc.fillText("No Gantt chart data available", PADDING, BAR_Y + BAR_HEIGHT / 2);
+            return;
+        }
+
+        double right = width - PADDING;
+        long first = firstSegmentEndingAfter(viewStart);
+        long last = firstSegmentEndingAfter(timeAt(right));
+        long visibleSegments = Math.min(count, last + 1) - first;
+
+        if (store != null) {
+            // A store holds only busy time, so the bar behind the segments shows idle time
+            gc.setFill(colorFor(IDLE));
+            gc.fillRect(PADDING, BAR_Y, Math.max(0, Math.min(right, xAt(maxTime)) - PADDING), BAR_HEIGHT);
+        }
+
+        if (visibleSegments > right - PADDING) {
+            drawColumns(gc, first, right);
+        } else {
+            drawSegments(gc, first, right);
+        }
+        drawTimeAxis(gc, right);
+    }
+
+    /**
+     * Draws each visible segment individually, with labels where they fit.
+     */
+    private void drawSegments(GraphicsContext gc, long first, double right) {
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setFont(Font.font(null, FontWeight.BOLD, 12));
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+
+        if (store != null) {
+            // Stored segments are in order of end time, so a later one may still start earlier;
+            // the store finds the visible ones without scanning past the view
+            store.forEachSegmentIndex((long) Math.floor(viewStart), (long) Math.ceil(timeAt(right)),
+                    i -> drawSegment(gc, i, right));
+            return;
+        }
+        long count = segmentCount();
+        for (long i = first; i < count && xAt(startOf(i)) < right; i++) {
+            drawSegment(gc, i, right);
+        }
+    }
+
+    private void drawSegment(GraphicsContext gc, long i, double right) {
+        double x1 = xAt(startOf(i));
+        if (x1 >= right || endOf(i) <= viewStart) {
+            return;
+        }
+        double x2 = Math.min(xAt(endOf(i)), right);
+        x1 = Math.max(x1, PADDING);
+        double w = x2 - x1;
+        int nameIndex = nameIndexOf(i);
+
+        gc.setFill(colors.get(nameIndex));
+        gc.fillRoundRect(x1, BAR_Y, w, BAR_HEIGHT, 5, 5);
+        if (w >= 3) {
+            gc.strokeRoundRect(x1, BAR_Y, w, BAR_HEIGHT, 5, 5);
+        }
+        if (w >= MIN_LABEL_WIDTH) {
+            gc.setFill(Color.BLACK);
+            gc.fillText(names.get(nameIndex), x1 + 5, BAR_Y + BAR_HEIGHT / 2, w - 10);
+        }
+    }
+
+    /**
+     * Draws one column per pixel when more segments are visible than there are pixels.
+     * Each column is located with a binary search, so the cost does not depend on how
+     * many segments fall inside it.
+     */
+    private void drawColumns(GraphicsContext gc, long first, double right) {
+        long count = segmentCount();
+        long i = first;
+        for (double x = PADDING; x < right && i < count; x++) {
+            double columnStart = timeAt(x);
+            double columnEnd = timeAt(x + 1);
+            if (endOf(i) <= columnStart) {
+                i = firstSegmentEndingAfter(columnStart);
+                if (i >= count) {
+                    break;
+                }
+            }
+            if (startOf(i) >= columnEnd) {
+                continue;
+            }
+            // Color the column by the segment running at its midpoint, if any
+            long shown = i;
+            double middle = (columnStart + columnEnd) / 2;
+            if (endOf(shown) <= middle) {
+                long next = firstSegmentEndingAfter(middle);
+                if (next < count && startOf(next) <= middle) {
+                    shown = next;
+                }
+            }
+            gc.setFill(colors.get(nameIndexOf(shown)));
+            gc.fillRect(x, BAR_Y, 1, BAR_HEIGHT);
+        }
+    }
+
+    private void drawTimeAxis(GraphicsContext gc, double right) {
+        double axisY = BAR_Y + BAR_HEIGHT;
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.strokeLine(PADDING, axisY, Math.min(right, xAt(maxTime)), axisY);
+
+        // Choose a tick spacing of 1, 2 or 5 times a power of ten, at least 50 pixels apart
+        double minStep = 50 / widthPerTimeUnit;
+        double step = Math.pow(10, Math.floor(Math.log10(Math.max(1, minStep))));
+        if (step < minStep) {
+            step *= 2;
+        }
+        if (step < minStep) {
+            step *= 2.5;
+        }
+        step = Math.max(1, Math.ceil(step));
+
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.getDefault());
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        for (double t = Math.ceil(viewStart / step) * step; t <= maxTime; t += step) {
+            double x = xAt(t);
+            if (x > right) {
+                break;
+            }
+            gc.strokeLine(x, axisY, x, axisY + 4);
+            gc.fillText(String.valueOf((long) t), x, axisY + 5);
+        }
+
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText("Time", PADDING, axisY + 22);
+    }
+}
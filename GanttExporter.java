@@ -0,0 +1,61 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.core.SchedulingListener;
+import com.cpuscheduler.model.Process;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Streams Gantt chart segments to a file as each time slice ends.
+ * Every segment is one record of process id, name, start and end time.
+ * Attach it to a scheduler with addSchedulingListener before running, and close it afterwards.
+ */
+public class GanttExporter implements SchedulingListener, Closeable {
+    private static final String[] COLUMNS = {"id", "name", "start", "end"};
+
+    private final RecordWriter writer;
+    // Start of each running slice; more than one on a multi-core scheduler
+    private final Map<Process, Integer> sliceStarts = new IdentityHashMap<>();
+
+    public GanttExporter(Path file, ExportFormat format) throws IOException {
+        this.writer = new RecordWriter(file, format, COLUMNS);
+    }
+
+    @Override
+    public void onDispatch(Process process, int time, int readyQueueLength) {
+        sliceStarts.put(process, time);
+    }
+
+    @Override
+    public void onPreemption(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    @Override
+    public void onBlock(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    private void writeSegment(Process process, int endTime) {
+        Integer sliceStart = sliceStarts.remove(process);
+        writer.beginRecord()
+              .field(process.getId())
+              .field(process.getName())
+              .field(sliceStart != null ? sliceStart : endTime)
+              .field(endTime)
+              .endRecord();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,442 @@
+package com.cpuscheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * A Gantt chart kept in a memory-mapped file, written by {@link GanttStoreWriter}.
+ *
+ * Segments are fixed-width records in order of end time, so segment i can be read without
+ * touching the ones before it. A sparse index of every 4096th end time locates the segments
+ * running at a given time with a binary search. Segments longer than 4096 time units are
+ * also listed by start time in a table of their own, so a time range query only scans the
+ * records that end within the longest short segment of the range, and one long time slice
+ * cannot make every later query linear. Each record links to the previous
+ * segment of the same process, so the segments of one process are found from a sorted
+ * process table without scanning the file. Only the sparse index and the process names are
+ * read onto the heap; the operating system pages the rest in as it is used.
+ *
+ * File layout: a 64-byte header, the records, the sparse index, the long segment table, the
+ * process table and the names. Files of version 1 have no long segment table. A record holds the start and end time, the previous record of the same process
+ * (or -1), the process id and the index of the process name.
+ */
+public class GanttStore implements Closeable {
+    static final long MAGIC = 0x47414e5454535452L; // "GANTTSTR"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    static final int PROCESS_ENTRY_SIZE = 16;
+    static final int INDEX_INTERVAL = 4096;
+    /** Segments longer than this are listed in the long segment table. */
+    static final int LONG_SEGMENT_LENGTH = 4096;
+
+    private static final String[] COLUMNS = {"id", "name", "start", "end"};
+    // Regions overlap by a little, so a value that starts in a region can always be read from it
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_OVERLAP = 64;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final long size;
+    private final long processOffset;
+    private final int processCount;
+    private final long maxSegmentLength;
+    private final long maxShortSegmentLength;
+    private final long[] timeIndex;
+    // The long segments in order of start time: their record numbers and start times
+    private final long[] longRecords;
+    private final long[] longStarts;
+    private final List<String> names;
+
+    /**
+     * One time slice of a process.
+     */
+    public static final class Segment {
+        private final int processId;
+        private final String name;
+        private final long startTime;
+        private final long endTime;
+
+        Segment(int processId, String name, long startTime, long endTime) {
+            this.processId = processId;
+            this.name = name;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        public int getProcessId() {
+            return processId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getEndTime() {
+            return endTime;
+        }
+
+        /**
+         * Formats the segment as a scheduler Gantt chart entry.
+         * @return The entry, such as "Time 0-5: P1".
+         */
+        @Override
+        public String toString() {
+            return String.format("Time %d-%d: %s", startTime, endTime, name);
+        }
+    }
+
+    private GanttStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            throw new IOException("Not a Gantt store file");
+        }
+        int regionCount = (int) ((fileSize - 1) >>> REGION_SHIFT) + 1;
+        regions = new MappedByteBuffer[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            long start = (long) i << REGION_SHIFT;
+            long length = Math.min(fileSize - start, (1L << REGION_SHIFT) + REGION_OVERLAP);
+            regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        }
+
+        int version = getInt(8);
+        if (getLong(0) != MAGIC || version < 1 || version > VERSION) {
+            throw new IOException("Not a Gantt store file, or one that was not closed");
+        }
+        int nameCount = getInt(12);
+        size = getLong(16);
+        long indexOffset = getLong(24);
+        processOffset = getLong(32);
+        processCount = getInt(40);
+        long namesOffset = getLong(44);
+        maxSegmentLength = getLong(52);
+        // Version 1 lists no long segments, so every segment counts as short
+        maxShortSegmentLength = version == 1 ? maxSegmentLength : getInt(60);
+
+        timeIndex = new long[(int) ((size + INDEX_INTERVAL - 1) / INDEX_INTERVAL)];
+        for (int i = 0; i < timeIndex.length; i++) {
+            timeIndex[i] = getLong(indexOffset + 8L * i);
+        }
+        long longOffset = indexOffset + 8L * timeIndex.length;
+        longRecords = new long[(int) ((processOffset - longOffset) / 8)];
+        longStarts = new long[longRecords.length];
+        for (int i = 0; i < longRecords.length; i++) {
+            longRecords[i] = getLong(longOffset + 8L * i);
+            longStarts[i] = getLong(recordOffset(longRecords[i]));
+        }
+        channel.position(namesOffset);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        List<String> nameList = new ArrayList<>(nameCount);
+        for (int i = 0; i < nameCount; i++) {
+            nameList.add(in.readUTF());
+        }
+        names = Collections.unmodifiableList(nameList);
+    }
+
+    /**
+     * Opens a store file for reading.
+     * @param file The file written by a {@link GanttStoreWriter}.
+     * @return The store; close it when done.
+     * @throws IOException If the file cannot be read or is not a complete store.
+     */
+    public static GanttStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new GanttStore(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of segments.
+     * @return The number of segments.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the names of the processes in the store; a segment refers to its name by index.
+     * @return The names.
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Gets the number of distinct process ids in the store.
+     * @return The number of processes.
+     */
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    /**
+     * Gets the time the last segment ends.
+     * @return The end time, or 0 if the store is empty.
+     */
+    public long getEndTime() {
+        return size == 0 ? 0 : getEndTime(size - 1);
+    }
+
+    /**
+     * Gets the length of the longest segment; a segment starts no earlier than its end time
+     * minus this length.
+     * @return The longest segment length.
+     */
+    public long getMaxSegmentLength() {
+        return maxSegmentLength;
+    }
+
+    public long getStartTime(long index) {
+        return getLong(recordOffset(checkIndex(index)));
+    }
+
+    public long getEndTime(long index) {
+        return getLong(recordOffset(checkIndex(index)) + 8);
+    }
+
+    public int getProcessId(long index) {
+        return getInt(recordOffset(checkIndex(index)) + 24);
+    }
+
+    public int getNameIndex(long index) {
+        return getInt(recordOffset(checkIndex(index)) + 28);
+    }
+
+    /**
+     * Reads one segment.
+     * @param index The segment index, in order of end time.
+     * @return The segment.
+     */
+    public Segment getSegment(long index) {
+        long offset = recordOffset(checkIndex(index));
+        return new Segment(getInt(offset + 24), names.get(getInt(offset + 28)), getLong(offset), getLong(offset + 8));
+    }
+
+    /**
+     * Finds the first segment that ends after the given time.
+     * @param time The time to search for.
+     * @return The segment index, or size() if there is none.
+     */
+    public long firstSegmentEndingAfter(long time) {
+        // The sparse index narrows the search to one block of records
+        int low = 0;
+        int high = timeIndex.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeIndex[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        long first = low == 0 ? 0 : (long) (low - 1) * INDEX_INTERVAL + 1;
+        long last = low == timeIndex.length ? size : (long) low * INDEX_INTERVAL;
+        while (first < last) {
+            long mid = (first + last) >>> 1;
+            if (getLong(recordOffset(mid) + 8) <= time) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Finds the segments that overlap the interval [from, to), in order of end time.
+     * A segment overlaps it if it ends after from and starts before to; when from equals to,
+     * the segments running at that instant are returned.
+     * @param from The start of the interval.
+     * @param to The end of the interval.
+     * @return The overlapping segments.
+     */
+    public List<Segment> getSegments(long from, long to) {
+        if (to < from) {
+            throw new IllegalArgumentException("The end of the interval must not be before its start");
+        }
+        List<Segment> segments = new ArrayList<>();
+        forEachSegmentIndex(from, to, index -> segments.add(getSegment(index)));
+        return segments;
+    }
+
+    /**
+     * Finds the segments of a process, in order of time.
+     * @param processId The process id.
+     * @return The segments, or an empty list if the process never ran.
+     */
+    public List<Segment> getSegments(int processId) {
+        int low = 0;
+        int high = processCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long entry = processOffset + (long) mid * PROCESS_ENTRY_SIZE;
+            int id = getInt(entry);
+            if (id < processId) {
+                low = mid + 1;
+            } else if (id > processId) {
+                high = mid - 1;
+            } else {
+                // Follow the links back from the last segment of the process
+                Segment[] segments = new Segment[getInt(entry + 4)];
+                long record = getLong(entry + 8);
+                for (int i = segments.length - 1; i >= 0 && record >= 0; i--) {
+                    segments[i] = getSegment(record);
+                    record = getLong(recordOffset(record) + 16);
+                }
+                return Arrays.asList(segments);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Writes every segment to a file, with the columns of a {@link GanttExporter} file.
+     * @param file The file to write.
+     * @param format The output format.
+     * @throws IOException If the file cannot be written.
+     */
+    public void export(Path file, ExportFormat format) throws IOException {
+        try (RecordWriter writer = new RecordWriter(file, format, COLUMNS)) {
+            for (long i = 0; i < size; i++) {
+                writeRecord(writer, i);
+            }
+        }
+    }
+
+    /**
+     * Writes the segments that overlap the interval [from, to) to a file.
+     * @param file The file to write.
+     * @param format The output format.
+     * @param from The start of the interval.
+     * @param to The end of the interval.
+     * @throws IOException If the file cannot be written.
+     */
+    public void export(Path file, ExportFormat format, long from, long to) throws IOException {
+        if (to < from) {
+            throw new IllegalArgumentException("The end of the interval must not be before its start");
+        }
+        try (RecordWriter writer = new RecordWriter(file, format, COLUMNS)) {
+            forEachSegmentIndex(from, to, index -> writeRecord(writer, index));
+        }
+    }
+
+    private void writeRecord(RecordWriter writer, long index) {
+        long offset = recordOffset(index);
+        writer.beginRecord()
+              .field(getInt(offset + 24))
+              .field(names.get(getInt(offset + 28)))
+              .field(getLong(offset))
+              .field(getLong(offset + 8))
+              .endRecord();
+    }
+
+    /**
+     * Calls an action with the index of every segment that overlaps the interval [from, to),
+     * as {@link #getSegments(long, long)} finds them, in order of end time.
+     * @param from The start of the interval.
+     * @param to The end of the interval.
+     * @param action The action to call.
+     */
+    public void forEachSegmentIndex(long from, long to, LongConsumer action) {
+        if (to < from) {
+            throw new IllegalArgumentException("The end of the interval must not be before its start");
+        }
+        long[] longMatches = longSegmentsOverlapping(from, to);
+        int nextLong = 0;
+        for (long i = firstSegmentEndingAfter(from); i < size; i++) {
+            long offset = recordOffset(i);
+            long end = getLong(offset + 8);
+            // Later short segments end no earlier, so none of them can start before to once this holds
+            if (end - maxShortSegmentLength > to || (end - maxShortSegmentLength == to && from < to)) {
+                break;
+            }
+            long start = getLong(offset);
+            if (end - start > maxShortSegmentLength) {
+                continue;
+            }
+            if (start < to || (start == to && from == to)) {
+                while (nextLong < longMatches.length && longMatches[nextLong] < i) {
+                    action.accept(longMatches[nextLong++]);
+                }
+                action.accept(i);
+            }
+        }
+        while (nextLong < longMatches.length) {
+            action.accept(longMatches[nextLong++]);
+        }
+    }
+
+    /**
+     * Finds the long segments that overlap the interval [from, to).
+     * @return Their record numbers, sorted.
+     */
+    private long[] longSegmentsOverlapping(long from, long to) {
+        // The long segments that start before to, or at it for an instant
+        int low = 0;
+        int high = longStarts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (longStarts[mid] < to || (longStarts[mid] == to && from == to)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        long[] matches = new long[0];
+        int count = 0;
+        // Walk back until no segment could still be running at from
+        for (int i = low - 1; i >= 0 && longStarts[i] + maxSegmentLength > from; i--) {
+            if (getLong(recordOffset(longRecords[i]) + 8) > from) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, Math.max(4, 2 * count));
+                }
+                matches[count++] = longRecords[i];
+            }
+        }
+        matches = Arrays.copyOf(matches, count);
+        Arrays.sort(matches);
+        return matches;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static long recordOffset(long index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private long checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Segment " + index + " of " + size);
+        }
+        return index;
+    }
+
+    private long getLong(long offset) {
+        return regions[(int) (offset >>> REGION_SHIFT)].getLong((int) (offset & ((1L << REGION_SHIFT) - 1)));
+    }
+
+    private int getInt(long offset) {
+        return regions[(int) (offset >>> REGION_SHIFT)].getInt((int) (offset & ((1L << REGION_SHIFT) - 1)));
+    }
+}
@@ -0,0 +1,241 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.core.SchedulingListener;
+import com.cpuscheduler.model.Process;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Records Gantt chart segments into a memory-mapped {@link GanttStore} file as each time slice ends.
+ *
+ * Segments are appended as fixed-width records to mapped regions of the file, so recording a
+ * run does not grow the heap with the number of segments; only one entry per process name and
+ * per process id is kept in memory, plus the segments longer than
+ * {@value GanttStore#LONG_SEGMENT_LENGTH} time units, which are few. The time index, the table
+ * of long segments, the process table and the name table are written after the records when
+ * the writer is closed.
+ *
+ * A mapping cannot be released on demand, and some platforms refuse to shorten a file while
+ * part of it is mapped, so the file is never truncated. Instead each region is mapped in
+ * doubling steps, which keeps the unused space the tables do not cover below the size of
+ * the records; readers find everything through the offsets in the header.
+ * Attach it to a scheduler with addSchedulingListener before running, and close it afterwards.
+ */
+public class GanttStoreWriter implements SchedulingListener, Closeable {
+    // Regions of 64 MB, a multiple of the record size, so no record spans two regions
+    private static final long REGION_SIZE = 1L << 26;
+    // The mapped part of a region starts this large and doubles as it fills
+    private static final long FIRST_MAPPING = 1L << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer region;
+    private long regionStart = -1;
+    private long regionLength;
+    private long recordCount;
+    private long lastEnd = Long.MIN_VALUE;
+    private long maxSegmentLength;
+    private long maxShortSegmentLength;
+    // Start times and record numbers of the long segments
+    private long[] longStarts = new long[16];
+    private long[] longRecords = new long[16];
+    private int longCount;
+    private boolean closed;
+
+    // Start of each running slice; more than one on a multi-core scheduler
+    private final Map<Process, Integer> sliceStarts = new IdentityHashMap<>();
+    private final Map<String, Integer> nameIndexes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    // Per process id: the last record of the process and its number of segments
+    private final Map<Integer, long[]> processes = new HashMap<>();
+    private long[] timeIndex = new long[64];
+    private int timeIndexSize;
+
+    /**
+     * Creates a store file, replacing any existing content.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be created.
+     */
+    public GanttStoreWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, GanttStore.HEADER_SIZE);
+    }
+
+    @Override
+    public void onDispatch(Process process, int time, int readyQueueLength) {
+        sliceStarts.put(process, time);
+    }
+
+    @Override
+    public void onPreemption(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    @Override
+    public void onBlock(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        writeSegment(process, time);
+    }
+
+    private void writeSegment(Process process, int endTime) {
+        Integer sliceStart = sliceStarts.remove(process);
+        append(process.getId(), process.getName(), sliceStart != null ? sliceStart : endTime, endTime);
+    }
+
+    /**
+     * Appends a segment. Segments must be appended in order of end time, which is the order
+     * schedulers report them in.
+     * @param processId The id of the process that ran.
+     * @param name The name of the process.
+     * @param startTime The start time of the segment.
+     * @param endTime The end time of the segment.
+     */
+    public void append(int processId, String name, long startTime, long endTime) {
+        if (closed) {
+            throw new IllegalStateException("The store has been closed");
+        }
+        if (endTime < startTime || endTime < lastEnd) {
+            throw new IllegalArgumentException("Segments must be appended in order of end time");
+        }
+        Integer nameIndex = nameIndexes.get(name);
+        if (nameIndex == null) {
+            nameIndex = names.size();
+            nameIndexes.put(name, nameIndex);
+            names.add(name);
+        }
+        long[] process = processes.computeIfAbsent(processId, id -> new long[] {-1, 0});
+
+        long offset = GanttStore.recordOffset(recordCount);
+        if (regionStart < 0 || offset + GanttStore.RECORD_SIZE > regionStart + regionLength) {
+            mapRegion(offset);
+        }
+        int position = (int) (offset - regionStart);
+        region.putLong(position, startTime);
+        region.putLong(position + 8, endTime);
+        region.putLong(position + 16, process[0]);
+        region.putInt(position + 24, processId);
+        region.putInt(position + 28, nameIndex);
+
+        if ((recordCount & (GanttStore.INDEX_INTERVAL - 1)) == 0) {
+            if (timeIndexSize == timeIndex.length) {
+                timeIndex = Arrays.copyOf(timeIndex, timeIndexSize * 2);
+            }
+            timeIndex[timeIndexSize++] = endTime;
+        }
+        process[0] = recordCount;
+        process[1]++;
+        lastEnd = endTime;
+        maxSegmentLength = Math.max(maxSegmentLength, endTime - startTime);
+        if (endTime - startTime > GanttStore.LONG_SEGMENT_LENGTH) {
+            if (longCount == longStarts.length) {
+                longStarts = Arrays.copyOf(longStarts, longCount * 2);
+                longRecords = Arrays.copyOf(longRecords, longCount * 2);
+            }
+            longStarts[longCount] = startTime;
+            longRecords[longCount++] = recordCount;
+        } else {
+            maxShortSegmentLength = Math.max(maxShortSegmentLength, endTime - startTime);
+        }
+        recordCount++;
+    }
+
+    /**
+     * Maps enough of the region holding an offset to take a record there: twice the current
+     * mapping if the offset is in the same region, or the first step of a new one.
+     */
+    private void mapRegion(long offset) {
+        try {
+            long start = offset - offset % REGION_SIZE;
+            regionLength = start == regionStart ? Math.min(REGION_SIZE, 2 * regionLength) : FIRST_MAPPING;
+            regionStart = start;
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, regionLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the index and lookup tables after the records and completes the file.
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (region != null) {
+                region.force();
+            }
+            long recordsEnd = GanttStore.recordOffset(recordCount);
+            channel.position(recordsEnd);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+            long indexOffset = recordsEnd;
+            for (int i = 0; i < timeIndexSize; i++) {
+                out.writeLong(timeIndex[i]);
+            }
+
+            // Long segments by start time; the sort is stable, so ties stay in record order
+            Integer[] order = new Integer[longCount];
+            for (int i = 0; i < longCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> longStarts[i]));
+            for (int i : order) {
+                out.writeLong(longRecords[i]);
+            }
+
+            // Process table sorted by id: id, segment count and last record
+            long processOffset = indexOffset + 8L * (timeIndexSize + longCount);
+            int[] ids = new int[processes.size()];
+            int next = 0;
+            for (int id : processes.keySet()) {
+                ids[next++] = id;
+            }
+            Arrays.sort(ids);
+            for (int id : ids) {
+                long[] process = processes.get(id);
+                out.writeInt(id);
+                out.writeInt((int) Math.min(Integer.MAX_VALUE, process[1]));
+                out.writeLong(process[0]);
+            }
+
+            long namesOffset = processOffset + (long) GanttStore.PROCESS_ENTRY_SIZE * ids.length;
+            for (String name : names) {
+                out.writeUTF(name);
+            }
+            out.flush();
+
+            header.putLong(0, GanttStore.MAGIC);
+            header.putInt(8, GanttStore.VERSION);
+            header.putInt(12, names.size());
+            header.putLong(16, recordCount);
+            header.putLong(24, indexOffset);
+            header.putLong(32, processOffset);
+            header.putInt(40, ids.length);
+            header.putLong(44, namesOffset);
+            header.putLong(52, maxSegmentLength);
+            header.putInt(60, (int) maxShortSegmentLength);
+            header.force();
+        } finally {
+            channel.close();
+        }
+    }
+}
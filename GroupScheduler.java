@@ -0,0 +1,507 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import com.cpuscheduler.model.ProcessGroup;
+import java.util.*;
+
+/**
+ * Two-level scheduler for processes organized in {@link ProcessGroup} hierarchies.
+ *
+ * At every level, the runnable child group with the least weighted CPU time ("virtual
+ * runtime") goes next, so siblings share the CPU in proportion to their weights. A group
+ * that has used its quota for the current period is throttled, together with everything
+ * below it, until the period ends. Within a leaf group, any other policy chooses the
+ * process; each group can have its own. Ungrouped processes share an implicit top-level
+ * group named "ungrouped".
+ *
+ * Each group keeps its runnable children in a balanced tree ordered by virtual runtime,
+ * so a decision costs O(depth x log(groups per level)) no matter how many groups exist.
+ * A process runs for at most the granularity before the groups are reconsidered; a process
+ * of a non-preemptive policy that is interrupted this way stays first in its group.
+ *
+ * Group state is not part of checkpoints or snapshots, so both are unsupported; an edited
+ * workload is re-run from the start.
+ */
+public class GroupScheduler extends AbstractScheduler {
+    /** Default longest time a process runs before the groups are reconsidered. */
+    public static final int DEFAULT_GRANULARITY = 4;
+
+    private final String defaultPolicy;
+    private final Map<ProcessGroup, String> groupPolicies = new HashMap<>();
+    private final Map<String, AbstractScheduler> policies = new HashMap<>();
+    private final ProcessGroup ungrouped = new ProcessGroup("ungrouped");
+    private int granularity = DEFAULT_GRANULARITY;
+    private GroupQueue groups;
+    // Whether the last slice was cut short of the group policy's own slice
+    private boolean sliceCut;
+
+    /**
+     * Creates a group scheduler.
+     * @param defaultPolicy The configuration of the policy used within groups that have none of
+     *                      their own, as accepted by {@link SchedulerFactory#createScheduler(String)}.
+     */
+    public GroupScheduler(String defaultPolicy) {
+        policy(defaultPolicy);
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    /**
+     * Statistics of a group over the last run, including all of its descendants.
+     */
+    public static final class GroupStats {
+        private final String path;
+        private final int weight;
+        private final long cpuTime;
+        private final double share;
+        private final long throttledTime;
+        private final int completed;
+        private final double averageResponseTime;
+        private final double averageWaitingTime;
+        private final double averageTurnaroundTime;
+        private final int maxResponseTime;
+
+        GroupStats(String path, int weight, long cpuTime, double share, long throttledTime, int completed,
+                   double averageResponseTime, double averageWaitingTime, double averageTurnaroundTime,
+                   int maxResponseTime) {
+            this.path = path;
+            this.weight = weight;
+            this.cpuTime = cpuTime;
+            this.share = share;
+            this.throttledTime = throttledTime;
+            this.completed = completed;
+            this.averageResponseTime = averageResponseTime;
+            this.averageWaitingTime = averageWaitingTime;
+            this.averageTurnaroundTime = averageTurnaroundTime;
+            this.maxResponseTime = maxResponseTime;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * Gets the fraction of all CPU time used by the group.
+         * @return The share, from 0 to 1.
+         */
+        public double getShare() {
+            return share;
+        }
+
+        /**
+         * Gets the time the group spent throttled after exhausting its quota.
+         * @return The throttled time.
+         */
+        public long getThrottledTime() {
+            return throttledTime;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public double getAverageResponseTime() {
+            return averageResponseTime;
+        }
+
+        public double getAverageWaitingTime() {
+            return averageWaitingTime;
+        }
+
+        public double getAverageTurnaroundTime() {
+            return averageTurnaroundTime;
+        }
+
+        public int getMaxResponseTime() {
+            return maxResponseTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: weight=%d cpu=%d share=%.4f throttled=%d completed=%d avgResponse=%.2f "
+                            + "avgWaiting=%.2f avgTurnaround=%.2f maxResponse=%d",
+                    path, weight, cpuTime, share, throttledTime, completed, averageResponseTime,
+                    averageWaitingTime, averageTurnaroundTime, maxResponseTime);
+        }
+    }
+
+    /**
+     * Sets the policy used to pick processes within a group.
+     * @param group The group.
+     * @param policy The policy configuration, such as "SJF" or "RR:2".
+     */
+    public void setGroupPolicy(ProcessGroup group, String policy) {
+        policy(policy);
+        groupPolicies.put(group, policy);
+    }
+
+    /**
+     * Sets the longest time a process runs before the groups are reconsidered.
+     * @param granularity The granularity in time units.
+     */
+    public void setGranularity(int granularity) {
+        if (granularity <= 0) {
+            throw new IllegalArgumentException("Granularity must be greater than 0");
+        }
+        this.granularity = granularity;
+    }
+
+    @Override
+    public String getName() {
+        return "Group Scheduling (" + policy(defaultPolicy).getName() + " within groups)";
+    }
+
+    @Override
+    public void addProcess(Process process) {
+        if (process.getGroup() != null && !process.getGroup().getChildren().isEmpty()) {
+            throw new IllegalArgumentException("Processes can only be added to leaf groups: " + process.getGroup());
+        }
+        super.addProcess(process);
+    }
+
+    @Override
+    protected boolean supportsCheckpoints() {
+        return false;
+    }
+
+    @Override
+    protected Queue<Process> createReadyQueue() {
+        groups = new GroupQueue();
+        return groups;
+    }
+
+    @Override
+    protected boolean isPreemptive() {
+        return true;
+    }
+
+    @Override
+    protected int getTimeSlice(Process process) {
+        Node leaf = groups.leafOf(process);
+        int policySlice = leaf.policy.getTimeSlice(process);
+        int slice = Math.min(policySlice, granularity);
+        // Never run past the quota of the group or any of its ancestors
+        for (Node node = leaf; node.group != null; node = node.parent) {
+            if (node.group.hasQuota()) {
+                node.refreshPeriod(currentTime);
+                slice = Math.min(slice, Math.min(node.group.getQuota() - node.usage, node.periodEnd - currentTime));
+            }
+        }
+        slice = Math.max(1, slice);
+        sliceCut = slice < policySlice;
+        return slice;
+    }
+
+    @Override
+    protected boolean isReevaluation(Process process) {
+        // Granularity and quota ticks only reconsider the groups; the policy's own slice ends preempt
+        return sliceCut;
+    }
+
+    @Override
+    protected void recordExecution(Process process, int startTime, int endTime) {
+        super.recordExecution(process, startTime, endTime);
+        groups.charge(groups.leafOf(process), startTime, endTime);
+    }
+
+    @Override
+    protected int getNextWakeupTime() {
+        return groups.nextUnthrottle();
+    }
+
+    /**
+     * Gets per-group statistics of the last run, for every group that had processes and
+     * their ancestors, ordered by path.
+     * @return The statistics.
+     */
+    public List<GroupStats> getGroupStats() {
+        if (groups == null) {
+            return Collections.emptyList();
+        }
+        // completed, total response, total waiting, total turnaround, max response per group
+        Map<Node, long[]> totals = new HashMap<>();
+        for (Process p : completedProcesses) {
+            for (Node node = groups.leafOf(p); node.group != null; node = node.parent) {
+                long[] t = totals.computeIfAbsent(node, n -> new long[5]);
+                t[0]++;
+                t[1] += p.getResponseTime();
+                t[2] += p.getWaitingTime();
+                t[3] += p.getTurnaroundTime();
+                t[4] = Math.max(t[4], p.getResponseTime());
+            }
+        }
+
+        List<GroupStats> stats = new ArrayList<>();
+        long busy = Math.max(1, groups.root.cpuTime);
+        for (Node node : groups.nodes.values()) {
+            long[] t = totals.getOrDefault(node, new long[5]);
+            double completed = Math.max(1, t[0]);
+            long throttled = node.throttledTime
+                    + (node.throttled ? Math.min(currentTime, node.periodEnd) - node.throttledSince : 0);
+            stats.add(new GroupStats(node.group.getPath(), node.group.getWeight(), node.cpuTime,
+                    (double) node.cpuTime / busy, throttled, (int) t[0], t[1] / completed, t[2] / completed,
+                    t[3] / completed, (int) t[4]));
+        }
+        stats.sort(Comparator.comparing(GroupStats::getPath));
+        return stats;
+    }
+
+    private AbstractScheduler policy(String spec) {
+        AbstractScheduler policy = policies.get(spec);
+        if (policy == null) {
+            Scheduler scheduler = SchedulerFactory.createScheduler(spec);
+            if (!(scheduler instanceof AbstractScheduler) || scheduler instanceof GroupScheduler
+                    || scheduler instanceof PredictiveSJFScheduler) {
+                throw new IllegalArgumentException("Cannot be used within groups: " + spec);
+            }
+            policy = (AbstractScheduler) scheduler;
+            policies.put(spec, policy);
+        }
+        return policy;
+    }
+
+    /**
+     * Scheduling state of one group during a run.
+     */
+    private static final class Node {
+        final ProcessGroup group;
+        final Node parent;
+        final long id;
+        final TreeSet<Node> children = new TreeSet<>(Comparator.<Node>comparingDouble(n -> n.vruntime)
+                .thenComparingLong(n -> n.id));
+
+        // Leaf groups only: the policy, its queue, and a started process of a non-preemptive policy
+        AbstractScheduler policy;
+        Queue<Process> processes;
+        Process pinned;
+
+        double vruntime;
+        double minVruntime;
+        int runnable; // Queued processes below this node that are not held back by a throttled group
+        boolean inParent;
+        boolean throttled;
+
+        long cpuTime;
+        int usage;
+        int periodEnd = -1;
+        int throttledSince;
+        long throttledTime;
+
+        Node(ProcessGroup group, Node parent, long id) {
+            this.group = group;
+            this.parent = parent;
+            this.id = id;
+        }
+
+        void refreshPeriod(int time) {
+            if (time >= periodEnd) {
+                int period = group.getPeriod();
+                usage = 0;
+                periodEnd = (int) Math.min(Integer.MAX_VALUE, ((long) time / period + 1) * period);
+            }
+        }
+    }
+
+    /**
+     * The ready queue: a tree of groups whose leaves hold the processes.
+     */
+    private final class GroupQueue extends AbstractQueue<Process> {
+        final Node root = new Node(null, null, 0);
+        final Map<ProcessGroup, Node> nodes = new HashMap<>();
+        final PriorityQueue<Node> throttled = new PriorityQueue<>(Comparator.comparingInt(n -> n.periodEnd));
+        int size;
+
+        Node leafOf(Process process) {
+            Node leaf = nodeFor(process.getGroup() != null ? process.getGroup() : ungrouped);
+            if (leaf.processes == null) {
+                if (!leaf.children.isEmpty()) {
+                    throw new IllegalArgumentException("Processes can only be added to leaf groups: " + leaf.group);
+                }
+                leaf.policy = policy(groupPolicies.getOrDefault(leaf.group, defaultPolicy));
+                leaf.processes = leaf.policy.createReadyQueue();
+            }
+            return leaf;
+        }
+
+        private Node nodeFor(ProcessGroup group) {
+            Node node = nodes.get(group);
+            if (node == null) {
+                Node parent = group.getParent() == null ? root : nodeFor(group.getParent());
+                if (parent.processes != null) {
+                    throw new IllegalArgumentException("Processes can only be added to leaf groups: " + parent.group);
+                }
+                node = new Node(group, parent, nodes.size() + 1);
+                nodes.put(group, node);
+            }
+            return node;
+        }
+
+        @Override
+        public boolean offer(Process process) {
+            Node leaf = leafOf(process);
+            if (!leaf.policy.isPreemptive() && process.getCurrentBurstRemaining() < process.getCurrentBurstTime()
+                    && !process.isCompleted()) {
+                // Interrupted by another group, not by its own policy: it continues first
+                leaf.pinned = process;
+            } else {
+                leaf.processes.add(process);
+            }
+            size++;
+            adjust(leaf, 1);
+            return true;
+        }
+
+        @Override
+        public Process poll() {
+            release(currentTime);
+            Node leaf = descend(true);
+            if (leaf == null) {
+                return null;
+            }
+            Process process = leaf.pinned;
+            if (process != null) {
+                leaf.pinned = null;
+            } else {
+                process = leaf.processes.poll();
+            }
+            size--;
+            adjust(leaf, -1);
+            return process;
+        }
+
+        @Override
+        public Process peek() {
+            Node leaf = descend(false);
+            if (leaf == null) {
+                return null;
+            }
+            return leaf.pinned != null ? leaf.pinned : leaf.processes.peek();
+        }
+
+        private Node descend(boolean advance) {
+            Node node = root;
+            while (node.processes == null) {
+                if (node.children.isEmpty()) {
+                    return null;
+                }
+                Node next = node.children.first();
+                if (advance) {
+                    node.minVruntime = Math.max(node.minVruntime, next.vruntime);
+                }
+                node = next;
+            }
+            return node;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Process> iterator() {
+            List<Process> all = new ArrayList<>(size);
+            for (Node node : nodes.values()) {
+                if (node.pinned != null) {
+                    all.add(node.pinned);
+                }
+                if (node.processes != null) {
+                    all.addAll(node.processes);
+                }
+            }
+            return Collections.unmodifiableList(all).iterator();
+        }
+
+        /**
+         * Changes the runnable count of a node and its ancestors, up to the first throttled
+         * group, entering or leaving each parent's tree as the count becomes non-zero or zero.
+         */
+        private void adjust(Node node, int delta) {
+            for (Node n = node; ; n = n.parent) {
+                boolean wasRunnable = n.runnable > 0;
+                n.runnable += delta;
+                if (n.parent == null || n.throttled) {
+                    return;
+                }
+                if (!wasRunnable && n.runnable > 0) {
+                    enter(n);
+                } else if (wasRunnable && n.runnable == 0) {
+                    n.parent.children.remove(n);
+                    n.inParent = false;
+                }
+            }
+        }
+
+        private void enter(Node node) {
+            // A group that was idle starts level with its siblings instead of with banked credit
+            node.vruntime = Math.max(node.vruntime, node.parent.minVruntime);
+            node.parent.children.add(node);
+            node.inParent = true;
+        }
+
+        /**
+         * Charges a slice to a leaf and its ancestors, throttling any that exhaust their quota.
+         */
+        void charge(Node leaf, int start, int end) {
+            int ran = end - start;
+            root.cpuTime += ran;
+            for (Node n = leaf; n.group != null; n = n.parent) {
+                // The tree key changes, so take the node out while updating it
+                boolean inParent = n.inParent;
+                if (inParent) {
+                    n.parent.children.remove(n);
+                }
+                n.vruntime += (double) ran * ProcessGroup.DEFAULT_WEIGHT / n.group.getWeight();
+                if (inParent) {
+                    n.parent.children.add(n);
+                }
+                n.cpuTime += ran;
+                if (n.group.hasQuota()) {
+                    n.refreshPeriod(start);
+                    n.usage += ran;
+                    if (n.usage >= n.group.getQuota() && !n.throttled) {
+                        throttle(n, end);
+                    }
+                }
+            }
+        }
+
+        private void throttle(Node node, int time) {
+            if (node.inParent) {
+                node.parent.children.remove(node);
+                node.inParent = false;
+            }
+            if (node.runnable > 0) {
+                adjust(node.parent, -node.runnable);
+            }
+            node.throttled = true;
+            node.throttledSince = time;
+            throttled.add(node);
+        }
+
+        private void release(int time) {
+            while (!throttled.isEmpty() && throttled.peek().periodEnd <= time) {
+                Node node = throttled.poll();
+                node.throttled = false;
+                node.throttledTime += node.periodEnd - node.throttledSince;
+                node.usage = 0;
+                if (node.runnable > 0) {
+                    enter(node);
+                    adjust(node.parent, node.runnable);
+                }
+            }
+        }
+
+        int nextUnthrottle() {
+            return throttled.isEmpty() ? Integer.MAX_VALUE : throttled.peek().periodEnd;
+        }
+    }
+}
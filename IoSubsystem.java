@@ -0,0 +1,132 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+
+/**
+ * The devices of a scheduler and the accounting of how their busy time overlaps the CPU's.
+ * The scheduler reports each stretch of simulated time as it passes, saying whether the
+ * CPU was busy during it; within a stretch the devices only change state at request
+ * completions, which are processed in time order.
+ */
+final class IoSubsystem {
+    private final Map<String, Device> devices = new LinkedHashMap<>();
+    private Device[] deviceArray = new Device[0];
+    private int lastTime;
+    private int activeRequests;
+    private long busyTime;
+    private long overlapTime;
+
+    void add(Device device) {
+        if (devices.putIfAbsent(device.getName(), device) != null) {
+            throw new IllegalArgumentException("Duplicate device: " + device.getName());
+        }
+        deviceArray = devices.values().toArray(new Device[0]);
+    }
+
+    Collection<Device> getDevices() {
+        return Collections.unmodifiableCollection(devices.values());
+    }
+
+    /**
+     * Clears the queues and statistics of every device for a run from time 0.
+     */
+    void reset() {
+        for (Device device : deviceArray) {
+            device.reset();
+        }
+        lastTime = 0;
+        activeRequests = 0;
+        busyTime = 0;
+        overlapTime = 0;
+    }
+
+    /**
+     * Gets the time at least one device was serving a request.
+     * @return The I/O busy time.
+     */
+    long getBusyTime() {
+        return busyTime;
+    }
+
+    /**
+     * Gets the time the CPU was busy while at least one device was serving a request.
+     * @return The overlap time.
+     */
+    long getOverlapTime() {
+        return overlapTime;
+    }
+
+    /**
+     * Accounts for the time since the last call.
+     * @param time The current time.
+     * @param cpuBusy Whether the CPU was busy since the last call.
+     */
+    void advanceTo(int time, boolean cpuBusy) {
+        if (time > lastTime) {
+            if (activeRequests > 0) {
+                busyTime += time - lastTime;
+                if (cpuBusy) {
+                    overlapTime += time - lastTime;
+                }
+            }
+            lastTime = time;
+        }
+    }
+
+    /**
+     * Queues the I/O burst of a process that has just finished a CPU burst.
+     * @param process The blocked process.
+     * @param time The current time.
+     */
+    void submit(Process process, int time) {
+        String name = process.getIoDevice();
+        Device device = devices.get(name);
+        if (device == null) {
+            device = new Device(name);
+            add(device);
+        }
+        process.block(time);
+        int before = device.getBusyChannels();
+        device.submit(process, time);
+        activeRequests += device.getBusyChannels() - before;
+    }
+
+    /**
+     * Gets the time the next I/O burst completes on any device.
+     * @return The completion time, or Integer.MAX_VALUE if every device is idle.
+     */
+    int nextCompletionTime() {
+        if (activeRequests == 0) {
+            return Integer.MAX_VALUE;
+        }
+        int next = Integer.MAX_VALUE;
+        for (Device device : deviceArray) {
+            next = Math.min(next, device.nextCompletionTime());
+        }
+        return next;
+    }
+
+    /**
+     * Completes the I/O burst that finishes first and wakes its process up.
+     * @param cpuBusy Whether the CPU was busy since the last call.
+     * @return The process, ready for its next CPU burst.
+     */
+    Process completeNext(boolean cpuBusy) {
+        Device first = null;
+        int time = Integer.MAX_VALUE;
+        for (Device device : deviceArray) {
+            int next = device.nextCompletionTime();
+            if (next < time) {
+                time = next;
+                first = device;
+            }
+        }
+        advanceTo(time, cpuBusy);
+        int before = first.getBusyChannels();
+        Process process = first.completeNext();
+        activeRequests += first.getBusyChannels() - before;
+        process.wakeUp(time);
+        return process;
+    }
+}
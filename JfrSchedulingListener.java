@@ -0,0 +1,172 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits JDK Flight Recorder events for scheduler runs, so long simulations can be
+ * profiled with standard tooling such as JDK Mission Control or the jfr command.
+ * Events are only built when a recording has them enabled.
+ */
+public class JfrSchedulingListener implements SchedulingListener {
+
+    @Override
+    public void onArrival(Process process, int time) {
+        ArrivalEvent event = new ArrivalEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onDispatch(Process process, int time, int readyQueueLength) {
+        DispatchEvent event = new DispatchEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.readyQueueLength = readyQueueLength;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onPreemption(Process process, int time) {
+        PreemptionEvent event = new PreemptionEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.remainingTime = process.getRemainingTime();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBlock(Process process, int time) {
+        BlockEvent event = new BlockEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.device = process.getIoDevice();
+            event.ioBurstTime = process.getIoBurstTime();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onWakeup(Process process, int time) {
+        WakeupEvent event = new WakeupEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.blockedTime = process.getBlockedTime();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        CompletionEvent event = new CompletionEvent();
+        if (event.shouldCommit()) {
+            event.set(process, time);
+            event.turnaroundTime = process.getTurnaroundTime();
+            event.waitingTime = process.getWaitingTime();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onIdle(int startTime, int endTime) {
+        IdleEvent event = new IdleEvent();
+        if (event.shouldCommit()) {
+            event.simulatedTime = startTime;
+            event.idleTime = endTime - startTime;
+            event.commit();
+        }
+    }
+
+    @Category({"CPU Scheduler", "Process"})
+    @StackTrace(false)
+    abstract static class ProcessEvent extends Event {
+        @Label("Simulated Time")
+        int simulatedTime;
+
+        @Label("Process ID")
+        int processId;
+
+        @Label("Process Name")
+        String processName;
+
+        void set(Process process, int time) {
+            simulatedTime = time;
+            processId = process.getId();
+            processName = process.getName();
+        }
+    }
+
+    @Name("com.cpuscheduler.Arrival")
+    @Label("Process Arrival")
+    @Description("A process entered the ready queue")
+    static class ArrivalEvent extends ProcessEvent {
+    }
+
+    @Name("com.cpuscheduler.Dispatch")
+    @Label("Process Dispatch")
+    @Description("A process was given the CPU")
+    static class DispatchEvent extends ProcessEvent {
+        @Label("Ready Queue Length")
+        int readyQueueLength;
+    }
+
+    @Name("com.cpuscheduler.Preemption")
+    @Label("Process Preemption")
+    @Description("A process lost the CPU before completing")
+    static class PreemptionEvent extends ProcessEvent {
+        @Label("Remaining Time")
+        int remainingTime;
+    }
+
+    @Name("com.cpuscheduler.Block")
+    @Label("Process Block")
+    @Description("A process finished a CPU burst and waits for a device")
+    static class BlockEvent extends ProcessEvent {
+        @Label("Device")
+        String device;
+
+        @Label("I/O Burst Time")
+        int ioBurstTime;
+    }
+
+    @Name("com.cpuscheduler.Wakeup")
+    @Label("Process Wakeup")
+    @Description("A process finished an I/O burst and re-entered the ready queue")
+    static class WakeupEvent extends ProcessEvent {
+        @Label("Total Blocked Time")
+        int blockedTime;
+    }
+
+    @Name("com.cpuscheduler.Completion")
+    @Label("Process Completion")
+    @Description("A process completed")
+    static class CompletionEvent extends ProcessEvent {
+        @Label("Turnaround Time")
+        int turnaroundTime;
+
+        @Label("Waiting Time")
+        int waitingTime;
+    }
+
+    @Name("com.cpuscheduler.Idle")
+    @Label("CPU Idle")
+    @Description("The CPU had nothing to run")
+    @Category({"CPU Scheduler", "CPU"})
+    @StackTrace(false)
+    static class IdleEvent extends Event {
+        @Label("Simulated Time")
+        int simulatedTime;
+
+        @Label("Idle Time")
+        int idleTime;
+    }
+}
@@ -1,7 +1,13 @@
 package com.cpuscheduler.gui;
 
 import com.cpuscheduler.core.*;
-import com.cpuscheduler.core.SchedulerFactory.SchedulerType;
+import com.cpuscheduler.io.ExportFormat;
+import com.cpuscheduler.io.GanttStore;
+import com.cpuscheduler.io.GanttStoreWriter;
+import com.cpuscheduler.io.ProcessResultExporter;
+import com.cpuscheduler.io.SchedTraceImporter;
+import com.cpuscheduler.io.TimeSeriesExporter;
+import com.cpuscheduler.io.WorkloadReader;
 import com.cpuscheduler.model.Process;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -20,19 +26,39 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
-import javafx.scene.text.TextAlignment;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class MainController implements Initializable {
+    // Number of time windows in the metrics over time of a run
+    private static final int METRIC_WINDOWS = 100;
+    // An import hands rows to the table once a batch is full or this long after the last one
+    private static final int IMPORT_BATCH_SIZE = 10_000;
+    private static final long IMPORT_FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // The largest value the parameter spinner offers, unless a policy's default is larger
+    private static final int MAX_PARAMETER_VALUE = 100;
     
     @FXML private ComboBox<String> algorithmCombo;
     @FXML private Spinner<Integer> quantumSpinner;
+    // Names the spinner's parameter; optional, since older layouts do not define it
+    @FXML private Label quantumLabel;
+    // The policy whose first parameter the spinner holds, or null
+    private SchedulerProvider parameterProvider;
     @FXML private TableView<Process> processTable;
     @FXML private Pane ganttChartContainer;
     @FXML private Label avgWaitingTimeLabel;
@@ -41,32 +67,66 @@ public class MainController implements Initializable {
     @FXML private Label contextSwitchesLabel;
     
     private final ObservableList<Process> processes = FXCollections.observableArrayList();
-    private final Map<String, SchedulerType> algorithmMap = new HashMap<>();
+    private final Map<String, SchedulerProvider> algorithmMap = new LinkedHashMap<>();
+    private final GanttChartView ganttChartView = new GanttChartView();
+    private TimeSeriesMetrics lastMetrics;
+    private String lastSchedulerName;
+    // The store the Gantt chart is drawn from, and its file if it is a temporary one
+    private GanttStore ganttStore;
+    private Path temporaryStoreFile;
+    // The file import in progress, or null
+    private ProcessImport processImport;
     
     @Override
     public void initialize(URL url, ResourceBundle rb) {
         setupAlgorithmComboBox();
         setupProcessTable();
         setupQuantumSpinner();
+        setupGanttChart();
     }
     
     private void setupAlgorithmComboBox() {
-        // Map display names to scheduler types
-        algorithmMap.put("First-Come, First-Served (FCFS)", SchedulerType.FCFS);
-        algorithmMap.put("Shortest Job First (SJF) - Non-preemptive", SchedulerType.SJF);
-        algorithmMap.put("Priority Scheduling - Non-preemptive", SchedulerType.PRIORITY);
-        algorithmMap.put("Round Robin", SchedulerType.ROUND_ROBIN);
+        // Map display names to the available policies, including plugins
+        for (SchedulerProvider provider : SchedulerFactory.getProviders()) {
+            algorithmMap.put(provider.getDisplayName(), provider);
+        }
         
         // Add items to combo box
         algorithmCombo.getItems().addAll(algorithmMap.keySet());
         algorithmCombo.getSelectionModel().selectFirst();
         
-        // Show/hide quantum spinner based on selection
-        algorithmCombo.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
-            boolean isRoundRobin = "Round Robin".equals(newVal);
-            quantumSpinner.setVisible(isRoundRobin);
-            quantumSpinner.setManaged(isRoundRobin);
-        });
+        // Fit the spinner to the first parameter of the selected policy, or hide it
+        algorithmCombo.getSelectionModel().selectedItemProperty().addListener(
+            (obs, oldVal, newVal) -> showParameter(algorithmMap.get(newVal)));
+    }
+    
+    /**
+     * Shows the first parameter of a policy in the spinner, with its name, range and default,
+     * or hides the spinner if the policy takes none.
+     * @param provider The selected policy, or null.
+     */
+    private void showParameter(SchedulerProvider provider) {
+        boolean hasParameter = provider != null && !provider.getParameters().isEmpty();
+        quantumSpinner.setVisible(hasParameter);
+        quantumSpinner.setManaged(hasParameter);
+        if (quantumLabel != null) {
+            quantumLabel.setVisible(hasParameter);
+            quantumLabel.setManaged(hasParameter);
+        }
+        if (!hasParameter) {
+            return;
+        }
+        parameterProvider = provider;
+        SchedulerProvider.Parameter parameter = provider.getParameters().get(0);
+        quantumSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(
+            parameter.getMinimum(),
+            Math.min(parameter.getMaximum(), Math.max(MAX_PARAMETER_VALUE, parameter.getDefaultValue())),
+            parameter.getDefaultValue()));
+        String description = parameter.getDescription();
+        quantumSpinner.setTooltip(new Tooltip(description));
+        if (quantumLabel != null) {
+            quantumLabel.setText(Character.toUpperCase(description.charAt(0)) + description.substring(1) + ":");
+        }
     }
     
     private void setupProcessTable() {
@@ -101,15 +161,17 @@ public class MainController implements Initializable {
             waitingColumn, turnaroundColumn, responseColumn
         );
         
+        // Rows of one fixed height let the table skip measuring them, so large imports scroll smoothly
+        processTable.setFixedCellSize(24);
+        
         // Set table data
         processTable.setItems(processes);
     }
     
     private void setupQuantumSpinner() {
-        // Configure quantum spinner
-        SpinnerValueFactory<Integer> valueFactory = 
-            new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 100, 4);
-        quantumSpinner.setValueFactory(valueFactory);
+        // Start with the Round Robin quantum, then fit the spinner to the policy selected first
+        quantumSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, MAX_PARAMETER_VALUE, 4));
+        showParameter(algorithmMap.get(algorithmCombo.getSelectionModel().getSelectedItem()));
         quantumSpinner.setEditable(true);
         
         // Ensure only numbers are entered
@@ -120,8 +182,20 @@ public class MainController implements Initializable {
         });
     }
     
+    private void setupGanttChart() {
+        // A single canvas-backed view that fills the container
+        ganttChartView.prefWidthProperty().bind(ganttChartContainer.widthProperty());
+        ganttChartView.prefHeightProperty().bind(ganttChartContainer.heightProperty());
+        ganttChartContainer.getChildren().setAll(ganttChartView);
+    }
+    
     @FXML
     private void handleAddProcess() {
+        if (processImport != null) {
+            showAlert("Import in Progress", "Please wait for the import to finish before adding processes.");
+            return;
+        }
+        
         // Create a dialog to add a new process
         Dialog<Process> dialog = new Dialog<>();
         dialog.setTitle("Add Process");
@@ -182,6 +256,57 @@ public class MainController implements Initializable {
         });
     }
     
+    @FXML
+    private void handleImportProcesses() {
+        if (processImport != null) {
+            showAlert("Import in Progress", "Please wait for the current import to finish.");
+            return;
+        }
+        
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Processes");
+        FileChooser.ExtensionFilter workloads =
+            new FileChooser.ExtensionFilter("Workload files (name,arrival,burst,priority)", "*.csv", "*.txt");
+        FileChooser.ExtensionFilter traces =
+            new FileChooser.ExtensionFilter("perf sched and ftrace dumps", "*.txt", "*.trace", "*.log");
+        chooser.getExtensionFilters().addAll(workloads, traces);
+        File file = chooser.showOpenDialog(processTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        boolean trace = chooser.getSelectedExtensionFilter() == traces;
+        
+        // Parse off the UI thread; rows reach the table in batches as they are read
+        ProcessImport current = new ProcessImport(processes.size() + 1);
+        processImport = current;
+        CompletableFuture.runAsync(() -> {
+            try {
+                if (trace) {
+                    new SchedTraceImporter().importTrace(file.toPath(), current);
+                } else {
+                    WorkloadReader.forEach(file.toPath(), current);
+                }
+                current.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, e) -> Platform.runLater(() -> {
+            if (current.cancelled) {
+                return;
+            }
+            processImport = null;
+            if (e != null) {
+                // Rows read before the error stay in the table
+                current.flush();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                showAlert("Import Error", "The import stopped after " + current.count + " processes: "
+                        + cause.getMessage());
+            } else {
+                showAlert("Import Complete", "Imported " + current.count + " processes from " + file.getName());
+            }
+        }));
+    }
+    
     @FXML
     private void handleRunSimulation() {
         if (processes.isEmpty()) {
@@ -190,28 +315,30 @@ public class MainController implements Initializable {
         }
         
         try {
-            // Get selected algorithm
-            String selectedAlgorithm = algorithmCombo.getSelectionModel().getSelectedItem();
-            SchedulerType type = algorithmMap.get(selectedAlgorithm);
-            
-            // Create scheduler
-            Scheduler scheduler;
-            if (type == SchedulerType.ROUND_ROBIN) {
-                int quantum = quantumSpinner.getValue();
-                scheduler = SchedulerFactory.createScheduler(type, quantum);
-            } else {
-                scheduler = SchedulerFactory.createScheduler(type);
-            }
+            // Create scheduler for the selected algorithm
+            Scheduler scheduler = createSelectedScheduler();
             
             // Add processes to scheduler
             processes.forEach(p -> scheduler.addProcess(new Process(p)));
+            TimeSeriesMetrics metrics = TimeSeriesMetrics.forWorkload(processes, METRIC_WINDOWS);
+            scheduler.addSchedulingListener(metrics);
             
-            // Run simulation
-            List<String> ganttData = scheduler.execute();
+            // Run simulation, recording the schedule into a store the Gantt chart reads from
+            Path storeFile = Files.createTempFile("gantt", ".store");
+            storeFile.toFile().deleteOnExit();
+            if (scheduler instanceof AbstractScheduler) {
+                ((AbstractScheduler) scheduler).setGanttChartRecorded(false);
+            }
+            try (GanttStoreWriter gantt = new GanttStoreWriter(storeFile)) {
+                scheduler.addSchedulingListener(gantt);
+                scheduler.execute();
+            }
+            lastMetrics = metrics;
+            lastSchedulerName = scheduler.getName();
             
             // Update UI with results
             updateMetrics(scheduler);
-            drawGanttChart(ganttData);
+            showGanttStore(GanttStore.open(storeFile), storeFile);
             
             // Refresh table to show calculated values
             processTable.refresh();
@@ -222,11 +349,198 @@ public class MainController implements Initializable {
         }
     }
     
+    /**
+     * Checks whether the spinner holds a Round Robin time quantum rather than, say, the
+     * smoothing weight of a predictive policy.
+     * @return True if the spinner shows Round Robin's quantum.
+     */
+    private boolean isQuantumShown() {
+        return parameterProvider != null && parameterProvider.getName().equals("RR") && quantumSpinner.isVisible();
+    }
+    
+    private Scheduler createSelectedScheduler() {
+        String selectedAlgorithm = algorithmCombo.getSelectionModel().getSelectedItem();
+        SchedulerProvider provider = algorithmMap.get(selectedAlgorithm);
+        if (!provider.getParameters().isEmpty() && provider == parameterProvider) {
+            // The spinner sets the first parameter; any others keep their defaults
+            return SchedulerFactory.createScheduler(provider, quantumSpinner.getValue());
+        }
+        return SchedulerFactory.createScheduler(provider);
+    }
+    
+    @FXML
+    private void handleExport() {
+        if (processes.isEmpty()) {
+            showAlert("No Processes", "Please add at least one process to export.");
+            return;
+        }
+        
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Export Results");
+        File directory = chooser.showDialog(processTable.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+        ChoiceDialog<ExportFormat> formatDialog = new ChoiceDialog<>(ExportFormat.CSV, ExportFormat.values());
+        formatDialog.setTitle("Export Results");
+        formatDialog.setHeaderText("Choose the export format");
+        Optional<ExportFormat> format = formatDialog.showAndWait();
+        if (!format.isPresent()) {
+            return;
+        }
+        
+        // Re-run the selected algorithm off the UI thread with the exporters attached
+        Scheduler scheduler = createSelectedScheduler();
+        List<Process> workload = new ArrayList<>();
+        processes.forEach(p -> workload.add(new Process(p)));
+        String extension = format.get().getExtension();
+        TimeSeriesMetrics metrics = TimeSeriesMetrics.forWorkload(workload, METRIC_WINDOWS);
+        Path storeFile = directory.toPath().resolve("gantt.store");
+        if (scheduler instanceof AbstractScheduler) {
+            ((AbstractScheduler) scheduler).setGanttChartRecorded(false);
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                try (ProcessResultExporter results = new ProcessResultExporter(
+                         directory.toPath().resolve("processes." + extension), format.get());
+                     GanttStoreWriter gantt = new GanttStoreWriter(storeFile)) {
+                    scheduler.addSchedulingListener(results);
+                    scheduler.addSchedulingListener(gantt);
+                    scheduler.addSchedulingListener(metrics);
+                    workload.forEach(scheduler::addProcess);
+                    scheduler.execute();
+                }
+                // The Gantt chart file is read back from the store, which is kept for browsing later
+                try (GanttStore store = GanttStore.open(storeFile)) {
+                    store.export(directory.toPath().resolve("gantt." + extension), format.get());
+                }
+                TimeSeriesExporter.write(directory.toPath().resolve("metrics." + extension), format.get(), metrics);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((ignored, e) -> Platform.runLater(() -> {
+            if (e != null) {
+                showAlert("Export Error", "An error occurred during export: " + e.getMessage());
+            } else {
+                showAlert("Export Complete", "Results exported to " + directory.getAbsolutePath());
+            }
+        }));
+    }
+    
+    @FXML
+    private void handleTuneQuantum() {
+        if (processes.isEmpty()) {
+            showAlert("No Processes", "Please add at least one process to tune for.");
+            return;
+        }
+
+        Map<String, QuantumTuner.Objective> objectives = new LinkedHashMap<>();
+        objectives.put("Mean response time", QuantumTuner.Objective.meanResponse());
+        objectives.put("99th percentile turnaround time", QuantumTuner.Objective.p99Turnaround());
+        objectives.put("Balanced mix of both", QuantumTuner.Objective.weighted(0.5, 0.5));
+        ChoiceDialog<String> dialog = new ChoiceDialog<>("Mean response time", objectives.keySet());
+        dialog.setTitle("Tune Time Quantum");
+        dialog.setHeaderText("Choose what the time quantum should minimize");
+        Optional<String> choice = dialog.showAndWait();
+        if (!choice.isPresent()) {
+            return;
+        }
+
+        // Search within the spinner's range off the UI thread
+        QuantumTuner tuner = new QuantumTuner(new ArrayList<>(processes));
+        tuner.setObjective(objectives.get(choice.get()));
+        CompletableFuture.supplyAsync(() -> tuner.tune(MAX_PARAMETER_VALUE))
+            .whenComplete((best, e) -> Platform.runLater(() -> {
+                if (e != null) {
+                    showAlert("Tuning Error", "An error occurred while tuning: " + e.getMessage());
+                    return;
+                }
+                // The quantum belongs to Round Robin, not to whatever policy is selected
+                SchedulerFactory.findProvider("RR").ifPresent(
+                    rr -> algorithmCombo.getSelectionModel().select(rr.getDisplayName()));
+                quantumSpinner.getValueFactory().setValue(best.getQuantum());
+                showAlert("Tuning Complete", String.format(
+                    "Best time quantum: %d%nAverage response time: %.2f%n99th percentile turnaround time: %d",
+                    best.getQuantum(), best.getAverageResponseTime(), best.getP99TurnaroundTime()));
+            }));
+    }
+
+    @FXML
+    private void handleOpenGanttStore() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Open Gantt Store");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Gantt stores", "*.store"));
+        File file = chooser.showOpenDialog(processTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try {
+            showGanttStore(GanttStore.open(file.toPath()), null);
+        } catch (IOException e) {
+            showAlert("Open Error", "The Gantt store could not be opened: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    private void handleShowMetrics() {
+        if (lastMetrics == null) {
+            showAlert("No Results", "Run a simulation first to see its metrics over time.");
+            return;
+        }
+        new TimeSeriesChartView().show(lastSchedulerName, lastMetrics);
+    }
+
+    @FXML
+    private void handleCompareAll() {
+        if (processes.isEmpty()) {
+            showAlert("No Processes", "Please add at least one process to simulate.");
+            return;
+        }
+
+        // Ask which Round Robin quanta to include, defaulting around the spinner value if it is one
+        int quantum = isQuantumShown() ? quantumSpinner.getValue()
+            : SchedulerFactory.findProvider("RR").get().getParameters().get(0).getDefaultValue();
+        TextInputDialog dialog = new TextInputDialog(
+            String.format("%d, %d, %d", Math.max(1, quantum / 2), quantum, quantum * 2));
+        dialog.setTitle("Compare Algorithms");
+        dialog.setHeaderText("Round Robin time quanta to compare (comma separated)");
+        Optional<String> input = dialog.showAndWait();
+        if (!input.isPresent()) {
+            return;
+        }
+
+        List<Integer> quanta = new ArrayList<>();
+        try {
+            for (String part : input.get().split(",")) {
+                if (!part.trim().isEmpty()) {
+                    int value = Integer.parseInt(part.trim());
+                    if (value <= 0) {
+                        throw new NumberFormatException();
+                    }
+                    if (!quanta.contains(value)) {
+                        quanta.add(value);
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            showAlert("Invalid Quantum", "Time quanta must be whole numbers greater than 0.");
+            return;
+        }
+
+        new ComparisonView().show(processes, quanta);
+    }
+
     @FXML
     private void handleReset() {
-        // Clear all data
+        // Clear all data, dropping any rows an import has yet to deliver
+        if (processImport != null) {
+            processImport.cancelled = true;
+            processImport = null;
+        }
         processes.clear();
-        ganttChartContainer.getChildren().clear();
+        ganttChartView.clear();
+        closeGanttStore();
+        lastMetrics = null;
         
         // Reset labels
         avgWaitingTimeLabel.setText("-");
@@ -245,114 +559,100 @@ public class MainController implements Initializable {
         contextSwitchesLabel.setText(String.valueOf(scheduler.getContextSwitches()));
     }
     
-    private void drawGanttChart(List<String> ganttData) {
-        ganttChartContainer.getChildren().clear();
-        
-        if (ganttData == null || ganttData.isEmpty()) {
-            ganttChartContainer.getChildren().add(new Label("No Gantt chart data available"));
-            return;
+    /**
+     * Displays a Gantt store, closing the one shown before.
+     * @param store The store to display.
+     * @param temporaryFile The store's file if it should be deleted once replaced, or null.
+     */
+    private void showGanttStore(GanttStore store, Path temporaryFile) {
+        ganttChartView.setGanttStore(store);
+        closeGanttStore();
+        ganttStore = store;
+        temporaryStoreFile = temporaryFile;
+    }
+
+    private void closeGanttStore() {
+        try {
+            if (ganttStore != null) {
+                ganttStore.close();
+            }
+            if (temporaryStoreFile != null) {
+                Files.deleteIfExists(temporaryStoreFile);
+            }
+        } catch (IOException e) {
+            // The file may still be mapped; a temporary one is deleted when the application exits
+            if (temporaryStoreFile != null) {
+                temporaryStoreFile.toFile().deleteOnExit();
+            }
         }
-        
-        double x = 10;
-        double y = 20;
-        double height = 40;
-        double widthPerTimeUnit = 40;
-        
-        // Draw timeline
-        double maxTime = 0;
-        for (String entry : ganttData) {
-            String[] parts = entry.split(":");
-            if (parts.length < 2) continue;
-            
-            String timeRange = parts[0].replace("Time ", "").trim();
-            String[] times = timeRange.split("-");
-            if (times.length != 2) continue;
-            
-            try {
-                double endTime = Double.parseDouble(times[1]);
-                maxTime = Math.max(maxTime, endTime);
-            } catch (NumberFormatException e) {
-                // Skip invalid entries
+        ganttStore = null;
+        temporaryStoreFile = null;
+    }
+    
+    /**
+     * Receives the processes of a file import on a background thread and hands them to the
+     * table in batches. Each batch reaches the list in a single change, and batches that
+     * pile up while the UI thread is busy are merged, so the table is updated at most once
+     * per pulse however fast the file is read.
+     */
+    private final class ProcessImport implements Consumer<Process> {
+        private final int firstId;
+        private final Queue<List<Process>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private List<Process> batch = new ArrayList<>();
+        private long lastFlush = System.nanoTime();
+        private volatile int count;
+        private volatile boolean cancelled;
+
+        ProcessImport(int firstId) {
+            this.firstId = firstId;
+        }
+
+        @Override
+        public void accept(Process process) {
+            if (cancelled) {
+                // Stops the reader; the import was reset
+                throw new CancellationException();
+            }
+            // Number the rows after those already in the table
+            batch.add(renumber(process, firstId + count));
+            count++;
+            if (batch.size() >= IMPORT_BATCH_SIZE
+                    || (batch.size() % 256 == 0 && System.nanoTime() - lastFlush >= IMPORT_FLUSH_NANOS)) {
+                flush();
             }
         }
-        
-        // Draw Gantt chart
-        for (String entry : ganttData) {
-            String[] parts = entry.split(":");
-            if (parts.length < 2) continue;
-            
-            String timeRange = parts[0].replace("Time ", "").trim();
-            String processName = parts[1].trim();
-            
-            String[] times = timeRange.split("-");
-            if (times.length != 2) continue;
-            
-            try {
-                double startTime = Double.parseDouble(times[0]);
-                double endTime = Double.parseDouble(times[1]);
-                double duration = endTime - startTime;
-                
-                // Draw process bar
-                Rectangle bar = new Rectangle(
-                    x + startTime * widthPerTimeUnit,
-                    y,
-                    duration * widthPerTimeUnit,
-                    height
-                );
-                
-                // Set color based on process name
-                if (processName.equals("Idle")) {
-                    bar.setFill(Color.LIGHTGRAY);
-                } else {
-                    // Generate a consistent color based on process name
-                    int hash = processName.hashCode();
-                    Color color = Color.hsb(Math.abs(hash) % 360, 0.7, 0.9);
-                    bar.setFill(color);
-                }
-                
-                bar.setStroke(Color.BLACK);
-                bar.setArcWidth(5);
-                bar.setArcHeight(5);
-                
-                // Add tooltip
-                Tooltip tooltip = new Tooltip(String.format("%s\nTime: %.1f - %.1f\nDuration: %.1f", 
-                    processName, startTime, endTime, duration));
-                Tooltip.install(bar, tooltip);
-                
-                // Add bar to chart
-                ganttChartContainer.getChildren().add(bar);
-                
-                // Add process name label
-                Text label = new Text(processName);
-                label.setX(x + startTime * widthPerTimeUnit + 5);
-                label.setY(y + height / 2 + 5);
-                label.setStyle("-fx-font-weight: bold;");
-                ganttChartContainer.getChildren().add(label);
-                
-                // Add time markers
-                Text startLabel = new Text(String.format("%.1f", startTime));
-                startLabel.setX(x + startTime * widthPerTimeUnit);
-                startLabel.setY(y + height + 15);
-                ganttChartContainer.getChildren().add(startLabel);
-                
-                // Add end time marker for the last process
-                if (entry.equals(ganttData.get(ganttData.size() - 1))) {
-                    Text endLabel = new Text(String.format("%.1f", endTime));
-                    endLabel.setX(x + endTime * widthPerTimeUnit - 15);
-                    endLabel.setY(y + height + 15);
-                    ganttChartContainer.getChildren().add(endLabel);
-                }
-                
-            } catch (NumberFormatException e) {
-                // Skip invalid entries
+
+        /**
+         * Hands the rows read so far to the UI thread.
+         */
+        void flush() {
+            if (!batch.isEmpty()) {
+                pending.add(batch);
+                batch = new ArrayList<>();
+            }
+            lastFlush = System.nanoTime();
+            if (!pending.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::drain);
             }
         }
-        
-        // Add axis labels
-        Text xAxisLabel = new Text("Time");
-        xAxisLabel.setX(10);
-        xAxisLabel.setY(y + height + 35);
-        ganttChartContainer.getChildren().add(xAxisLabel);
+
+        private void drain() {
+            drainScheduled.set(false);
+            List<Process> rows = new ArrayList<>();
+            for (List<Process> next; (next = pending.poll()) != null; ) {
+                rows.addAll(next);
+            }
+            if (!cancelled) {
+                processes.addAll(rows);
+            }
+        }
+    }
+
+    private static Process renumber(Process process, int id) {
+        return process.getBursts() != null
+            ? new Process(id, process.getName(), process.getArrivalTime(), process.getBursts(), process.getPriority())
+            : new Process(id, process.getName(), process.getArrivalTime(), process.getBurstTime(), process.getPriority());
     }
     
     private void showAlert(String title, String message) {
@@ -0,0 +1,403 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+
+/**
+ * Runs any single-queue policy on several cores that may differ in speed.
+ *
+ * The policy orders one shared ready queue; whenever a core is idle, the process at the head
+ * of the queue is placed on an idle core chosen by a {@link Placement} heuristic. Work is
+ * measured in time units on a core of speed 1, so a slice of w units takes ceil(w / speed)
+ * time units, plus any penalty from the {@link CacheModel}. Time quanta are likewise given in
+ * work units. With one core of speed 1 and no cache penalties, the schedule matches the
+ * policy's own.
+ *
+ * Gantt entries have the form "Time start-end: name (core k)".
+ */
+public class MultiCoreScheduler implements Scheduler {
+
+    /**
+     * How a dispatched process picks among the idle cores.
+     */
+    public enum Placement {
+        /** The idle core with the lowest number, ignoring speed and affinity. */
+        FIRST_IDLE,
+        /** The fastest idle core. */
+        FASTEST,
+        /** The core the process last ran on if it is idle, otherwise the fastest idle core. */
+        AFFINITY,
+        /** The idle core where the slice would finish first, counting the cache penalty. */
+        LEAST_COST
+    }
+
+    /**
+     * Placement statistics of a run.
+     */
+    public static final class PlacementStats {
+        private final int resumes;
+        private final int migrations;
+        private final int affinityHits;
+        private final long penaltyTime;
+        private final int makespan;
+        private final int makespanWithoutPenalties;
+
+        PlacementStats(int resumes, int migrations, int affinityHits, long penaltyTime, int makespan,
+                       int makespanWithoutPenalties) {
+            this.resumes = resumes;
+            this.migrations = migrations;
+            this.affinityHits = affinityHits;
+            this.penaltyTime = penaltyTime;
+            this.makespan = makespan;
+            this.makespanWithoutPenalties = makespanWithoutPenalties;
+        }
+
+        /**
+         * Gets the number of slices that continued a process that had run before.
+         * @return The number of resumes.
+         */
+        public int getResumes() {
+            return resumes;
+        }
+
+        public int getMigrations() {
+            return migrations;
+        }
+
+        public int getAffinityHits() {
+            return affinityHits;
+        }
+
+        /**
+         * Gets the fraction of resumes that stayed on the same core.
+         * @return The hit rate, or 1 if no process resumed.
+         */
+        public double getAffinityHitRate() {
+            return resumes == 0 ? 1 : (double) affinityHits / resumes;
+        }
+
+        /**
+         * Gets the total core time lost to cache penalties.
+         * @return The penalty time.
+         */
+        public long getPenaltyTime() {
+            return penaltyTime;
+        }
+
+        public int getMakespan() {
+            return makespan;
+        }
+
+        /**
+         * Gets the makespan of the same run with cache penalties switched off.
+         * @return The makespan without penalties.
+         */
+        public int getMakespanWithoutPenalties() {
+            return makespanWithoutPenalties;
+        }
+
+        /**
+         * Gets how much the cache penalties of the placement decisions lengthened the run.
+         * @return The makespan difference.
+         */
+        public int getMakespanImpact() {
+            return makespan - makespanWithoutPenalties;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "resumes=%d migrations=%d affinityHits=%d hitRate=%.4f penaltyTime=%d makespan=%d "
+                            + "makespanWithoutPenalties=%d impact=%d",
+                    resumes, migrations, affinityHits, getAffinityHitRate(), penaltyTime, makespan,
+                    makespanWithoutPenalties, getMakespanImpact());
+        }
+    }
+
+    private final String policySpec;
+    private final AbstractScheduler policy;
+    private final double[] speeds;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<SchedulingListener> listeners = new ArrayList<>();
+    private Placement placement = Placement.AFFINITY;
+    private CacheModel cacheModel = CacheModel.NONE;
+
+    private final List<String> ganttChart = new ArrayList<>();
+    private double averageWaitingTime;
+    private double averageTurnaroundTime;
+    private double averageResponseTime;
+    private int contextSwitches;
+    private int resumes;
+    private int migrations;
+    private int affinityHits;
+    private long penaltyTime;
+    private int makespan;
+    private PlacementStats stats;
+
+    /**
+     * Creates a multi-core scheduler.
+     * @param policySpec The policy that orders the shared ready queue, such as "SJF" or "RR:4".
+     * @param speeds The speed factor of each core; 1 is nominal, 0.5 takes twice as long.
+     */
+    public MultiCoreScheduler(String policySpec, double... speeds) {
+        Scheduler scheduler = SchedulerFactory.createScheduler(policySpec);
+        if (!(scheduler instanceof AbstractScheduler) || scheduler instanceof GroupScheduler
+                || scheduler instanceof PredictiveSJFScheduler) {
+            throw new IllegalArgumentException("Cannot be run on multiple cores: " + policySpec);
+        }
+        if (speeds.length == 0) {
+            throw new IllegalArgumentException("At least one core is required");
+        }
+        for (double speed : speeds) {
+            if (!(speed > 0) || Double.isInfinite(speed)) {
+                throw new IllegalArgumentException("Core speeds must be positive: " + speed);
+            }
+        }
+        this.policySpec = policySpec;
+        this.policy = (AbstractScheduler) scheduler;
+        this.speeds = speeds.clone();
+    }
+
+    public void setPlacement(Placement placement) {
+        this.placement = Objects.requireNonNull(placement);
+    }
+
+    public void setCacheModel(CacheModel cacheModel) {
+        this.cacheModel = Objects.requireNonNull(cacheModel);
+    }
+
+    @Override
+    public void addProcess(Process process) {
+        if (process.hasIoBursts()) {
+            throw new IllegalArgumentException("I/O bursts are only simulated on a single CPU: " + process.getName());
+        }
+        processes.add(process);
+    }
+
+    @Override
+    public void addSchedulingListener(SchedulingListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeSchedulingListener(SchedulingListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String getName() {
+        return String.format(Locale.ROOT, "%s on %d cores (%s)", policy.getName(), speeds.length, placement);
+    }
+
+    @Override
+    public List<String> execute() {
+        stats = null;
+        simulate(processes, cacheModel, true);
+        return ganttChart;
+    }
+
+    /**
+     * Gets the placement statistics of the last run. The first call after a run with cache
+     * penalties simulates the workload once more without them to measure their impact.
+     * @return The statistics.
+     */
+    public PlacementStats getPlacementStats() {
+        if (stats == null) {
+            int withoutPenalties = makespan;
+            if (cacheModel != CacheModel.NONE) {
+                MultiCoreScheduler baseline = new MultiCoreScheduler(policySpec, speeds);
+                baseline.setPlacement(placement);
+                for (Process p : processes) {
+                    baseline.addProcess(new Process(p));
+                }
+                baseline.simulate(baseline.processes, CacheModel.NONE, false);
+                withoutPenalties = baseline.makespan;
+            }
+            stats = new PlacementStats(resumes, migrations, affinityHits, penaltyTime, makespan, withoutPenalties);
+        }
+        return stats;
+    }
+
+    private void simulate(List<Process> workload, CacheModel cache, boolean record) {
+        List<Process> jobs = new ArrayList<>(workload);
+        jobs.sort(Comparator.comparingInt(Process::getArrivalTime));
+        int n = jobs.size();
+        for (int i = 0; i < n; i++) {
+            jobs.get(i).reset();
+            jobs.get(i).setSequenceNumber(i);
+        }
+        ganttChart.clear();
+        contextSwitches = 0;
+        resumes = 0;
+        migrations = 0;
+        affinityHits = 0;
+        penaltyTime = 0;
+        makespan = 0;
+
+        int cores = speeds.length;
+        int[] lastCore = new int[n];
+        int[] lastRun = new int[n];
+        Arrays.fill(lastCore, -1);
+        Process[] running = new Process[cores];
+        int[] sliceEnd = new int[cores];
+        int[] previous = new int[cores];
+        Arrays.fill(previous, -1);
+        PriorityQueue<Integer> busy = new PriorityQueue<>(
+                Comparator.<Integer>comparingInt(c -> sliceEnd[c]).thenComparingInt(c -> c));
+        int idle = cores;
+
+        Queue<Process> ready = policy.createReadyQueue();
+        long totalWaiting = 0;
+        long totalTurnaround = 0;
+        long totalResponse = 0;
+        int completed = 0;
+        int nextArrival = 0;
+        int time = 0;
+
+        while (completed < n) {
+            while (nextArrival < n && jobs.get(nextArrival).getArrivalTime() <= time) {
+                Process p = jobs.get(nextArrival++);
+                ready.add(p);
+                for (SchedulingListener listener : listeners) {
+                    listener.onArrival(p, p.getArrivalTime());
+                }
+            }
+
+            // Slices ending now: retire or requeue their processes
+            while (!busy.isEmpty() && sliceEnd[busy.peek()] <= time) {
+                int core = busy.poll();
+                Process p = running[core];
+                running[core] = null;
+                idle++;
+                lastRun[(int) p.getSequenceNumber()] = time;
+                if (p.isCompleted()) {
+                    completed++;
+                    totalWaiting += p.getWaitingTime();
+                    totalTurnaround += p.getTurnaroundTime();
+                    totalResponse += p.getResponseTime();
+                    makespan = Math.max(makespan, time);
+                    for (SchedulingListener listener : listeners) {
+                        listener.onCompletion(p, time);
+                    }
+                } else {
+                    for (SchedulingListener listener : listeners) {
+                        listener.onPreemption(p, time);
+                    }
+                    ready.add(p);
+                }
+            }
+
+            while (idle > 0 && !ready.isEmpty()) {
+                Process p = ready.poll();
+                int job = (int) p.getSequenceNumber();
+                int work = policy.getTimeSlice(p);
+                int core = place(job, work, running, lastCore, lastRun, cache, time);
+
+                int penalty = cache.penalty(lastCore[job], core, lastRun[job], time);
+                if (lastCore[job] >= 0) {
+                    resumes++;
+                    if (lastCore[job] == core) {
+                        affinityHits++;
+                    } else {
+                        migrations++;
+                    }
+                }
+                if (previous[core] >= 0 && previous[core] != job) {
+                    contextSwitches++;
+                }
+                for (SchedulingListener listener : listeners) {
+                    listener.onDispatch(p, time, ready.size());
+                }
+
+                p.execute(work, time);
+                int end = time + penalty + duration(work, core);
+                if (p.isCompleted()) {
+                    p.setCompletionTime(end);
+                }
+                if (record) {
+                    ganttChart.add(String.format("Time %d-%d: %s (core %d)", time, end, p.getName(), core));
+                }
+                penaltyTime += penalty;
+                lastCore[job] = core;
+                previous[core] = job;
+                running[core] = p;
+                sliceEnd[core] = end;
+                busy.add(core);
+                idle--;
+            }
+
+            // Skip ahead to the next arrival or slice end
+            int next = nextArrival < n ? jobs.get(nextArrival).getArrivalTime() : Integer.MAX_VALUE;
+            if (!busy.isEmpty()) {
+                next = Math.min(next, sliceEnd[busy.peek()]);
+            }
+            if (next == Integer.MAX_VALUE) {
+                break;
+            }
+            time = Math.max(time, next);
+        }
+
+        averageWaitingTime = n == 0 ? 0 : (double) totalWaiting / n;
+        averageTurnaroundTime = n == 0 ? 0 : (double) totalTurnaround / n;
+        averageResponseTime = n == 0 ? 0 : (double) totalResponse / n;
+    }
+
+    private int duration(int work, int core) {
+        return (int) Math.ceil(work / speeds[core]);
+    }
+
+    private int place(int job, int work, Process[] running, int[] lastCore, int[] lastRun, CacheModel cache,
+                      int time) {
+        if (placement == Placement.AFFINITY && lastCore[job] >= 0 && running[lastCore[job]] == null) {
+            return lastCore[job];
+        }
+        int best = -1;
+        long bestCost = Long.MAX_VALUE;
+        for (int core = 0; core < running.length; core++) {
+            if (running[core] != null) {
+                continue;
+            }
+            long cost;
+            switch (placement) {
+                case FIRST_IDLE:
+                    return core;
+                case LEAST_COST:
+                    cost = (long) cache.penalty(lastCore[job], core, lastRun[job], time) + duration(work, core);
+                    break;
+                default:
+                    // Fastest idle core; ties go to the lowest-numbered core
+                    cost = -(long) (speeds[core] * 1_000_000);
+                    break;
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = core;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public double getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    @Override
+    public double getAverageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    @Override
+    public double getAverageResponseTime() {
+        return averageResponseTime;
+    }
+
+    /**
+     * Gets the number of times a core switched to a different process.
+     * @return The number of context switches.
+     */
+    @Override
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+}
@@ -0,0 +1,163 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reference points for the average turnaround time of a workload, so the result of a policy
+ * can be reported as a gap from the best possible one.
+ *
+ * On a single CPU, preemptive shortest remaining processing time first (SRPT) minimizes the
+ * mean flow time, which is the average turnaround time, so its value is the exact optimum
+ * that no policy can beat. On several cores no efficient exact method is known; instead the
+ * bound is the larger of two relaxations: SRPT on one core as fast as all cores together,
+ * and every process running alone on the fastest core from its arrival.
+ *
+ * Only the arrival and burst times are read, so a baseline costs one sort and a heap pass
+ * over the workload, no more than running the cheapest policy. Processes with I/O bursts
+ * are rejected, because device queues are outside these bounds.
+ */
+public final class OptimalityBaseline {
+
+    private OptimalityBaseline() {
+    }
+
+    /**
+     * Checks whether a workload has a baseline, which it has unless a process does I/O.
+     * @param workload The processes.
+     * @return True if the baselines can be computed for the workload.
+     */
+    public static boolean hasBaseline(List<Process> workload) {
+        for (Process p : workload) {
+            if (p.hasIoBursts()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the optimal average turnaround time on a single CPU.
+     * @param workload The processes.
+     * @return The average turnaround time of SRPT.
+     */
+    public static double optimalAverageTurnaroundTime(List<Process> workload) {
+        return lowerBoundAverageTurnaroundTime(workload, 1.0);
+    }
+
+    /**
+     * Computes a lower bound on the average turnaround time on cores of the given speeds,
+     * measured like {@link MultiCoreScheduler}. For a single core it is the exact optimum.
+     * @param workload The processes.
+     * @param speeds The speed factor of each core.
+     * @return The lower bound.
+     */
+    public static double lowerBoundAverageTurnaroundTime(List<Process> workload, double... speeds) {
+        if (workload.isEmpty()) {
+            throw new IllegalArgumentException("The workload is empty");
+        }
+        if (speeds.length == 0) {
+            throw new IllegalArgumentException("At least one core is required");
+        }
+        double totalSpeed = 0;
+        double fastest = 0;
+        for (double speed : speeds) {
+            if (!(speed > 0) || Double.isInfinite(speed)) {
+                throw new IllegalArgumentException("Core speeds must be positive: " + speed);
+            }
+            totalSpeed += speed;
+            fastest = Math.max(fastest, speed);
+        }
+
+        // Pack each process into one long so a primitive sort orders them by arrival
+        long[] jobs = new long[workload.size()];
+        double totalWork = 0;
+        for (int i = 0; i < jobs.length; i++) {
+            Process p = workload.get(i);
+            if (p.hasIoBursts()) {
+                throw new IllegalArgumentException("No baseline for processes with I/O bursts: " + p.getName());
+            }
+            jobs[i] = (long) p.getArrivalTime() << 32 | p.getBurstTime();
+            totalWork += p.getBurstTime();
+        }
+        Arrays.sort(jobs);
+
+        double totalFlow = srptTotalFlowTime(jobs, totalSpeed);
+        if (speeds.length > 1) {
+            totalFlow = Math.max(totalFlow, totalWork / fastest);
+        }
+        return totalFlow / jobs.length;
+    }
+
+    /**
+     * Gets how far an average turnaround time is above a baseline.
+     * @param averageTurnaroundTime The average turnaround time of a run.
+     * @param baseline The optimum or lower bound for the same workload.
+     * @return The relative gap, 0 at the optimum; NaN if the baseline is not known.
+     */
+    public static double gap(double averageTurnaroundTime, double baseline) {
+        return baseline > 0 ? averageTurnaroundTime / baseline - 1 : Double.NaN;
+    }
+
+    /**
+     * Runs SRPT on one core. Only remaining work is kept in the heap, since the total flow
+     * time is the sum of completion times minus the sum of arrival times whichever process
+     * completes when; with integer times and speed 1 every value stays an exact integer.
+     * @param jobs The processes as arrival &lt;&lt; 32 | burst, sorted.
+     * @param speed The speed of the core.
+     * @return The total flow time.
+     */
+    private static double srptTotalFlowTime(long[] jobs, double speed) {
+        double[] heap = new double[jobs.length];
+        int size = 0;
+        int next = 0;
+        double time = 0;
+        double totalCompletion = 0;
+        double totalArrival = 0;
+        while (next < jobs.length || size > 0) {
+            if (size == 0) {
+                time = Math.max(time, jobs[next] >>> 32);
+            }
+            while (next < jobs.length && (jobs[next] >>> 32) <= time) {
+                totalArrival += jobs[next] >>> 32;
+                // Sift up the new remaining work
+                double work = (int) jobs[next];
+                int child = size++;
+                while (child > 0 && heap[(child - 1) >>> 1] > work) {
+                    heap[child] = heap[(child - 1) >>> 1];
+                    child = (child - 1) >>> 1;
+                }
+                heap[child] = work;
+                next++;
+            }
+
+            double nextArrival = next < jobs.length ? jobs[next] >>> 32 : Double.POSITIVE_INFINITY;
+            double finish = time + heap[0] / speed;
+            if (finish > nextArrival) {
+                // Preempted by the next arrival; shrinking the minimum keeps it the minimum
+                heap[0] -= (nextArrival - time) * speed;
+                time = nextArrival;
+                continue;
+            }
+            time = finish;
+            totalCompletion += time;
+
+            // Remove the minimum and sift the last element down
+            double last = heap[--size];
+            int parent = 0;
+            for (int child = 1; child < size; child = 2 * parent + 1) {
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[parent] = heap[child];
+                parent = child;
+            }
+            heap[parent] = last;
+        }
+        return totalCompletion - totalArrival;
+    }
+}
@@ -0,0 +1,646 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Runs a single-queue policy on many cores with a run queue per core, as operating system
+ * kernels do, and simulates the cores in parallel on several threads.
+ *
+ * Each core orders its own ready queue with its own instance of the policy and runs slices
+ * like {@link MultiCoreScheduler}: a slice of w work units takes ceil(w / speed) time units
+ * plus any {@link CacheModel} penalty. Cores only interact at balancing ticks, every
+ * balance interval time units. At each tick, new processes arriving before the next tick are
+ * placed on the cores with the least load per unit of speed. Then processes are moved from
+ * the ready queue of the most loaded core to the least loaded one while that evens out the
+ * load. Load is the number of processes on a core, running or ready.
+ *
+ * Because nothing crosses between cores from one tick to the next, the interval is a
+ * lookahead that needs no rollback. The engine advances every core to the next tick, waits
+ * for all of them at a barrier, balances, and repeats. Stretches of time without events are
+ * skipped. Cores are split across threads in fixed contiguous blocks. Each core's slice of a
+ * window runs the same code on the same state whichever thread runs it. Listener events and
+ * Gantt entries are buffered per core and replayed at the barrier in time order, with ties
+ * in core order. The results are therefore bit-identical for any number of threads,
+ * including the sequential run on one thread.
+ *
+ * Gantt entries have the form "Time start-end: name (core k)".
+ */
+public class PartitionedMultiCoreScheduler implements Scheduler {
+    /** The default interval between balancing ticks. */
+    public static final int DEFAULT_BALANCE_INTERVAL = 100;
+
+    // Windows with fewer known events are cheaper to run on one thread than to hand out
+    private static final int MIN_PARALLEL_EVENTS = 256;
+
+    // Where one more process weighs least, the lowest-numbered core on ties
+    private static final Comparator<Core> BY_WEIGHT = Comparator.<Core>comparingDouble(c -> c.weight(1))
+            .thenComparingInt(c -> c.index);
+
+    private final String policySpec;
+    private final String policyName;
+    private final double[] speeds;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<SchedulingListener> listeners = new ArrayList<>();
+    private CacheModel cacheModel = CacheModel.NONE;
+    private int balanceInterval = DEFAULT_BALANCE_INTERVAL;
+    private int threads;
+    private boolean ganttChartRecorded = true;
+
+    private final List<String> ganttChart = new ArrayList<>();
+    private double averageWaitingTime;
+    private double averageTurnaroundTime;
+    private double averageResponseTime;
+    private int contextSwitches;
+    private int migrations;
+    private int balanceMoves;
+    private long penaltyTime;
+    private int makespan;
+    private long windows;
+
+    // State of the run in progress, shared with the worker threads
+    private Core[] cores;
+    private List<Process> jobs;
+    private int[] lastCore;
+    private int[] lastRun;
+    private int nextArrival;
+    private long windowStart;
+    private long windowEnd;
+    // Arrivals and slice ends known at the start of the window, a lower bound on its work
+    private int windowEvents;
+    private boolean buffered;
+
+    /**
+     * Something that happened on a core during a window, replayed to listeners and the Gantt
+     * chart once the window is over.
+     */
+    private static final class Event {
+        static final int ARRIVAL = 0;
+        static final int DISPATCH = 1;
+        static final int PREEMPTION = 2;
+        static final int COMPLETION = 3;
+
+        final int kind;
+        final int time;
+        final Process process;
+        final int readyQueueLength;
+        final String ganttEntry;
+
+        Event(int kind, int time, Process process, int readyQueueLength, String ganttEntry) {
+            this.kind = kind;
+            this.time = time;
+            this.process = process;
+            this.readyQueueLength = readyQueueLength;
+            this.ganttEntry = ganttEntry;
+        }
+    }
+
+    /**
+     * A simulated core: its policy and run queue, the arrivals placed on it for the current
+     * window, and its share of the statistics.
+     */
+    private final class Core {
+        final int index;
+        final double speed;
+        final AbstractScheduler policy;
+        final Queue<Process> ready;
+        final List<Process> arrivals = new ArrayList<>();
+        final List<Event> events = new ArrayList<>();
+        Process running;
+        int sliceEnd;
+        int previous = -1;
+
+        int completed;
+        long totalWaiting;
+        long totalTurnaround;
+        long totalResponse;
+        int contextSwitches;
+        int migrations;
+        long penaltyTime;
+        int makespan;
+
+        Core(int index, double speed) {
+            this.index = index;
+            this.speed = speed;
+            this.policy = (AbstractScheduler) SchedulerFactory.createScheduler(policySpec);
+            this.ready = policy.createReadyQueue();
+        }
+
+        int load() {
+            return ready.size() + arrivals.size() + (running != null ? 1 : 0);
+        }
+
+        /**
+         * Gets the load per unit of speed the core would have with some more processes.
+         */
+        double weight(int extra) {
+            return (load() + extra) / speed;
+        }
+
+        /**
+         * Gets the time of the next event on this core.
+         * @return The time the running slice ends, 0 if the core is idle with processes ready,
+         *         which only the balancer leaves it, or Integer.MAX_VALUE if it has nothing to do.
+         */
+        int nextEventTime() {
+            if (running != null) {
+                return sliceEnd;
+            }
+            return ready.isEmpty() ? Integer.MAX_VALUE : 0;
+        }
+
+        /**
+         * Simulates the core from the start of the window up to, not including, its end.
+         * Within one time unit arrivals are queued first, then the ending slice is retired,
+         * then the core dispatches, as in {@link MultiCoreScheduler}.
+         */
+        void run(long start, long end) {
+            int time = (int) start;
+            int arrival = 0;
+            while (true) {
+                while (arrival < arrivals.size() && arrivals.get(arrival).getArrivalTime() <= time) {
+                    Process p = arrivals.get(arrival++);
+                    ready.add(p);
+                    if (buffered) {
+                        events.add(new Event(Event.ARRIVAL, p.getArrivalTime(), p, 0, null));
+                    }
+                }
+                if (running != null && sliceEnd <= time) {
+                    retire(time);
+                }
+                if (running == null && !ready.isEmpty()) {
+                    dispatch(time);
+                }
+
+                long next = arrival < arrivals.size() ? arrivals.get(arrival).getArrivalTime() : Long.MAX_VALUE;
+                if (running != null) {
+                    next = Math.min(next, sliceEnd);
+                }
+                if (next >= end) {
+                    break;
+                }
+                time = (int) next;
+            }
+            arrivals.clear();
+        }
+
+        private void retire(int time) {
+            Process p = running;
+            running = null;
+            lastRun[(int) p.getSequenceNumber()] = time;
+            if (p.isCompleted()) {
+                completed++;
+                totalWaiting += p.getWaitingTime();
+                totalTurnaround += p.getTurnaroundTime();
+                totalResponse += p.getResponseTime();
+                makespan = Math.max(makespan, time);
+                if (buffered) {
+                    events.add(new Event(Event.COMPLETION, time, p, 0, null));
+                }
+            } else {
+                if (buffered) {
+                    events.add(new Event(Event.PREEMPTION, time, p, 0, null));
+                }
+                ready.add(p);
+            }
+        }
+
+        private void dispatch(int time) {
+            Process p = ready.poll();
+            int job = (int) p.getSequenceNumber();
+            int work = policy.getTimeSlice(p);
+            int penalty = cacheModel.penalty(lastCore[job], index, lastRun[job], time);
+            if (lastCore[job] >= 0 && lastCore[job] != index) {
+                migrations++;
+            }
+            if (previous >= 0 && previous != job) {
+                contextSwitches++;
+            }
+
+            p.execute(work, time);
+            int end = time + penalty + (int) Math.ceil(work / speed);
+            if (p.isCompleted()) {
+                p.setCompletionTime(end);
+            }
+            if (buffered) {
+                String entry = ganttChartRecorded
+                        ? String.format("Time %d-%d: %s (core %d)", time, end, p.getName(), index) : null;
+                events.add(new Event(Event.DISPATCH, time, p, ready.size(), entry));
+            }
+            penaltyTime += penalty;
+            lastCore[job] = index;
+            previous = job;
+            running = p;
+            sliceEnd = end;
+        }
+    }
+
+    /**
+     * Creates a partitioned multi-core scheduler.
+     * @param policySpec The policy that orders each core's ready queue, such as "SJF" or "RR:4".
+     * @param speeds The speed factor of each core; 1 is nominal, 0.5 takes twice as long.
+     */
+    public PartitionedMultiCoreScheduler(String policySpec, double... speeds) {
+        Scheduler scheduler = SchedulerFactory.createScheduler(policySpec);
+        if (!(scheduler instanceof AbstractScheduler) || scheduler instanceof GroupScheduler
+                || scheduler instanceof PredictiveSJFScheduler) {
+            throw new IllegalArgumentException("Cannot be run on multiple cores: " + policySpec);
+        }
+        if (speeds.length == 0) {
+            throw new IllegalArgumentException("At least one core is required");
+        }
+        for (double speed : speeds) {
+            if (!(speed > 0) || Double.isInfinite(speed)) {
+                throw new IllegalArgumentException("Core speeds must be positive: " + speed);
+            }
+        }
+        this.policySpec = policySpec;
+        this.policyName = scheduler.getName();
+        this.speeds = speeds.clone();
+        this.threads = Math.min(speeds.length, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void setCacheModel(CacheModel cacheModel) {
+        this.cacheModel = Objects.requireNonNull(cacheModel);
+    }
+
+    /**
+     * Sets how often the cores are balanced, which is also how far the cores run
+     * independently. Longer intervals synchronize less often but balance less promptly.
+     * @param balanceInterval The interval in time units, at least 1.
+     */
+    public void setBalanceInterval(int balanceInterval) {
+        if (balanceInterval <= 0) {
+            throw new IllegalArgumentException("Balance interval must be greater than 0");
+        }
+        this.balanceInterval = balanceInterval;
+    }
+
+    public int getBalanceInterval() {
+        return balanceInterval;
+    }
+
+    /**
+     * Sets the number of threads the cores are simulated on. The results do not depend on it.
+     * @param threads The number of threads; 1 runs every core on the calling thread.
+     */
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0");
+        }
+        this.threads = threads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets whether execute() builds the Gantt chart in memory, which takes a string per slice.
+     * @param ganttChartRecorded false to skip the in-memory Gantt chart.
+     */
+    public void setGanttChartRecorded(boolean ganttChartRecorded) {
+        this.ganttChartRecorded = ganttChartRecorded;
+    }
+
+    @Override
+    public void addProcess(Process process) {
+        if (process.hasIoBursts()) {
+            throw new IllegalArgumentException("I/O bursts are only simulated on a single CPU: " + process.getName());
+        }
+        processes.add(process);
+    }
+
+    @Override
+    public void addSchedulingListener(SchedulingListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeSchedulingListener(SchedulingListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String getName() {
+        return String.format(Locale.ROOT, "%s on %d cores (partitioned, balanced every %d)",
+                policyName, speeds.length, balanceInterval);
+    }
+
+    @Override
+    public List<String> execute() {
+        jobs = new ArrayList<>(processes);
+        jobs.sort(Comparator.comparingInt(Process::getArrivalTime));
+        int n = jobs.size();
+        for (int i = 0; i < n; i++) {
+            jobs.get(i).reset();
+            jobs.get(i).setSequenceNumber(i);
+        }
+        lastCore = new int[n];
+        lastRun = new int[n];
+        Arrays.fill(lastCore, -1);
+        cores = new Core[speeds.length];
+        for (int i = 0; i < cores.length; i++) {
+            cores[i] = new Core(i, speeds[i]);
+        }
+        ganttChart.clear();
+        buffered = ganttChartRecorded || !listeners.isEmpty();
+        nextArrival = 0;
+        windowStart = 0;
+        windowEnd = 0;
+        windows = 0;
+        balanceMoves = 0;
+
+        int workers = Math.min(threads, cores.length);
+        if (workers == 1) {
+            while (nextWindow()) {
+                for (Core core : cores) {
+                    core.run(windowStart, windowEnd);
+                }
+            }
+        } else {
+            runInParallel(workers);
+        }
+
+        long totalWaiting = 0;
+        long totalTurnaround = 0;
+        long totalResponse = 0;
+        contextSwitches = 0;
+        migrations = 0;
+        penaltyTime = 0;
+        makespan = 0;
+        for (Core core : cores) {
+            totalWaiting += core.totalWaiting;
+            totalTurnaround += core.totalTurnaround;
+            totalResponse += core.totalResponse;
+            contextSwitches += core.contextSwitches;
+            migrations += core.migrations;
+            penaltyTime += core.penaltyTime;
+            makespan = Math.max(makespan, core.makespan);
+        }
+        averageWaitingTime = n == 0 ? 0 : (double) totalWaiting / n;
+        averageTurnaroundTime = n == 0 ? 0 : (double) totalTurnaround / n;
+        averageResponseTime = n == 0 ? 0 : (double) totalResponse / n;
+        jobs = null;
+        return ganttChart;
+    }
+
+    /**
+     * Runs the windows on worker threads, the calling thread being one of them. Each thread
+     * owns a fixed block of cores; the last thread to reach the barrier prepares the next window.
+     */
+    private void runInParallel(int workers) {
+        Throwable[] failure = new Throwable[1];
+        boolean[] more = {nextParallelWindow()};
+        CyclicBarrier barrier = new CyclicBarrier(workers, () -> {
+            try {
+                more[0] = failure[0] == null && nextParallelWindow();
+            } catch (RuntimeException | Error e) {
+                failure[0] = e;
+                more[0] = false;
+            }
+        });
+
+        List<Thread> helpers = new ArrayList<>();
+        for (int w = 1; w < workers; w++) {
+            int worker = w;
+            Thread thread = new Thread(() -> runWorker(worker, workers, barrier, more, failure),
+                    "partitioned-core-sim-" + w);
+            thread.setDaemon(true);
+            helpers.add(thread);
+            thread.start();
+        }
+        runWorker(0, workers, barrier, more, failure);
+        for (Thread thread : helpers) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the simulation threads", e);
+            }
+        }
+        if (failure[0] instanceof RuntimeException) {
+            throw (RuntimeException) failure[0];
+        }
+        if (failure[0] != null) {
+            throw (Error) failure[0];
+        }
+    }
+
+    private void runWorker(int worker, int workers, CyclicBarrier barrier, boolean[] more, Throwable[] failure) {
+        int from = worker * cores.length / workers;
+        int to = (worker + 1) * cores.length / workers;
+        while (more[0]) {
+            try {
+                for (int c = from; c < to; c++) {
+                    cores[c].run(windowStart, windowEnd);
+                }
+            } catch (RuntimeException | Error e) {
+                synchronized (failure) {
+                    if (failure[0] == null) {
+                        failure[0] = e;
+                    }
+                }
+            }
+            try {
+                // Every worker reaches the barrier even after a failure, so none is left waiting
+                barrier.await();
+            } catch (InterruptedException | BrokenBarrierException e) {
+                synchronized (failure) {
+                    if (failure[0] == null) {
+                        failure[0] = new IllegalStateException("Simulation thread interrupted", e);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets up the next window worth running on all workers, running any smaller windows
+     * before it on the current thread. The cores compute the same either way.
+     * @return false if every process has completed.
+     */
+    private boolean nextParallelWindow() {
+        while (nextWindow()) {
+            if (windowEvents >= MIN_PARALLEL_EVENTS) {
+                return true;
+            }
+            for (Core core : cores) {
+                core.run(windowStart, windowEnd);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replays the window that just ended and balances the cores at the tick that ends it.
+     * Then sets up the next window, which starts at the tick at or before the next event,
+     * and places the arrivals before its end. Ticks skipped in between would not have moved
+     * anything, since nothing happens until the next event.
+     * @return false if every process has completed.
+     */
+    private boolean nextWindow() {
+        replayEvents();
+        int completed = 0;
+        for (Core core : cores) {
+            completed += core.completed;
+        }
+        if (completed == jobs.size()) {
+            return false;
+        }
+        balance();
+
+        long next = nextArrival < jobs.size() ? jobs.get(nextArrival).getArrivalTime() : Long.MAX_VALUE;
+        for (Core core : cores) {
+            next = Math.min(next, core.nextEventTime());
+        }
+        if (next == Long.MAX_VALUE) {
+            return false;
+        }
+        windowStart = Math.max(windowEnd, next - next % balanceInterval);
+        windowEnd = windowStart + balanceInterval;
+        windows++;
+        windowEvents = 0;
+        for (Core core : cores) {
+            if (core.nextEventTime() < windowEnd) {
+                windowEvents++;
+            }
+        }
+        if (nextArrival < jobs.size() && jobs.get(nextArrival).getArrivalTime() < windowEnd) {
+            PriorityQueue<Core> byLoad = new PriorityQueue<>(cores.length, BY_WEIGHT);
+            byLoad.addAll(Arrays.asList(cores));
+            do {
+                Core core = byLoad.poll();
+                core.arrivals.add(jobs.get(nextArrival++));
+                byLoad.add(core);
+                windowEvents++;
+            } while (nextArrival < jobs.size() && jobs.get(nextArrival).getArrivalTime() < windowEnd);
+        }
+        return true;
+    }
+
+    /**
+     * Moves ready processes from the most to the least loaded core, relative to speed, as
+     * long as the receiving core stays less loaded than the giving one was.
+     */
+    private void balance() {
+        while (true) {
+            Core busiest = null;
+            for (Core core : cores) {
+                if (!core.ready.isEmpty() && (busiest == null || core.weight(0) > busiest.weight(0))) {
+                    busiest = core;
+                }
+            }
+            if (busiest == null) {
+                return;
+            }
+            Core idlest = null;
+            for (Core core : cores) {
+                if (core != busiest && (idlest == null || BY_WEIGHT.compare(core, idlest) < 0)) {
+                    idlest = core;
+                }
+            }
+            if (idlest == null || idlest.weight(1) >= busiest.weight(0)) {
+                return;
+            }
+            idlest.ready.add(busiest.ready.poll());
+            balanceMoves++;
+        }
+    }
+
+    /**
+     * Hands the events of the last window to the listeners and the Gantt chart in time
+     * order; the sort is stable, so events at the same time keep core order.
+     */
+    private void replayEvents() {
+        if (!buffered) {
+            return;
+        }
+        List<Event> window = new ArrayList<>();
+        for (Core core : cores) {
+            window.addAll(core.events);
+            core.events.clear();
+        }
+        window.sort(Comparator.comparingInt(e -> e.time));
+        for (Event event : window) {
+            if (event.ganttEntry != null) {
+                ganttChart.add(event.ganttEntry);
+            }
+            for (SchedulingListener listener : listeners) {
+                switch (event.kind) {
+                    case Event.ARRIVAL:
+                        listener.onArrival(event.process, event.time);
+                        break;
+                    case Event.DISPATCH:
+                        listener.onDispatch(event.process, event.time, event.readyQueueLength);
+                        break;
+                    case Event.PREEMPTION:
+                        listener.onPreemption(event.process, event.time);
+                        break;
+                    default:
+                        listener.onCompletion(event.process, event.time);
+                        break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public double getAverageWaitingTime() {
+        return averageWaitingTime;
+    }
+
+    @Override
+    public double getAverageTurnaroundTime() {
+        return averageTurnaroundTime;
+    }
+
+    @Override
+    public double getAverageResponseTime() {
+        return averageResponseTime;
+    }
+
+    /**
+     * Gets the number of times a core switched to a different process.
+     * @return The number of context switches.
+     */
+    @Override
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    /**
+     * Gets the number of slices that resumed a process on another core than its last one.
+     * @return The number of migrations.
+     */
+    public int getMigrations() {
+        return migrations;
+    }
+
+    /**
+     * Gets the number of processes the balancer moved between ready queues.
+     * @return The number of moves.
+     */
+    public int getBalanceMoves() {
+        return balanceMoves;
+    }
+
+    public long getPenaltyTime() {
+        return penaltyTime;
+    }
+
+    public int getMakespan() {
+        return makespan;
+    }
+
+    /**
+     * Gets the number of windows the last run was simulated in, each ending at a barrier.
+     * @return The number of windows.
+     */
+    public long getWindowCount() {
+        return windows;
+    }
+}
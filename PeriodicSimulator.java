@@ -0,0 +1,402 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.PeriodicTask;
+import com.cpuscheduler.model.TaskSet;
+import java.util.*;
+
+/**
+ * Simulates a periodic task set on one preemptive CPU over a long horizon.
+ *
+ * Jobs are released lazily as simulated time reaches them, so only pending jobs are held in
+ * memory, and every job runs for its task's WCET. Because releases repeat every hyperperiod,
+ * the state of the schedule at each hyperperiod boundary (the pending jobs and the job that
+ * ran last, relative to the boundary) determines everything that follows. As soon as that
+ * state repeats, the metrics gathered over one cycle are multiplied out over the rest of the
+ * horizon and only the final partial cycle is simulated. A task set that keeps up with its
+ * releases repeats within a few hyperperiods, so a month-long horizon costs about as much as
+ * those. An overloaded set builds an ever-growing backlog, never repeats, and is simulated in
+ * full.
+ *
+ * Jobs that miss their deadline keep running until they complete, as in
+ * {@link SchedulabilityAnalyzer#simulate}.
+ */
+public class PeriodicSimulator {
+    /** Boundaries remembered while looking for a repeat; detection stops after this many. */
+    public static final int MAX_TRACKED_BOUNDARIES = 64;
+
+    private final TaskSet taskSet;
+    private final SchedulabilityAnalyzer.Policy policy;
+    private boolean cycleDetection = true;
+
+    /**
+     * The metrics of a run, per task and in total.
+     */
+    public static final class Result {
+        private final long horizon;
+        private final long[] released;
+        private final long[] completed;
+        private final long[] deadlineMisses;
+        private final long[] totalResponseTime;
+        private final long[] maxResponseTime;
+        private final long busyTime;
+        private final long contextSwitches;
+        private final long preemptions;
+        private final long cycleStart;
+        private final long cycleLength;
+
+        Result(long horizon, long[] released, long[] completed, long[] deadlineMisses, long[] totalResponseTime,
+               long[] maxResponseTime, long busyTime, long contextSwitches, long preemptions, long cycleStart,
+               long cycleLength) {
+            this.horizon = horizon;
+            this.released = released;
+            this.completed = completed;
+            this.deadlineMisses = deadlineMisses;
+            this.totalResponseTime = totalResponseTime;
+            this.maxResponseTime = maxResponseTime;
+            this.busyTime = busyTime;
+            this.contextSwitches = contextSwitches;
+            this.preemptions = preemptions;
+            this.cycleStart = cycleStart;
+            this.cycleLength = cycleLength;
+        }
+
+        public long getHorizon() {
+            return horizon;
+        }
+
+        public long getReleased(int task) {
+            return released[task];
+        }
+
+        /**
+         * Gets the number of jobs of a task that completed before the horizon.
+         * @param task The index of the task in the task set.
+         * @return The number of completed jobs.
+         */
+        public long getCompleted(int task) {
+            return completed[task];
+        }
+
+        public long getDeadlineMisses(int task) {
+            return deadlineMisses[task];
+        }
+
+        /**
+         * Gets the average response time of the completed jobs of a task.
+         * @param task The index of the task in the task set.
+         * @return The average response time, or 0 if no job completed.
+         */
+        public double getAverageResponseTime(int task) {
+            return completed[task] == 0 ? 0 : (double) totalResponseTime[task] / completed[task];
+        }
+
+        public long getMaxResponseTime(int task) {
+            return maxResponseTime[task];
+        }
+
+        public long getTotalDeadlineMisses() {
+            long total = 0;
+            for (long misses : deadlineMisses) {
+                total += misses;
+            }
+            return total;
+        }
+
+        public long getBusyTime() {
+            return busyTime;
+        }
+
+        public double getUtilization() {
+            return horizon == 0 ? 0 : (double) busyTime / horizon;
+        }
+
+        /**
+         * Gets the number of times the CPU switched to a different job.
+         * @return The number of context switches.
+         */
+        public long getContextSwitches() {
+            return contextSwitches;
+        }
+
+        /**
+         * Gets the number of times an unfinished job was set aside for another one.
+         * @return The number of preemptions.
+         */
+        public long getPreemptions() {
+            return preemptions;
+        }
+
+        /**
+         * Gets the hyperperiod boundary from which the schedule was found to repeat.
+         * @return The start of the cycle, or -1 if the run was simulated in full.
+         */
+        public long getCycleStart() {
+            return cycleStart;
+        }
+
+        /**
+         * Gets the length of the repeating part of the schedule.
+         * @return The cycle length, a multiple of the hyperperiod, or -1 if none was found.
+         */
+        public long getCycleLength() {
+            return cycleLength;
+        }
+
+        /**
+         * Gets the part of the horizon that was actually simulated rather than extrapolated.
+         * @return The simulated time.
+         */
+        public long getSimulatedTime() {
+            if (cycleLength <= 0) {
+                return horizon;
+            }
+            long skipped = (horizon - cycleStart - cycleLength) / cycleLength * cycleLength;
+            return horizon - Math.max(0, skipped);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "horizon=%d simulated=%d busy=%d (%.4f) misses=%d contextSwitches=%d preemptions=%d",
+                    horizon, getSimulatedTime(), busyTime, getUtilization(), getTotalDeadlineMisses(),
+                    contextSwitches, preemptions);
+        }
+    }
+
+    /**
+     * A released job that has not completed yet.
+     */
+    private static final class Job {
+        final int task;
+        long release;
+        long deadline;
+        long remaining;
+
+        Job(int task, long release, long deadline, long remaining) {
+            this.task = task;
+            this.release = release;
+            this.deadline = deadline;
+            this.remaining = remaining;
+        }
+    }
+
+    /**
+     * Creates a simulator.
+     * @param taskSet The task set.
+     * @param policy The scheduling policy.
+     */
+    public PeriodicSimulator(TaskSet taskSet, SchedulabilityAnalyzer.Policy policy) {
+        this.taskSet = Objects.requireNonNull(taskSet);
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    /**
+     * Turns extrapolation from a repeating state on or off; it is on by default. Off, every
+     * job up to the horizon is simulated, which gives the same results more slowly.
+     * @param cycleDetection Whether to extrapolate.
+     */
+    public void setCycleDetection(boolean cycleDetection) {
+        this.cycleDetection = cycleDetection;
+    }
+
+    /**
+     * Simulates the task set from time 0 up to the horizon.
+     * @param horizon The end of the simulation.
+     * @return The metrics.
+     */
+    public Result run(long horizon) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Horizon cannot be negative");
+        }
+        int n = taskSet.size();
+        long[] wcets = new long[n];
+        long[] periods = new long[n];
+        long[] deadlines = new long[n];
+        for (int i = 0; i < n; i++) {
+            PeriodicTask task = taskSet.get(i);
+            wcets[i] = task.getWcet();
+            periods[i] = task.getPeriod();
+            deadlines[i] = task.getDeadline();
+        }
+        int[] rank = fixedPriorityRanks(periods, deadlines);
+        Comparator<Job> order = policy == SchedulabilityAnalyzer.Policy.EARLIEST_DEADLINE_FIRST
+                ? Comparator.<Job>comparingLong(j -> j.deadline).thenComparingLong(j -> j.release)
+                        .thenComparingInt(j -> rank[j.task])
+                : Comparator.<Job>comparingInt(j -> rank[j.task]).thenComparingLong(j -> j.release);
+        PriorityQueue<Job> pending = new PriorityQueue<>(order);
+
+        // Counters, laid out in one array so they can be copied at boundaries and multiplied out
+        final int released = 0;
+        final int completed = n;
+        final int misses = 2 * n;
+        final int responseTotal = 3 * n;
+        final int busy = 4 * n;
+        final int switches = busy + 1;
+        final int preemptions = busy + 2;
+        long[] counters = new long[busy + 3];
+        long[] maxResponse = new long[n];
+
+        long hyperperiod = taskSet.getHyperperiod();
+        boolean detect = cycleDetection && hyperperiod < horizon;
+        Map<StateKey, Integer> seen = new HashMap<>();
+        List<long[]> countersAtBoundary = new ArrayList<>();
+        long nextBoundary = 0;
+        long cycleStart = -1;
+        long cycleLength = -1;
+
+        long[] nextRelease = new long[n];
+        Job last = null;
+        long time = 0;
+        while (time < horizon) {
+            if (detect && time == nextBoundary) {
+                StateKey key = new StateKey(stateAt(time, pending, last, nextRelease));
+                Integer earlier = seen.putIfAbsent(key, countersAtBoundary.size());
+                countersAtBoundary.add(counters.clone());
+                if (earlier != null) {
+                    // Skip every whole cycle that still fits before the horizon
+                    cycleStart = earlier * hyperperiod;
+                    cycleLength = time - cycleStart;
+                    long[] before = countersAtBoundary.get(earlier);
+                    long cycles = (horizon - time) / cycleLength;
+                    for (int c = 0; c < counters.length; c++) {
+                        counters[c] += cycles * (counters[c] - before[c]);
+                    }
+                    long shift = cycles * cycleLength;
+                    time += shift;
+                    for (Job job : pending) {
+                        job.release += shift;
+                        job.deadline += shift;
+                    }
+                    if (last != null && last.remaining == 0) {
+                        // A finished last job is no longer pending, so it was not shifted above
+                        last.release += shift;
+                        last.deadline += shift;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        nextRelease[i] += shift;
+                    }
+                    detect = false;
+                    continue;
+                } else if (seen.size() >= MAX_TRACKED_BOUNDARIES) {
+                    detect = false;
+                } else {
+                    nextBoundary += hyperperiod;
+                }
+            }
+
+            // Release every job due now and find the next release
+            long upcoming = Long.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (nextRelease[i] <= time) {
+                    pending.add(new Job(i, nextRelease[i], nextRelease[i] + deadlines[i], wcets[i]));
+                    counters[released + i]++;
+                    nextRelease[i] += periods[i];
+                }
+                upcoming = Math.min(upcoming, nextRelease[i]);
+            }
+            long stop = Math.min(horizon, upcoming);
+            if (detect) {
+                stop = Math.min(stop, nextBoundary);
+            }
+
+            Job job = pending.peek();
+            if (job == null) {
+                time = stop;
+                continue;
+            }
+            if (job != last) {
+                if (last != null) {
+                    counters[switches]++;
+                    if (last.remaining > 0) {
+                        counters[preemptions]++;
+                    }
+                }
+                last = job;
+            }
+            long slice = Math.min(job.remaining, stop - time);
+            job.remaining -= slice;
+            counters[busy] += slice;
+            time += slice;
+            if (job.remaining == 0) {
+                pending.poll();
+                long response = time - job.release;
+                counters[completed + job.task]++;
+                counters[responseTotal + job.task] += response;
+                maxResponse[job.task] = Math.max(maxResponse[job.task], response);
+                if (time > job.deadline) {
+                    counters[misses + job.task]++;
+                }
+            }
+        }
+
+        return new Result(horizon,
+                Arrays.copyOfRange(counters, released, released + n),
+                Arrays.copyOfRange(counters, completed, completed + n),
+                Arrays.copyOfRange(counters, misses, misses + n),
+                Arrays.copyOfRange(counters, responseTotal, responseTotal + n),
+                maxResponse, counters[busy], counters[switches], counters[preemptions], cycleStart, cycleLength);
+    }
+
+    /**
+     * Encodes the schedule state at a hyperperiod boundary relative to the boundary: the next
+     * release of each task, each pending job, and the job that ran last.
+     */
+    private static long[] stateAt(long time, PriorityQueue<Job> pending, Job last, long[] nextRelease) {
+        List<Job> jobs = new ArrayList<>(pending);
+        jobs.sort(Comparator.<Job>comparingInt(j -> j.task).thenComparingLong(j -> j.release));
+        long[] state = new long[nextRelease.length + 3 * jobs.size() + 3];
+        int k = 0;
+        for (long release : nextRelease) {
+            state[k++] = release - time;
+        }
+        for (Job job : jobs) {
+            state[k++] = job.task;
+            state[k++] = job.release - time;
+            state[k++] = job.remaining;
+        }
+        state[k++] = last == null ? -1 : last.task;
+        state[k++] = last == null ? 0 : last.release - time;
+        state[k] = last == null ? 0 : last.remaining;
+        return state;
+    }
+
+    private int[] fixedPriorityRanks(long[] periods, long[] deadlines) {
+        int n = periods.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> byPeriod = Comparator.comparingLong(i -> periods[i]);
+        Comparator<Integer> byDeadline = Comparator.comparingLong(i -> deadlines[i]);
+        Arrays.sort(order, policy == SchedulabilityAnalyzer.Policy.RATE_MONOTONIC
+                ? byPeriod.thenComparing(byDeadline) : byDeadline.thenComparing(byPeriod));
+        int[] rank = new int[n];
+        for (int k = 0; k < n; k++) {
+            rank[order[k]] = k;
+        }
+        return rank;
+    }
+
+    /**
+     * Wraps a state array so it can be used as a map key.
+     */
+    private static final class StateKey {
+        private final long[] state;
+        private final int hash;
+
+        StateKey(long[] state) {
+            this.state = state;
+            this.hash = Arrays.hashCode(state);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateKey && Arrays.equals(state, ((StateKey) o).state);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cpuscheduler.model;
+
+/**
+ * A real-time task that releases a job every period, starting at time 0.
+ * Each job needs at most the worst-case execution time (WCET) of CPU and must complete
+ * within the relative deadline of its release.
+ */
+public class PeriodicTask {
+    private final String name;
+    private final int wcet;
+    private final int period;
+    private final int deadline;
+
+    /**
+     * Creates a task whose deadline equals its period.
+     * @param name The name of the task.
+     * @param wcet The worst-case execution time of each job.
+     * @param period The time between releases.
+     */
+    public PeriodicTask(String name, int wcet, int period) {
+        this(name, wcet, period, period);
+    }
+
+    /**
+     * Creates a task with a constrained deadline.
+     * @param name The name of the task.
+     * @param wcet The worst-case execution time of each job.
+     * @param period The time between releases.
+     * @param deadline The relative deadline, from the WCET up to the period.
+     */
+    public PeriodicTask(String name, int wcet, int period, int deadline) {
+        if (wcet <= 0 || period <= 0) {
+            throw new IllegalArgumentException("WCET and period must be greater than 0");
+        }
+        if (deadline < wcet || deadline > period) {
+            throw new IllegalArgumentException("Deadline must be between the WCET and the period: " + deadline);
+        }
+        this.name = name;
+        this.wcet = wcet;
+        this.period = period;
+        this.deadline = deadline;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWcet() {
+        return wcet;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets the fraction of the CPU the task needs in the worst case.
+     * @return WCET divided by period.
+     */
+    public double getUtilization() {
+        return (double) wcet / period;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PeriodicTask{name='%s', wcet=%d, period=%d, deadline=%d}",
+                name, wcet, period, deadline);
+    }
+}
@@ -0,0 +1,169 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+
+/**
+ * Shortest Job First and Shortest Remaining Time First driven by predicted rather than
+ * known burst times, as a real scheduler has to be. When a process becomes ready for a new
+ * CPU burst, a {@link BurstPredictor} estimates the burst from the bursts its class ran so
+ * far, and the process with the shortest predicted burst goes first; every burst that ends
+ * is fed back to the predictor. Processes with the same name, such as the tasks of one
+ * command in an imported trace, form a class, so a process with I/O bursts also learns from
+ * its own earlier bursts.
+ *
+ * The preemptive variant ends every time slice at the next arrival or wakeup and then runs
+ * the process with the shortest predicted remaining time, which is the prediction less the
+ * time the burst has run; a burst that outlives its prediction is expected to run as long
+ * again. A process keeps the key it was queued with until it runs, so the ready queue stays
+ * consistent while the predictor learns.
+ *
+ * With {@link BurstPredictor#oracle()} the schedule is that of the clairvoyant policy, which
+ * makes it the reference for how much a predictor costs. Predictor state is not part of
+ * checkpoints or snapshots, so both are unsupported; an edited workload is re-run from the start.
+ */
+public class PredictiveSJFScheduler extends AbstractScheduler {
+    private final BurstPredictor predictor;
+    private final boolean preemptive;
+
+    // Per job, indexed by sequence number: class, prediction of the current burst, queue key
+    private int[] classes = new int[0];
+    private int[] predictions = new int[0];
+    private int[] keys = new int[0];
+
+    private long predictionCount;
+    private long absoluteError;
+    private long signedError;
+    private long predictedBurstTime;
+
+    /**
+     * Creates a predictive scheduler.
+     * @param predictor The predictor; it is reset at the start of every run.
+     * @param preemptive true for Shortest Remaining Time First, false for Shortest Job First.
+     */
+    public PredictiveSJFScheduler(BurstPredictor predictor, boolean preemptive) {
+        this.predictor = Objects.requireNonNull(predictor);
+        this.preemptive = preemptive;
+    }
+
+    public BurstPredictor getPredictor() {
+        return predictor;
+    }
+
+    @Override
+    public String getName() {
+        return (preemptive ? "Predicted SRTF (" : "Predicted SJF (") + predictor + ")";
+    }
+
+    @Override
+    protected boolean supportsCheckpoints() {
+        return false;
+    }
+
+    /**
+     * Gets the number of bursts of the last run whose prediction was checked.
+     * @return The number of predictions.
+     */
+    public long getPredictionCount() {
+        return predictionCount;
+    }
+
+    /**
+     * Gets the mean absolute difference between predicted and actual bursts in the last run.
+     * @return The mean absolute error.
+     */
+    public double getMeanAbsoluteError() {
+        return predictionCount == 0 ? 0 : (double) absoluteError / predictionCount;
+    }
+
+    /**
+     * Gets the mean of predicted minus actual bursts; positive when the predictor overestimates.
+     * @return The bias.
+     */
+    public double getMeanError() {
+        return predictionCount == 0 ? 0 : (double) signedError / predictionCount;
+    }
+
+    /**
+     * Gets the total absolute error as a fraction of the total actual burst time, which
+     * unlike a mean of per-burst ratios is not dominated by tiny bursts.
+     * @return The relative error.
+     */
+    public double getRelativeError() {
+        long actual = predictedBurstTime - signedError;
+        return actual == 0 ? 0 : (double) absoluteError / actual;
+    }
+
+    @Override
+    protected Queue<Process> createReadyQueue() {
+        // Called at the start of every run, once the jobs are in arrival order
+        predictor.reset();
+        predictionCount = 0;
+        absoluteError = 0;
+        signedError = 0;
+        predictedBurstTime = 0;
+        int n = jobs.size();
+        classes = new int[n];
+        predictions = new int[n];
+        keys = new int[n];
+        Map<String, Integer> classIds = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Integer next = classIds.size();
+            Integer id = classIds.putIfAbsent(jobs.get(i).getName(), next);
+            classes[i] = id != null ? id : next;
+        }
+
+        Comparator<Process> byKey = (a, b) -> Integer.compare(keys[(int) a.getSequenceNumber()],
+                keys[(int) b.getSequenceNumber()]);
+        return new PriorityQueue<Process>(byKey.thenComparingLong(Process::getSequenceNumber)) {
+            @Override
+            public boolean offer(Process process) {
+                int job = (int) process.getSequenceNumber();
+                if (process.getCurrentBurstRemaining() == process.getCurrentBurstTime()) {
+                    // A new burst: predict it now, before it has run at all
+                    predictions[job] = predictor.predict(classes[job], process);
+                }
+                int elapsed = process.getCurrentBurstTime() - process.getCurrentBurstRemaining();
+                keys[job] = elapsed < predictions[job] ? predictions[job] - elapsed : elapsed;
+                return super.offer(process);
+            }
+        };
+    }
+
+    @Override
+    protected int getTimeSlice(Process process) {
+        if (!preemptive) {
+            return process.getRemainingTime();
+        }
+        // Decide again when the next process becomes ready
+        long untilReady = (long) getNextReadyTime() - currentTime;
+        return (int) Math.max(1, Math.min(process.getRemainingTime(), untilReady));
+    }
+
+    @Override
+    protected boolean isPreemptive() {
+        return preemptive;
+    }
+
+    @Override
+    protected boolean isReevaluation(Process process) {
+        // Slices end at the next arrival so the predictions can be compared again
+        return true;
+    }
+
+    @Override
+    protected void recordExecution(Process process, int startTime, int endTime) {
+        super.recordExecution(process, startTime, endTime);
+        if (process.getCurrentBurstRemaining() == 0) {
+            // The burst completed or blocked on I/O: score the prediction and learn from it
+            int job = (int) process.getSequenceNumber();
+            int actual = process.getCurrentBurstTime();
+            int error = predictions[job] - actual;
+            predictionCount++;
+            absoluteError += Math.abs(error);
+            signedError += error;
+            predictedBurstTime += predictions[job];
+            predictor.observe(classes[job], actual);
+        }
+    }
+}
@@ -15,19 +15,39 @@ public class Process {
     private int waitingTime;
     private int responseTime;
     private boolean isStarted;
+    private long sequenceNumber; // Position in the scheduler's arrival order, used to break ties
+    private ProcessGroup group; // Null for processes outside any group
+    private final BurstSequence bursts; // Null for a single CPU burst
+    private int burstIndex; // Current CPU burst
+    private int burstRemaining; // Time left in the current CPU burst
+    private int blockedSince;
+    private int blockedTime; // Total time spent waiting for and using devices
 
     public Process(int id, String name, int arrivalTime, int burstTime, int priority) {
+        this(id, name, arrivalTime, burstTime, priority, null);
+    }
+
+    /**
+     * Creates a process that alternates between CPU and I/O bursts. Its burst time is the
+     * total of its CPU bursts.
+     * @param id The process ID.
+     * @param name The process name.
+     * @param arrivalTime The arrival time.
+     * @param bursts The CPU and I/O bursts.
+     * @param priority The priority; lower numbers are higher priorities.
+     */
+    public Process(int id, String name, int arrivalTime, BurstSequence bursts, int priority) {
+        this(id, name, arrivalTime, bursts.getTotalCpuTime(), priority, bursts);
+    }
+
+    private Process(int id, String name, int arrivalTime, int burstTime, int priority, BurstSequence bursts) {
         this.id = id;
         this.name = name;
         this.arrivalTime = arrivalTime;
         this.burstTime = burstTime;
         this.priority = priority;
-        this.remainingTime = burstTime;
-        this.completionTime = -1;
-        this.turnaroundTime = -1;
-        this.waitingTime = -1;
-        this.responseTime = -1;
-        this.isStarted = false;
+        this.bursts = bursts;
+        reset();
     }
 
     /**
@@ -46,6 +66,13 @@ public class Process {
         this.waitingTime = other.waitingTime;
         this.responseTime = other.responseTime;
         this.isStarted = other.isStarted;
+        this.sequenceNumber = other.sequenceNumber;
+        this.group = other.group;
+        this.bursts = other.bursts;
+        this.burstIndex = other.burstIndex;
+        this.burstRemaining = other.burstRemaining;
+        this.blockedSince = other.blockedSince;
+        this.blockedTime = other.blockedTime;
     }
 
     // Getters
@@ -93,19 +120,168 @@ public class Process {
         return remainingTime <= 0;
     }
 
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public ProcessGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * Gets the CPU and I/O bursts of the process.
+     * @return The bursts, or null if the process is a single CPU burst.
+     */
+    public BurstSequence getBursts() {
+        return bursts;
+    }
+
+    /**
+     * Whether the process does any I/O.
+     * @return true if it has more than one CPU burst.
+     */
+    public boolean hasIoBursts() {
+        return bursts != null && bursts.getCpuBurstCount() > 1;
+    }
+
+    /**
+     * Gets the length of the CPU burst the process is in, or will run next after an I/O
+     * burst; shortest-job policies order by it.
+     * @return The current CPU burst time.
+     */
+    public int getCurrentBurstTime() {
+        return bursts == null ? burstTime : bursts.getCpuBurst(burstIndex);
+    }
+
+    public int getCurrentBurstRemaining() {
+        return burstRemaining;
+    }
+
+    /**
+     * Whether the process has finished a CPU burst and must complete an I/O burst before it
+     * can run again.
+     * @return true if the process is waiting for I/O.
+     */
+    public boolean isBlocked() {
+        return burstRemaining == 0 && remainingTime > 0;
+    }
+
+    /**
+     * Gets the device of the I/O burst the process is blocked on.
+     * @return The device name.
+     */
+    public String getIoDevice() {
+        requireBlocked();
+        return bursts.getDevice(burstIndex);
+    }
+
+    /**
+     * Gets the length of the I/O burst the process is blocked on.
+     * @return The I/O burst time.
+     */
+    public int getIoBurstTime() {
+        requireBlocked();
+        return bursts.getIoBurst(burstIndex);
+    }
+
+    public int getBlockedSince() {
+        return blockedSince;
+    }
+
+    /**
+     * Gets the time the process has spent blocked, both queued at devices and being served.
+     * @return The total blocked time so far.
+     */
+    public int getBlockedTime() {
+        return blockedTime;
+    }
+
+    private void requireBlocked() {
+        if (!isBlocked()) {
+            throw new IllegalStateException(name + " is not blocked on I/O");
+        }
+    }
+
     // Setters
     public void setCompletionTime(int completionTime) {
         this.completionTime = completionTime;
         this.turnaroundTime = this.completionTime - this.arrivalTime;
-        this.waitingTime = this.turnaroundTime - this.burstTime;
+        // Time spent on I/O is not waiting for the CPU
+        this.waitingTime = this.turnaroundTime - this.burstTime - this.blockedTime;
     }
 
     public void setResponseTime(int responseTime) {
         this.responseTime = responseTime;
     }
 
+    public void setSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Places the process in a group, such as a tenant or service, for group scheduling.
+     * @param group The group, or null to leave the process ungrouped.
+     */
+    public void setGroup(ProcessGroup group) {
+        this.group = group;
+    }
+
+    /**
+     * Resets the process to its state before any execution.
+     */
+    public void reset() {
+        this.remainingTime = burstTime;
+        this.completionTime = -1;
+        this.turnaroundTime = -1;
+        this.waitingTime = -1;
+        this.responseTime = -1;
+        this.isStarted = false;
+        this.burstIndex = 0;
+        this.burstRemaining = bursts == null ? burstTime : bursts.getCpuBurst(0);
+        this.blockedSince = -1;
+        this.blockedTime = 0;
+    }
+
+    /**
+     * Restores the state of a process that has arrived but not yet completed.
+     * Processes with I/O bursts cannot be restored this way.
+     * @param remainingTime The remaining burst time.
+     * @param responseTime The response time, or -1 if the process has not started yet.
+     */
+    public void restore(int remainingTime, int responseTime) {
+        if (hasIoBursts()) {
+            throw new IllegalStateException("Cannot restore a process with I/O bursts: " + name);
+        }
+        reset();
+        this.remainingTime = remainingTime;
+        this.burstRemaining = remainingTime;
+        this.responseTime = responseTime;
+        this.isStarted = responseTime >= 0;
+    }
+
+    /**
+     * Marks the process as blocked on its current I/O burst.
+     * @param time The time the CPU burst ended.
+     */
+    public void block(int time) {
+        requireBlocked();
+        blockedSince = time;
+    }
+
+    /**
+     * Ends the current I/O burst, so the process is ready for its next CPU burst.
+     * @param time The time the I/O burst ended.
+     */
+    public void wakeUp(int time) {
+        requireBlocked();
+        blockedTime += time - blockedSince;
+        burstIndex++;
+        burstRemaining = bursts.getCpuBurst(burstIndex);
+    }
+
     /**
-     * Executes the process for a given time quantum.
+     * Executes the process for a given time quantum, but never past the end of its current
+     * CPU burst.
      * @param timeQuantum The time quantum to execute the process for.
      * @param currentTime The current time in the scheduler.
      * @return The actual time the process was executed for.
@@ -116,8 +292,9 @@ public class Process {
             isStarted = true;
         }
 
-        int executionTime = Math.min(timeQuantum, remainingTime);
+        int executionTime = Math.min(timeQuantum, burstRemaining);
         remainingTime -= executionTime;
+        burstRemaining -= executionTime;
         
         if (isCompleted()) {
             setCompletionTime(currentTime + executionTime);
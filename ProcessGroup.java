@@ -0,0 +1,125 @@
+package com.cpuscheduler.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node in a hierarchy of process groups, in the style of Linux control groups.
+ *
+ * Sibling groups share the CPU in proportion to their weights, and a group may be given a
+ * quota: at most quota time units of CPU in every period, counted over all of its descendants.
+ * As with cgroup v2, processes belong to leaf groups only.
+ */
+public class ProcessGroup {
+    public static final int DEFAULT_WEIGHT = 100;
+    public static final int MAX_WEIGHT = 10000;
+
+    private final String name;
+    private final ProcessGroup parent;
+    private final List<ProcessGroup> children;
+    private int weight;
+    private int quota;
+    private int period;
+
+    /**
+     * Creates a top-level group.
+     * @param name The name of the group.
+     */
+    public ProcessGroup(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Creates a group inside another group.
+     * @param name The name of the group.
+     * @param parent The parent group, or null for a top-level group.
+     */
+    public ProcessGroup(String name, ProcessGroup parent) {
+        if (name == null || name.isEmpty() || name.contains("/")) {
+            throw new IllegalArgumentException("Group name must be non-empty and must not contain '/'");
+        }
+        this.name = name;
+        this.parent = parent;
+        this.children = new ArrayList<>();
+        this.weight = DEFAULT_WEIGHT;
+        this.quota = -1;
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ProcessGroup getParent() {
+        return parent;
+    }
+
+    public List<ProcessGroup> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Gets the names of the group and its ancestors, separated by '/', such as "tenant-a/web".
+     * @return The path of the group.
+     */
+    public String getPath() {
+        return parent == null ? name : parent.getPath() + "/" + name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Sets the relative share of the CPU this group gets when competing with its siblings.
+     * @param weight The weight, from 1 to {@link #MAX_WEIGHT}; the default is {@link #DEFAULT_WEIGHT}.
+     */
+    public void setWeight(int weight) {
+        if (weight < 1 || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight must be between 1 and " + MAX_WEIGHT);
+        }
+        this.weight = weight;
+    }
+
+    public boolean hasQuota() {
+        return quota >= 0;
+    }
+
+    public int getQuota() {
+        return quota;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Limits the group to a number of time units of CPU in every period. Periods start at
+     * multiples of the period length.
+     * @param quota The CPU time allowed per period.
+     * @param period The length of a period.
+     */
+    public void setQuota(int quota, int period) {
+        if (quota <= 0 || period <= 0) {
+            throw new IllegalArgumentException("Quota and period must be greater than 0");
+        }
+        this.quota = quota;
+        this.period = period;
+    }
+
+    /**
+     * Removes the quota, so the group is limited only by its weight.
+     */
+    public void clearQuota() {
+        this.quota = -1;
+        this.period = 0;
+    }
+
+    @Override
+    public String toString() {
+        return getPath();
+    }
+}
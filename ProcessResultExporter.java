@@ -0,0 +1,58 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.core.SchedulingListener;
+import com.cpuscheduler.model.Process;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Streams per-process results to a file as processes complete.
+ * Attach it to a scheduler with addSchedulingListener before running, and close it afterwards.
+ */
+public class ProcessResultExporter implements SchedulingListener, Closeable {
+    private static final String[] COLUMNS = {
+        "id", "name", "arrival", "burst", "completion", "waiting", "turnaround", "response"
+    };
+
+    private final RecordWriter writer;
+
+    public ProcessResultExporter(Path file, ExportFormat format) throws IOException {
+        this.writer = new RecordWriter(file, format, COLUMNS);
+    }
+
+    /**
+     * Writes the results of processes that have already been scheduled.
+     * @param file The file to write.
+     * @param format The output format.
+     * @param processes The completed processes.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, ExportFormat format, Collection<Process> processes) throws IOException {
+        try (ProcessResultExporter exporter = new ProcessResultExporter(file, format)) {
+            for (Process p : processes) {
+                exporter.onCompletion(p, p.getCompletionTime());
+            }
+        }
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        writer.beginRecord()
+              .field(process.getId())
+              .field(process.getName())
+              .field(process.getArrivalTime())
+              .field(process.getBurstTime())
+              .field(time)
+              .field(process.getWaitingTime())
+              .field(process.getTurnaroundTime())
+              .field(process.getResponseTime())
+              .endRecord();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
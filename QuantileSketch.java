@@ -0,0 +1,163 @@
+package com.cpuscheduler.core;
+
+/**
+ * A streaming quantile sketch for non-negative values with a guaranteed relative error, in
+ * the manner of DDSketch. Values are counted in logarithmic buckets, bucket k holding the
+ * values in (gamma^(k-1), gamma^k] with gamma = (1 + a) / (1 - a), and a quantile is reported
+ * as the middle of its bucket, which is within a relative error a of the true value. Zeros
+ * are counted on their own.
+ *
+ * Memory depends on the ratio of the largest to the smallest value, not on how many values
+ * are added: at 1% accuracy every positive int fits in some 1,100 buckets.
+ */
+public final class QuantileSketch {
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    // Counts of the buckets from minKey upwards
+    private long[] counts = new long[0];
+    private int minKey;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty sketch.
+     * @param relativeAccuracy The largest relative error of a quantile, in (0, 1).
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Creates a copy of a sketch, which then counts values independently of it.
+     * @param other The sketch to copy.
+     */
+    public QuantileSketch(QuantileSketch other) {
+        this.relativeAccuracy = other.relativeAccuracy;
+        this.gamma = other.gamma;
+        this.logGamma = other.logGamma;
+        this.counts = other.counts.clone();
+        this.minKey = other.minKey;
+        this.zeroCount = other.zeroCount;
+        this.count = other.count;
+        this.sum = other.sum;
+        this.min = other.min;
+        this.max = other.max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Adds a value.
+     * @param value The value, at least 0.
+     */
+    public void add(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Sketch values must be finite and non-negative: " + value);
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value == 0) {
+            zeroCount++;
+            return;
+        }
+        int key = (int) Math.ceil(Math.log(value) / logGamma);
+        if (counts.length == 0) {
+            counts = new long[64];
+            minKey = key - 32;
+        } else if (key < minKey || key >= minKey + counts.length) {
+            grow(key);
+        }
+        counts[key - minKey]++;
+    }
+
+    /**
+     * Widens the bucket range to take a key, at least doubling it so growth stays rare.
+     */
+    private void grow(int key) {
+        int low = Math.min(minKey, key);
+        int high = Math.max(minKey + counts.length - 1, key);
+        int length = Math.max(high - low + 1, 2 * counts.length);
+        // Extend towards the side the new key is on
+        int newMinKey = key < minKey ? high - length + 1 : low;
+        long[] grown = new long[length];
+        System.arraycopy(counts, 0, grown, minKey - newMinKey, counts.length);
+        counts = grown;
+        minKey = newMinKey;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the exact mean of the values added.
+     * @return The mean, or NaN if the sketch is empty.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Estimates a quantile.
+     * @param q The quantile, in [0, 1]; 0 and 1 give the exact minimum and maximum.
+     * @return The estimate, or NaN if the sketch is empty.
+     */
+    public double getQuantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        // The value of this rank, counting from 0 in sorted order
+        double rank = q * (count - 1);
+        long cumulative = zeroCount;
+        if (cumulative > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) {
+                double estimate = 2 * Math.pow(gamma, minKey + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets the number of buckets in use, a measure of the memory the sketch holds.
+     * @return The number of buckets.
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+}
@@ -0,0 +1,399 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Searches for the Round Robin time quantum that minimizes an objective on a workload.
+ *
+ * Candidates are evaluated by a dedicated Round Robin simulation over primitive arrays that
+ * follows the same rules as {@link RoundRobinScheduler}: arrivals during a slice are queued
+ * before the preempted process, and the same context switches are counted. Every evaluation
+ * reads the same arrival-sorted arrays, so candidates run in parallel without copying the
+ * workload. An optional context-switch cost adds that many idle time units before every
+ * counted switch.
+ *
+ * The search is coarse-to-fine: a logarithmic grid over [1, maximum quantum] is evaluated,
+ * then a finer grid around the best candidate, until neighbouring quanta are reached. This
+ * finds the optimum when the objective is roughly unimodal in the quantum, which is the
+ * usual case, while evaluating only a few dozen candidates.
+ */
+public class QuantumTuner {
+    private static final int GRID_POINTS = 16;
+
+    private final int[] arrivals;
+    private final int[] bursts;
+    private final int maxBurst;
+    private final int threads;
+    private Objective objective = Objective.meanResponse();
+    private int switchCost;
+
+    /**
+     * The quantity a tuning run minimizes.
+     */
+    public static final class Objective {
+        private final String name;
+        private final double responseWeight;
+        private final double p99TurnaroundWeight;
+
+        private Objective(String name, double responseWeight, double p99TurnaroundWeight) {
+            this.name = name;
+            this.responseWeight = responseWeight;
+            this.p99TurnaroundWeight = p99TurnaroundWeight;
+        }
+
+        /**
+         * Minimizes the mean response time.
+         * @return The objective.
+         */
+        public static Objective meanResponse() {
+            return new Objective("mean response", 1, 0);
+        }
+
+        /**
+         * Minimizes the 99th percentile of turnaround time.
+         * @return The objective.
+         */
+        public static Objective p99Turnaround() {
+            return new Objective("p99 turnaround", 0, 1);
+        }
+
+        /**
+         * Minimizes a weighted sum of the mean response time and the p99 turnaround time.
+         * @param responseWeight The weight of the mean response time.
+         * @param p99TurnaroundWeight The weight of the p99 turnaround time.
+         * @return The objective.
+         */
+        public static Objective weighted(double responseWeight, double p99TurnaroundWeight) {
+            if (responseWeight < 0 || p99TurnaroundWeight < 0 || responseWeight + p99TurnaroundWeight == 0) {
+                throw new IllegalArgumentException("Weights must be non-negative and not both 0");
+            }
+            return new Objective(String.format(Locale.ROOT, "%.2f x mean response + %.2f x p99 turnaround",
+                    responseWeight, p99TurnaroundWeight), responseWeight, p99TurnaroundWeight);
+        }
+
+        double score(double meanResponse, int p99Turnaround) {
+            return responseWeight * meanResponse + p99TurnaroundWeight * p99Turnaround;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The outcome of simulating one quantum.
+     */
+    public static final class Evaluation {
+        private final int quantum;
+        private final double score;
+        private final double averageWaitingTime;
+        private final double averageTurnaroundTime;
+        private final double averageResponseTime;
+        private final int p99TurnaroundTime;
+        private final int contextSwitches;
+        private final int makespan;
+
+        Evaluation(int quantum, double score, double averageWaitingTime, double averageTurnaroundTime,
+                   double averageResponseTime, int p99TurnaroundTime, int contextSwitches, int makespan) {
+            this.quantum = quantum;
+            this.score = score;
+            this.averageWaitingTime = averageWaitingTime;
+            this.averageTurnaroundTime = averageTurnaroundTime;
+            this.averageResponseTime = averageResponseTime;
+            this.p99TurnaroundTime = p99TurnaroundTime;
+            this.contextSwitches = contextSwitches;
+            this.makespan = makespan;
+        }
+
+        public int getQuantum() {
+            return quantum;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public double getAverageWaitingTime() {
+            return averageWaitingTime;
+        }
+
+        public double getAverageTurnaroundTime() {
+            return averageTurnaroundTime;
+        }
+
+        public double getAverageResponseTime() {
+            return averageResponseTime;
+        }
+
+        public int getP99TurnaroundTime() {
+            return p99TurnaroundTime;
+        }
+
+        public int getContextSwitches() {
+            return contextSwitches;
+        }
+
+        public int getMakespan() {
+            return makespan;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "quantum=%d score=%.4f avgResponse=%.4f avgTurnaround=%.4f p99Turnaround=%d switches=%d makespan=%d",
+                    quantum, score, averageResponseTime, averageTurnaroundTime, p99TurnaroundTime,
+                    contextSwitches, makespan);
+        }
+    }
+
+    /**
+     * Creates a tuner for a workload, using one thread per available processor.
+     * @param processes The workload. It is copied into primitive arrays and not modified.
+     */
+    public QuantumTuner(List<Process> processes) {
+        this(processes, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a tuner for a workload.
+     * @param processes The workload. It is copied into primitive arrays and not modified.
+     * @param threads The number of candidates to evaluate in parallel.
+     */
+    public QuantumTuner(List<Process> processes, int threads) {
+        if (processes.isEmpty()) {
+            throw new IllegalArgumentException("Workload must contain at least one process");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be greater than 0");
+        }
+        // Stable sort by arrival, the order the schedulers admit processes in
+        List<Process> sorted = new ArrayList<>(processes);
+        sorted.sort(Comparator.comparingInt(Process::getArrivalTime));
+        arrivals = new int[sorted.size()];
+        bursts = new int[sorted.size()];
+        int longest = 1;
+        for (int i = 0; i < bursts.length; i++) {
+            if (sorted.get(i).hasIoBursts()) {
+                throw new IllegalArgumentException("The tuner does not simulate I/O bursts: " + sorted.get(i).getName());
+            }
+            arrivals[i] = sorted.get(i).getArrivalTime();
+            bursts[i] = sorted.get(i).getBurstTime();
+            longest = Math.max(longest, bursts[i]);
+        }
+        this.maxBurst = longest;
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the quantity to minimize. The default is the mean response time.
+     * @param objective The objective.
+     */
+    public void setObjective(Objective objective) {
+        this.objective = Objects.requireNonNull(objective);
+    }
+
+    /**
+     * Sets the time lost to each context switch.
+     * @param switchCost The cost in time units; 0 (the default) models free switches.
+     */
+    public void setSwitchCost(int switchCost) {
+        if (switchCost < 0) {
+            throw new IllegalArgumentException("Context switch cost cannot be negative");
+        }
+        this.switchCost = switchCost;
+    }
+
+    /**
+     * Finds the best quantum up to the longest burst in the workload, beyond which Round Robin
+     * behaves like FCFS.
+     * @return The evaluation of the best quantum.
+     */
+    public Evaluation tune() {
+        return tune(maxBurst);
+    }
+
+    /**
+     * Finds the best quantum in [1, maxQuantum]. Ties go to the larger quantum, which causes
+     * fewer context switches.
+     * @param maxQuantum The largest quantum to consider.
+     * @return The evaluation of the best quantum.
+     */
+    public Evaluation tune(int maxQuantum) {
+        if (maxQuantum <= 0) {
+            throw new IllegalArgumentException("Maximum quantum must be greater than 0");
+        }
+        ExecutorService pool = newPool();
+        try {
+            Map<Integer, Evaluation> evaluated = new HashMap<>();
+            evaluateAll(logarithmicGrid(1, maxQuantum), evaluated, pool);
+            while (true) {
+                Evaluation best = best(evaluated.values());
+                // Refine between the evaluated neighbours of the best candidate
+                int low = 1;
+                int high = maxQuantum;
+                for (int quantum : evaluated.keySet()) {
+                    if (quantum < best.getQuantum()) {
+                        low = Math.max(low, quantum);
+                    } else if (quantum > best.getQuantum()) {
+                        high = Math.min(high, quantum);
+                    }
+                }
+                List<Integer> candidates = new ArrayList<>();
+                for (int quantum : linearGrid(low, high)) {
+                    if (!evaluated.containsKey(quantum)) {
+                        candidates.add(quantum);
+                    }
+                }
+                if (candidates.isEmpty()) {
+                    return best;
+                }
+                evaluateAll(candidates, evaluated, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Evaluates several quanta in parallel.
+     * @param quanta The quanta to evaluate.
+     * @return The evaluations, in the order of the quanta.
+     */
+    public List<Evaluation> evaluate(List<Integer> quanta) {
+        ExecutorService pool = newPool();
+        try {
+            Map<Integer, Evaluation> evaluated = new HashMap<>();
+            evaluateAll(quanta, evaluated, pool);
+            List<Evaluation> result = new ArrayList<>(quanta.size());
+            for (int quantum : quanta) {
+                result.add(evaluated.get(quantum));
+            }
+            return result;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ExecutorService newPool() {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "quantum-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void evaluateAll(Collection<Integer> quanta, Map<Integer, Evaluation> evaluated, ExecutorService pool) {
+        List<CompletableFuture<Evaluation>> runs = new ArrayList<>();
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be greater than 0");
+            }
+            runs.add(CompletableFuture.supplyAsync(() -> evaluate(quantum), pool));
+        }
+        for (CompletableFuture<Evaluation> run : runs) {
+            Evaluation evaluation = run.join();
+            evaluated.put(evaluation.getQuantum(), evaluation);
+        }
+    }
+
+    private static Evaluation best(Collection<Evaluation> evaluations) {
+        Evaluation best = null;
+        for (Evaluation evaluation : evaluations) {
+            if (best == null || evaluation.getScore() < best.getScore()
+                    || (evaluation.getScore() == best.getScore() && evaluation.getQuantum() > best.getQuantum())) {
+                best = evaluation;
+            }
+        }
+        return best;
+    }
+
+    private static List<Integer> logarithmicGrid(int low, int high) {
+        TreeSet<Integer> grid = new TreeSet<>();
+        double ratio = Math.pow((double) high / low, 1.0 / (GRID_POINTS - 1));
+        double value = low;
+        for (int i = 0; i < GRID_POINTS; i++, value *= ratio) {
+            grid.add((int) Math.min(high, Math.round(value)));
+        }
+        grid.add(high);
+        return new ArrayList<>(grid);
+    }
+
+    private static List<Integer> linearGrid(int low, int high) {
+        TreeSet<Integer> grid = new TreeSet<>();
+        double step = Math.max(1.0, (double) (high - low) / (GRID_POINTS - 1));
+        for (double value = low; value < high; value += step) {
+            grid.add((int) Math.round(value));
+        }
+        grid.add(high);
+        return new ArrayList<>(grid);
+    }
+
+    /**
+     * Simulates Round Robin with one quantum.
+     * @param quantum The time quantum.
+     * @return The evaluation.
+     */
+    public Evaluation evaluate(int quantum) {
+        int n = arrivals.length;
+        int[] remaining = bursts.clone();
+        int[] turnaround = new int[n];
+        // Each process is in the queue at most once, so a ring of n slots never overflows
+        int[] queue = new int[n];
+        int head = 0;
+        int size = 0;
+
+        long totalResponse = 0;
+        long totalTurnaround = 0;
+        long totalWaiting = 0;
+        int contextSwitches = 0;
+        int completed = 0;
+        int nextArrival = 0;
+        int time = 0;
+        int running = -1;
+
+        while (completed < n) {
+            while (nextArrival < n && arrivals[nextArrival] <= time) {
+                queue[(head + size++) % n] = nextArrival++;
+            }
+            if (running >= 0) {
+                if (remaining[running] == 0) {
+                    turnaround[running] = time - arrivals[running];
+                    totalTurnaround += turnaround[running];
+                    totalWaiting += turnaround[running] - bursts[running];
+                    completed++;
+                } else {
+                    queue[(head + size++) % n] = running;
+                }
+                running = -1;
+                continue;
+            }
+            if (size == 0) {
+                time = arrivals[nextArrival];
+                continue;
+            }
+            int next = queue[head];
+            head = (head + 1) % n;
+            size--;
+            if (time > 0) {
+                contextSwitches++;
+                time += switchCost;
+            }
+            if (remaining[next] == bursts[next]) {
+                totalResponse += time - arrivals[next];
+            }
+            int slice = Math.min(quantum, remaining[next]);
+            remaining[next] -= slice;
+            time += slice;
+            running = next;
+        }
+
+        Arrays.sort(turnaround);
+        int p99 = turnaround[Math.min(n - 1, (int) Math.ceil(0.99 * n) - 1)];
+        double meanResponse = (double) totalResponse / n;
+        return new Evaluation(quantum, objective.score(meanResponse, p99), (double) totalWaiting / n,
+                (double) totalTurnaround / n, meanResponse, p99, contextSwitches, time);
+    }
+}
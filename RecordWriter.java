@@ -0,0 +1,306 @@
+package com.cpuscheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams flat records to a CSV or JSON Lines file.
+ *
+ * Records are encoded straight into one of two large direct buffers with hand-rolled number
+ * formatting. When a buffer fills up it is handed to a background thread and encoding
+ * continues in the other one, so the caller only waits if the disk falls a full buffer behind.
+ * Writers flush on threads of their own, so concurrent exports do not queue behind each other.
+ * Not thread-safe; use one writer per thread.
+ */
+public class RecordWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 22; // 4 MB
+
+    // A writer has at most one buffer in flight, so this grows to one thread per busy writer
+    private static final ExecutorService WRITER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "export-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FileChannel channel;
+    private final ExportFormat format;
+    private final byte[][] keys;
+    private final byte[] digits = new byte[20];
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private Future<?> pendingWrite;
+    private int fieldIndex;
+
+    /**
+     * Opens a file for writing, replacing any existing content.
+     * For CSV the column names are written as a header line; for JSON Lines they are the keys.
+     * @param file The file to write.
+     * @param format The output format.
+     * @param columns The names of the fields of each record, in order.
+     * @throws IOException If the file cannot be opened.
+     */
+    public RecordWriter(Path file, ExportFormat format, String... columns) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.format = format;
+        this.keys = new byte[columns.length][];
+        for (int i = 0; i < columns.length; i++) {
+            keys[i] = ("\"" + columns[i] + "\":").getBytes(StandardCharsets.UTF_8);
+        }
+
+        if (format == ExportFormat.CSV) {
+            beginRecord();
+            for (String column : columns) {
+                field(column);
+            }
+            endRecord();
+        }
+    }
+
+    /**
+     * Starts a new record.
+     * @return This writer.
+     */
+    public RecordWriter beginRecord() {
+        fieldIndex = 0;
+        if (format == ExportFormat.JSON_LINES) {
+            ensureSpace(1);
+            buffer.put((byte) '{');
+        }
+        return this;
+    }
+
+    /**
+     * Appends a numeric field to the current record.
+     * @param value The value.
+     * @return This writer.
+     */
+    public RecordWriter field(long value) {
+        ensureSpace(keyLength() + 21);
+        separator();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Appends a fractional numeric field to the current record, rounded to four decimal places.
+     * @param value The value, which must be finite.
+     * @return This writer.
+     */
+    public RecordWriter field(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Cannot write " + value);
+        }
+        long scaled = Math.round(value * 10_000);
+        ensureSpace(keyLength() + 22);
+        separator();
+        if (scaled < 0) {
+            buffer.put((byte) '-');
+            scaled = -scaled;
+        }
+        putLong(scaled / 10_000);
+        long fraction = scaled % 10_000;
+        if (fraction != 0) {
+            buffer.put((byte) '.');
+            for (long digit = 1_000; fraction != 0; digit /= 10) {
+                buffer.put((byte) ('0' + fraction / digit));
+                fraction %= digit;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends a text field to the current record, quoting and escaping it as the format needs.
+     * @param value The value.
+     * @return This writer.
+     */
+    public RecordWriter field(String value) {
+        ensureSpace(keyLength() + 1);
+        separator();
+        if (format == ExportFormat.JSON_LINES) {
+            putJsonString(value);
+        } else {
+            putCsvString(value);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current record.
+     */
+    public void endRecord() {
+        ensureSpace(2);
+        if (format == ExportFormat.JSON_LINES) {
+            buffer.put((byte) '}');
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes all buffered records and closes the file.
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitPendingWrite();
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int keyLength() {
+        return format == ExportFormat.JSON_LINES ? keys[fieldIndex].length + 1 : 1;
+    }
+
+    private void separator() {
+        if (fieldIndex > 0) {
+            buffer.put((byte) ',');
+        }
+        if (format == ExportFormat.JSON_LINES) {
+            buffer.put(keys[fieldIndex]);
+        }
+        fieldIndex++;
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        // Fill the digits from the right, then copy them out in one go
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, pos, digits.length - pos);
+    }
+
+    private void putCsvString(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (quote) {
+            ensureSpace(1);
+            buffer.put((byte) '"');
+        }
+        for (int i = 0; i < value.length(); ) {
+            int c = value.codePointAt(i);
+            i += Character.charCount(c);
+            if (c == '"') {
+                ensureSpace(2);
+                buffer.put((byte) '"').put((byte) '"');
+            } else {
+                putCodePoint(c);
+            }
+        }
+        if (quote) {
+            ensureSpace(1);
+            buffer.put((byte) '"');
+        }
+    }
+
+    private void putJsonString(String value) {
+        ensureSpace(1);
+        buffer.put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            int c = value.codePointAt(i);
+            i += Character.charCount(c);
+            if (c == '"' || c == '\\') {
+                ensureSpace(2);
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                ensureSpace(6);
+                buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                      .put(hex(c >> 4)).put(hex(c & 0xF));
+            } else {
+                putCodePoint(c);
+            }
+        }
+        ensureSpace(1);
+        buffer.put((byte) '"');
+    }
+
+    private static byte hex(int nibble) {
+        return (byte) (nibble < 10 ? '0' + nibble : 'a' + nibble - 10);
+    }
+
+    /**
+     * Encodes a code point as UTF-8. A lone surrogate, which has no encoding, is written as '?'
+     * as String.getBytes does.
+     */
+    private void putCodePoint(int c) {
+        ensureSpace(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+            buffer.put((byte) '?');
+        } else if (c < 0x10000) {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F))
+                  .put((byte) (0x80 | c & 0x3F));
+        } else {
+            buffer.put((byte) (0xF0 | c >> 18)).put((byte) (0x80 | c >> 12 & 0x3F))
+                  .put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    private void ensureSpace(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        // Hand the full buffer to the writer thread and keep encoding into the other one
+        awaitPendingWrite();
+        ByteBuffer full = buffer;
+        full.flip();
+        pendingWrite = WRITER.submit(() -> {
+            while (full.hasRemaining()) {
+                channel.write(full);
+            }
+            return null;
+        });
+        buffer = spare;
+        buffer.clear();
+        spare = full;
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("Interrupted while writing", e));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new UncheckedIOException(cause instanceof IOException
+                    ? (IOException) cause : new IOException(cause));
+        } finally {
+            pendingWrite = null;
+        }
+    }
+}
@@ -27,76 +27,29 @@ public class RoundRobinScheduler extends AbstractScheduler {
     }
 
     @Override
-    public List<String> execute() {
-        // Reset state
-        ganttChart.clear();
-        completedProcesses.clear();
-        currentTime = 0;
-        contextSwitches = 0;
-
-        // Make a copy of processes and sort by arrival time
-        List<Process> processList = new ArrayList<>(processes);
-        processList.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        // Queue for ready processes
-        Queue<Process> readyQueue = new LinkedList<>();
-        int nextProcessIndex = 0;
-        Process currentProcess = null;
-        int remainingTimeInQuantum = 0;
-
-        while (!allProcessesCompleted()) {
-            // Add newly arrived processes to the ready queue
-            while (nextProcessIndex < processList.size()) {
-                Process p = processList.get(nextProcessIndex);
-                if (p.getArrivalTime() <= currentTime) {
-                    readyQueue.add(p);
-                    nextProcessIndex++;
-                } else {
-                    break;
-                }
-            }
+    protected Queue<Process> createReadyQueue() {
+        // Arrivals and preempted processes join the back of the queue
+        return new ArrayDeque<>();
+    }
 
-            // If the current process has completed its time quantum or has finished execution
-            if (currentProcess != null && (remainingTimeInQuantum == 0 || currentProcess.isCompleted())) {
-                if (!currentProcess.isCompleted()) {
-                    // Add the current process back to the ready queue if it's not completed
-                    readyQueue.add(currentProcess);
-                } else {
-                    // Process has completed execution
-                    completedProcesses.add(currentProcess);
-                }
-                currentProcess = null;
-            }
+    @Override
+    protected int getTimeSlice(Process process) {
+        return Math.min(timeQuantum, process.getRemainingTime());
+    }
 
-            // If no process is currently running, get the next one from the ready queue
-            if (currentProcess == null && !readyQueue.isEmpty()) {
-                currentProcess = readyQueue.poll();
-                remainingTimeInQuantum = timeQuantum;
-                
-                // Count context switch (except for the first process)
-                if (currentTime > 0) {
-                    contextSwitches++;
-                }
-            }
+    @Override
+    protected boolean isPreemptive() {
+        return true;
+    }
 
-            if (currentProcess != null) {
-                // Execute the current process for one time unit
-                int executionTime = Math.min(1, currentProcess.getRemainingTime());
-                int startTime = currentTime;
-                
-                currentProcess.execute(executionTime, currentTime);
-                remainingTimeInQuantum--;
-                
-                // Update Gantt chart
-                updateGanttChart(currentProcess, startTime, currentTime + 1);
-                
-                currentTime++;
-            } else {
-                // No process is ready to execute, increment time
-                currentTime++;
-            }
+    @Override
+    protected void recordExecution(Process process, int startTime, int endTime) {
+        if (!isGanttChartRecorded()) {
+            return;
+        }
+        // The Gantt chart shows Round Robin one time unit at a time
+        for (int t = startTime; t < endTime; t++) {
+            updateGanttChart(process, t, t + 1);
         }
-
-        return ganttChart;
     }
 }
@@ -0,0 +1,138 @@
+package com.cpuscheduler.ui;
+
+import com.cpuscheduler.core.AbstractScheduler;
+import com.cpuscheduler.core.OptimalityBaseline;
+import com.cpuscheduler.core.Scheduler;
+import com.cpuscheduler.core.SchedulerFactory;
+import com.cpuscheduler.core.SchedulingListener;
+import com.cpuscheduler.model.Process;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The headline numbers of one simulation run, as written to a sweep summary.
+ * Summaries have a compact binary form so workers can send them to a coordinator.
+ */
+final class RunSummary {
+    static final String CSV_HEADER = "file,scheduler,processes,avg_waiting,avg_turnaround,avg_response,"
+            + "context_switches,makespan,run_ms,optimal_turnaround,gap";
+
+    final String spec;
+    final int processes;
+    final double averageWaitingTime;
+    final double averageTurnaroundTime;
+    final double averageResponseTime;
+    final int contextSwitches;
+    final int makespan;
+    final long runMillis;
+    // The optimal average turnaround time of the workload, or NaN if it has no baseline
+    final double optimalTurnaroundTime;
+
+    private RunSummary(String spec, int processes, double averageWaitingTime, double averageTurnaroundTime,
+                       double averageResponseTime, int contextSwitches, int makespan, long runMillis,
+                       double optimalTurnaroundTime) {
+        this.spec = spec;
+        this.processes = processes;
+        this.averageWaitingTime = averageWaitingTime;
+        this.averageTurnaroundTime = averageTurnaroundTime;
+        this.averageResponseTime = averageResponseTime;
+        this.contextSwitches = contextSwitches;
+        this.makespan = makespan;
+        this.runMillis = runMillis;
+        this.optimalTurnaroundTime = optimalTurnaroundTime;
+    }
+
+    /**
+     * Computes the baseline that summaries of a workload are compared against. Compute it
+     * once per workload and pass it to every {@link #simulate} call.
+     * @param workload The workload.
+     * @return The optimal average turnaround time, or NaN for workloads with I/O bursts.
+     */
+    static double optimalTurnaroundTime(List<Process> workload) {
+        return OptimalityBaseline.hasBaseline(workload)
+                ? OptimalityBaseline.optimalAverageTurnaroundTime(workload) : Double.NaN;
+    }
+
+    /**
+     * Simulates a workload with one scheduler configuration.
+     * @param workload The workload; it is copied, so it stays untouched.
+     * @param spec The scheduler configuration, as accepted by {@link SchedulerFactory#createScheduler(String)}.
+     * @param optimalTurnaroundTime The baseline from {@link #optimalTurnaroundTime(List)}.
+     * @param listeners Listeners to attach for the run.
+     * @return The summary of the run.
+     */
+    static RunSummary simulate(List<Process> workload, String spec, double optimalTurnaroundTime,
+                               SchedulingListener... listeners) {
+        Scheduler scheduler = SchedulerFactory.createScheduler(spec);
+        if (scheduler instanceof AbstractScheduler) {
+            // Only the summary is kept, and the chart would grow with every time slice
+            ((AbstractScheduler) scheduler).setGanttChartRecorded(false);
+        }
+        for (SchedulingListener listener : listeners) {
+            scheduler.addSchedulingListener(listener);
+        }
+        List<Process> copies = new ArrayList<>(workload.size());
+        for (Process p : workload) {
+            Process copy = new Process(p);
+            copies.add(copy);
+            scheduler.addProcess(copy);
+        }
+
+        long start = System.nanoTime();
+        scheduler.execute();
+        long runMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int makespan = 0;
+        for (Process p : copies) {
+            makespan = Math.max(makespan, p.getCompletionTime());
+        }
+        return new RunSummary(spec, copies.size(), scheduler.getAverageWaitingTime(),
+                scheduler.getAverageTurnaroundTime(), scheduler.getAverageResponseTime(),
+                scheduler.getContextSwitches(), makespan, runMillis, optimalTurnaroundTime);
+    }
+
+    /**
+     * Formats the summary as a row under {@link #CSV_HEADER}.
+     * @param fileName The name of the workload file.
+     * @return The CSV row.
+     */
+    String toCsv(String fileName) {
+        String row = String.format(Locale.ROOT, "%s,%s,%d,%.4f,%.4f,%.4f,%d,%d,%d,",
+                csv(fileName), csv(spec), processes, averageWaitingTime, averageTurnaroundTime,
+                averageResponseTime, contextSwitches, makespan, runMillis);
+        // Workloads without a baseline leave both columns empty
+        if (Double.isNaN(optimalTurnaroundTime)) {
+            return row + ",";
+        }
+        return row + String.format(Locale.ROOT, "%.4f,%.4f", optimalTurnaroundTime,
+                OptimalityBaseline.gap(averageTurnaroundTime, optimalTurnaroundTime));
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(spec);
+        out.writeInt(processes);
+        out.writeDouble(averageWaitingTime);
+        out.writeDouble(averageTurnaroundTime);
+        out.writeDouble(averageResponseTime);
+        out.writeInt(contextSwitches);
+        out.writeInt(makespan);
+        out.writeLong(runMillis);
+        out.writeDouble(optimalTurnaroundTime);
+    }
+
+    static RunSummary read(DataInput in) throws IOException {
+        return new RunSummary(in.readUTF(), in.readInt(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readInt(), in.readInt(), in.readLong(), in.readDouble());
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
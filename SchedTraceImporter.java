@@ -0,0 +1,359 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.model.Process;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Turns Linux scheduler traces into workloads.
+ *
+ * Accepts the text output of "perf sched script" (both the key=value and the compact
+ * "comm:pid [prio] state ==> comm:pid [prio]" layouts) and ftrace dumps containing
+ * sched_switch and sched_wakeup events. Each time a task wakes up and runs until it blocks
+ * becomes one process: it arrives at the wakeup, its burst is the CPU time it used before
+ * blocking, and its priority comes from the kernel priority (see {@link #toPriority(int)}).
+ *
+ * The file is read in a single pass. Only tasks that are currently runnable are tracked,
+ * and each process is handed to the consumer as soon as its task blocks, so memory does not
+ * grow with the length of the trace. Tasks already running when the trace starts are picked
+ * up at their next wakeup or switch-in.
+ */
+public class SchedTraceImporter {
+    /** Default time resolution of 10 microseconds, enough for an hour of trace in int time units. */
+    public static final long DEFAULT_RESOLUTION_NANOS = 10_000;
+
+    private final long resolutionNanos;
+    private final Map<Integer, Episode> runnable = new HashMap<>();
+    private Consumer<Process> consumer;
+    private long firstTimestamp = -1;
+    private long lastTimestamp;
+    private int nextId;
+    private long events;
+    private long skippedLines;
+
+    /**
+     * A task's current stretch from wakeup until it blocks.
+     */
+    private static final class Episode {
+        final String name;
+        final long arrival;
+        int kernelPriority;
+        long cpuTime;
+        long runningSince = -1;
+
+        Episode(String name, long arrival, int kernelPriority) {
+            this.name = name;
+            this.arrival = arrival;
+            this.kernelPriority = kernelPriority;
+        }
+    }
+
+    public SchedTraceImporter() {
+        this(DEFAULT_RESOLUTION_NANOS);
+    }
+
+    /**
+     * Creates an importer that maps trace time to scheduler time units.
+     * @param resolutionNanos The length of one scheduler time unit in nanoseconds.
+     */
+    public SchedTraceImporter(long resolutionNanos) {
+        if (resolutionNanos <= 0) {
+            throw new IllegalArgumentException("Resolution must be greater than 0");
+        }
+        this.resolutionNanos = resolutionNanos;
+    }
+
+    /**
+     * Reads a trace file and passes every reconstructed process to the consumer.
+     * Arrival times are relative to the first event in the trace.
+     * @param file The trace file.
+     * @param consumer Receives the processes, in the order their tasks block.
+     * @return The number of processes produced.
+     * @throws IOException If the file cannot be read or the trace is too long for the resolution.
+     */
+    public int importTrace(Path file, Consumer<Process> consumer) throws IOException {
+        this.consumer = consumer;
+        runnable.clear();
+        firstTimestamp = -1;
+        nextId = 1;
+        events = 0;
+        skippedLines = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    parseLine(line);
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    // Truncated or foreign lines are common in long captures; skip them
+                    skippedLines++;
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+
+        // Tasks still runnable at the end of the trace complete with the CPU time seen so far
+        for (Episode episode : runnable.values()) {
+            if (episode.runningSince >= 0) {
+                episode.cpuTime += lastTimestamp - episode.runningSince;
+            }
+            emit(episode);
+        }
+        runnable.clear();
+        return nextId - 1;
+    }
+
+    /**
+     * Converts a trace file into a workload file in the name,arrival,burst,priority format
+     * read by {@link WorkloadReader}, streaming processes straight to disk.
+     * @param trace The trace file.
+     * @param workload The workload file to write.
+     * @return The number of processes written.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public int convert(Path trace, Path workload) throws IOException {
+        try (RecordWriter writer = new RecordWriter(workload, ExportFormat.CSV,
+                "name", "arrival", "burst", "priority")) {
+            return importTrace(trace, p -> writer.beginRecord()
+                .field(p.getName())
+                .field(p.getArrivalTime())
+                .field(p.getBurstTime())
+                .field(p.getPriority())
+                .endRecord());
+        }
+    }
+
+    /**
+     * Gets the number of scheduler events parsed by the last import.
+     * @return The number of events.
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the number of lines of the last import that were not scheduler events.
+     * @return The number of skipped lines.
+     */
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Maps a kernel priority to a process priority, where a lower number is more important.
+     * Real-time priorities (0-99) all map to 1, and nice levels -20..19 (kernel 100-139) map to 1..40.
+     * @param kernelPriority The kernel priority from the trace.
+     * @return The process priority.
+     */
+    public static int toPriority(int kernelPriority) {
+        return Math.max(1, kernelPriority - 99);
+    }
+
+    private void parseLine(String line) {
+        int switchAt = line.indexOf("sched_switch: ");
+        int wakeupAt = switchAt < 0 ? line.indexOf("sched_wakeup") : -1;
+        int eventAt = switchAt >= 0 ? switchAt : wakeupAt;
+        if (eventAt < 0) {
+            skippedLines++;
+            return;
+        }
+        long timestamp = parseTimestamp(line, eventAt);
+        if (timestamp < 0) {
+            skippedLines++;
+            return;
+        }
+        if (firstTimestamp < 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+        events++;
+
+        if (switchAt >= 0) {
+            parseSwitch(line.substring(switchAt + "sched_switch: ".length()), timestamp);
+        } else {
+            int payload = line.indexOf(": ", wakeupAt);
+            if (payload >= 0) {
+                parseWakeup(line.substring(payload + 2), timestamp);
+            }
+        }
+    }
+
+    /**
+     * Finds the "seconds.fraction:" timestamp that precedes the event name and converts it
+     * to nanoseconds without going through floating point.
+     */
+    private static long parseTimestamp(String line, int eventAt) {
+        int end = line.lastIndexOf(':', eventAt);
+        while (end > 0 && !Character.isDigit(line.charAt(end - 1))) {
+            end = line.lastIndexOf(':', end - 1);
+        }
+        if (end <= 0) {
+            return -1;
+        }
+        int start = end;
+        while (start > 0 && (Character.isDigit(line.charAt(start - 1)) || line.charAt(start - 1) == '.')) {
+            start--;
+        }
+        int dot = line.indexOf('.', start);
+        if (dot < 0 || dot >= end) {
+            return -1;
+        }
+        long seconds = Long.parseLong(line.substring(start, dot));
+        long nanos = 0;
+        int digits = 0;
+        for (int i = dot + 1; i < end && digits < 9; i++, digits++) {
+            nanos = nanos * 10 + (line.charAt(i) - '0');
+        }
+        for (; digits < 9; digits++) {
+            nanos *= 10;
+        }
+        return seconds * 1_000_000_000L + nanos;
+    }
+
+    private void parseSwitch(String payload, long timestamp) {
+        int arrow = payload.indexOf(" ==> ");
+        if (arrow < 0) {
+            skippedLines++;
+            return;
+        }
+        String prev = payload.substring(0, arrow);
+        String next = payload.substring(arrow + 5);
+
+        Task prevTask;
+        Task nextTask;
+        String prevState;
+        if (prev.startsWith("prev_comm=")) {
+            prevTask = new Task(field(prev, "prev_comm=", " prev_pid="), intField(prev, "prev_pid="),
+                    intField(prev, "prev_prio="));
+            prevState = field(prev, "prev_state=", null);
+            nextTask = new Task(field(next, "next_comm=", " next_pid="), intField(next, "next_pid="),
+                    intField(next, "next_prio="));
+        } else {
+            // Compact layout: comm:pid [prio] state ==> comm:pid [prio]
+            int bracket = prev.lastIndexOf(" [");
+            prevTask = compactTask(prev.substring(0, bracket), prev.substring(bracket));
+            prevState = prev.substring(prev.lastIndexOf(']') + 1).trim();
+            nextTask = compactTask(next.substring(0, next.lastIndexOf(" [")), next.substring(next.lastIndexOf(" [")));
+        }
+
+        if (prevTask.pid != 0) {
+            switchOut(prevTask, prevState, timestamp);
+        }
+        if (nextTask.pid != 0) {
+            switchIn(nextTask, timestamp);
+        }
+    }
+
+    private void parseWakeup(String payload, long timestamp) {
+        Task task;
+        if (payload.startsWith("comm=")) {
+            task = new Task(field(payload, "comm=", " pid="), intField(payload, "pid="), intField(payload, "prio="));
+        } else {
+            // Compact layout: comm:pid [prio] ...
+            int bracket = payload.indexOf(" [");
+            if (bracket < 0) {
+                skippedLines++;
+                return;
+            }
+            task = compactTask(payload.substring(0, bracket), payload.substring(bracket));
+        }
+        if (task.pid != 0 && !runnable.containsKey(task.pid)) {
+            runnable.put(task.pid, new Episode(task.name(), timestamp, task.priority));
+        }
+    }
+
+    private void switchIn(Task task, long timestamp) {
+        Episode episode = runnable.get(task.pid);
+        if (episode == null) {
+            // No wakeup seen for this task; it became runnable no later than now
+            episode = new Episode(task.name(), timestamp, task.priority);
+            runnable.put(task.pid, episode);
+        }
+        episode.kernelPriority = task.priority;
+        episode.runningSince = timestamp;
+    }
+
+    private void switchOut(Task task, String state, long timestamp) {
+        Episode episode = runnable.get(task.pid);
+        if (episode == null || episode.runningSince < 0) {
+            return; // Started before the trace
+        }
+        episode.cpuTime += timestamp - episode.runningSince;
+        episode.runningSince = -1;
+
+        // Preempted tasks (state R or R+) stay runnable; anything else has blocked
+        if (!state.startsWith("R")) {
+            runnable.remove(task.pid);
+            emit(episode);
+        }
+    }
+
+    private void emit(Episode episode) {
+        if (episode.cpuTime <= 0) {
+            return;
+        }
+        int arrival = toUnits(episode.arrival - firstTimestamp);
+        int burst = Math.max(1, (int) Math.min(Integer.MAX_VALUE,
+                (episode.cpuTime + resolutionNanos - 1) / resolutionNanos));
+        consumer.accept(new Process(nextId++, episode.name, arrival, burst, toPriority(episode.kernelPriority)));
+    }
+
+    private int toUnits(long nanos) {
+        long units = nanos / resolutionNanos;
+        if (units > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Trace is too long for a resolution of " + resolutionNanos
+                    + " ns; use a coarser resolution");
+        }
+        return (int) units;
+    }
+
+    private static String field(String text, String key, String terminator) {
+        int start = text.indexOf(key);
+        if (start < 0) {
+            return "";
+        }
+        start += key.length();
+        int end = terminator != null ? text.indexOf(terminator, start) : text.indexOf(' ', start);
+        return text.substring(start, end < 0 ? text.length() : end);
+    }
+
+    private static int intField(String text, String key) {
+        String value = field(text, key, null);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static Task compactTask(String commAndPid, String rest) {
+        int colon = commAndPid.lastIndexOf(':');
+        int close = rest.indexOf(']');
+        int priority = close > 2 ? Integer.parseInt(rest.substring(2, close).trim()) : 120;
+        return new Task(commAndPid.substring(0, colon).trim(),
+                Integer.parseInt(commAndPid.substring(colon + 1).trim()), priority);
+    }
+
+    /**
+     * A task as named in one event.
+     */
+    private static final class Task {
+        final String comm;
+        final int pid;
+        final int priority;
+
+        Task(String comm, int pid, int priority) {
+            this.comm = comm;
+            this.pid = pid;
+            this.priority = priority;
+        }
+
+        String name() {
+            // Workload files are comma separated, so keep commas out of names
+            return comm.replace(',', '_') + "-" + pid;
+        }
+    }
+}
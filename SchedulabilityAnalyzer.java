@@ -0,0 +1,469 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.PeriodicTask;
+import com.cpuscheduler.model.Process;
+import com.cpuscheduler.model.TaskSet;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Analytical schedulability tests for periodic task sets on one preemptive CPU.
+ *
+ * Fixed-priority sets, ordered rate-monotonic or deadline-monotonic, are checked with exact
+ * response-time analysis; the Liu &amp; Layland utilization bound is reported alongside as the
+ * classic sufficient test. EDF is checked with processor-demand analysis, evaluated with
+ * Quick Processor-demand Analysis (QPA) so that only a handful of points below the
+ * feasibility bound are visited. All tests are exact for synchronous releases and
+ * constrained deadlines, which is what {@link TaskSet} models.
+ *
+ * The tests run on primitive arrays of the task parameters. {@link #analyzeAll} splits a
+ * list of candidate task sets into chunks and analyzes them in parallel, and
+ * {@link #simulate} replays a hyperperiod through the scheduling engine to cross-check a
+ * verdict.
+ */
+public class SchedulabilityAnalyzer {
+    /** The most jobs {@link #simulate} will release in one hyperperiod. */
+    public static final int MAX_SIMULATED_JOBS = 1_000_000;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int threads;
+
+    /**
+     * The scheduling policy a task set is analyzed for.
+     */
+    public enum Policy {
+        /** Fixed priorities, shorter period first. */
+        RATE_MONOTONIC,
+        /** Fixed priorities, shorter relative deadline first. */
+        DEADLINE_MONOTONIC,
+        /** Dynamic priorities, earliest absolute deadline first. */
+        EARLIEST_DEADLINE_FIRST
+    }
+
+    /**
+     * The verdict for one task set.
+     */
+    public static final class Result {
+        private final Policy policy;
+        private final boolean schedulable;
+        private final double utilization;
+        private final double utilizationBound;
+        private final boolean passesUtilizationBound;
+        private final long[] responseTimes;
+        private final long deadlineMissTime;
+
+        Result(Policy policy, boolean schedulable, double utilization, double utilizationBound,
+               boolean passesUtilizationBound, long[] responseTimes, long deadlineMissTime) {
+            this.policy = policy;
+            this.schedulable = schedulable;
+            this.utilization = utilization;
+            this.utilizationBound = utilizationBound;
+            this.passesUtilizationBound = passesUtilizationBound;
+            this.responseTimes = responseTimes;
+            this.deadlineMissTime = deadlineMissTime;
+        }
+
+        public Policy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * Whether every job of every task meets its deadline, according to the exact test.
+         * @return true if the task set is schedulable.
+         */
+        public boolean isSchedulable() {
+            return schedulable;
+        }
+
+        public double getUtilization() {
+            return utilization;
+        }
+
+        /**
+         * Gets the utilization bound of the policy: the Liu &amp; Layland bound for fixed
+         * priorities and 1 for EDF.
+         * @return The bound.
+         */
+        public double getUtilizationBound() {
+            return utilizationBound;
+        }
+
+        /**
+         * Whether the set passes the utilization bound test. The test only applies to implicit
+         * deadlines, so sets with shorter deadlines never pass it.
+         * @return true if the utilization alone proves the set schedulable.
+         */
+        public boolean passesUtilizationBound() {
+            return passesUtilizationBound;
+        }
+
+        /**
+         * Gets the worst-case response time of a task under fixed priorities.
+         * @param task The index of the task in the task set.
+         * @return The response time, or -1 if it exceeds the deadline or the policy is EDF.
+         */
+        public long getResponseTime(int task) {
+            return responseTimes == null ? -1 : responseTimes[task];
+        }
+
+        /**
+         * Gets a time at which the EDF processor demand exceeds the time available.
+         * @return The time, or -1 if there is none or the policy uses fixed priorities.
+         */
+        public long getDeadlineMissTime() {
+            return deadlineMissTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %s (utilization=%.4f, bound=%.4f%s)", policy,
+                    schedulable ? "schedulable" : "not schedulable", utilization, utilizationBound,
+                    passesUtilizationBound ? ", passes bound" : "");
+        }
+    }
+
+    public SchedulabilityAnalyzer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an analyzer for batches of task sets.
+     * @param threads The number of task sets analyzed at the same time.
+     */
+    public SchedulabilityAnalyzer(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the Liu &amp; Layland bound n(2^(1/n) - 1): any n tasks with implicit deadlines and at
+     * most this total utilization are schedulable rate-monotonic.
+     * @param n The number of tasks.
+     * @return The bound.
+     */
+    public static double liuLaylandBound(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of tasks must be greater than 0");
+        }
+        return n * (Math.pow(2, 1.0 / n) - 1);
+    }
+
+    /**
+     * Analyzes one task set.
+     * @param taskSet The task set.
+     * @param policy The scheduling policy.
+     * @return The verdict.
+     */
+    public static Result analyze(TaskSet taskSet, Policy policy) {
+        int n = taskSet.size();
+        long[] wcets = new long[n];
+        long[] periods = new long[n];
+        long[] deadlines = new long[n];
+        for (int i = 0; i < n; i++) {
+            PeriodicTask task = taskSet.get(i);
+            wcets[i] = task.getWcet();
+            periods[i] = task.getPeriod();
+            deadlines[i] = task.getDeadline();
+        }
+        double utilization = taskSet.getUtilization();
+        boolean implicit = taskSet.hasImplicitDeadlines();
+
+        if (policy == Policy.EARLIEST_DEADLINE_FIRST) {
+            long missTime = demandAnalysis(wcets, periods, deadlines, utilization, taskSet.getHyperperiod());
+            return new Result(policy, missTime < 0, utilization, 1, implicit && utilization <= 1, null, missTime);
+        }
+
+        long[] responseTimes = responseTimeAnalysis(wcets, periods, deadlines, priorityOrder(deadlines, periods, policy));
+        boolean schedulable = true;
+        for (long responseTime : responseTimes) {
+            schedulable &= responseTime >= 0;
+        }
+        double bound = liuLaylandBound(n);
+        return new Result(policy, schedulable, utilization, bound, implicit && utilization <= bound,
+                responseTimes, -1);
+    }
+
+    /**
+     * Analyzes many task sets in parallel.
+     * @param taskSets The task sets.
+     * @param policy The scheduling policy.
+     * @return The verdicts, in the order of the task sets.
+     */
+    public List<Result> analyzeAll(List<TaskSet> taskSets, Policy policy) {
+        Result[] results = new Result[taskSets.size()];
+        int chunk = Math.max(1, taskSets.size() / (threads * CHUNKS_PER_THREAD));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "schedulability-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> runs = new ArrayList<>();
+            for (int start = 0; start < results.length; start += chunk) {
+                int from = start;
+                int to = Math.min(results.length, start + chunk);
+                runs.add(CompletableFuture.runAsync(() -> {
+                    for (int i = from; i < to; i++) {
+                        results[i] = analyze(taskSets.get(i), policy);
+                    }
+                }, pool));
+            }
+            for (CompletableFuture<Void> run : runs) {
+                run.join();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Simulates the first hyperperiod of a task set with every job taking its full WCET, and
+     * counts the jobs that complete after their deadline. Jobs run through a preemptive
+     * variant of {@link PriorityScheduler} that decides again at every release, with task
+     * ranks as priorities for fixed-priority policies and absolute deadlines for EDF.
+     * @param taskSet The task set.
+     * @param policy The scheduling policy.
+     * @return The number of deadline misses.
+     * @throws IllegalArgumentException If the hyperperiod holds more than {@link #MAX_SIMULATED_JOBS} jobs.
+     */
+    public static int simulate(TaskSet taskSet, Policy policy) {
+        int n = taskSet.size();
+        long hyperperiod = taskSet.getHyperperiod();
+        long jobCount = 0;
+        for (PeriodicTask task : taskSet.getTasks()) {
+            jobCount += hyperperiod / task.getPeriod();
+            if (hyperperiod > Integer.MAX_VALUE || jobCount > MAX_SIMULATED_JOBS) {
+                throw new IllegalArgumentException("Hyperperiod too long to simulate: " + hyperperiod);
+            }
+        }
+
+        long[] periods = new long[n];
+        long[] deadlines = new long[n];
+        for (int i = 0; i < n; i++) {
+            periods[i] = taskSet.get(i).getPeriod();
+            deadlines[i] = taskSet.get(i).getDeadline();
+        }
+        int[] rank = new int[n];
+        int[] order = priorityOrder(deadlines, periods, policy);
+        for (int k = 0; k < n; k++) {
+            rank[order[k]] = k;
+        }
+
+        List<Process> jobs = new ArrayList<>((int) jobCount);
+        int[] absoluteDeadlines = new int[(int) jobCount];
+        int[] releases = new int[(int) jobCount];
+        for (int i = 0; i < n; i++) {
+            PeriodicTask task = taskSet.get(i);
+            for (int release = 0; release < hyperperiod; release += task.getPeriod()) {
+                int id = jobs.size();
+                int deadline = release + task.getDeadline();
+                int priority = policy == Policy.EARLIEST_DEADLINE_FIRST ? deadline : rank[i];
+                jobs.add(new Process(id, task.getName() + "#" + release / task.getPeriod(),
+                        release, task.getWcet(), priority));
+                absoluteDeadlines[id] = deadline;
+                releases[id] = release;
+            }
+        }
+        Arrays.sort(releases);
+
+        PriorityScheduler scheduler = new PriorityScheduler() {
+            @Override
+            public String getName() {
+                return "Priority Scheduling - Preemptive at releases";
+            }
+
+            @Override
+            protected int getTimeSlice(Process process) {
+                // Run until the job completes or the next release, where a job may preempt it
+                int next = Arrays.binarySearch(releases, currentTime + 1);
+                next = next >= 0 ? next : -next - 1;
+                int slice = process.getRemainingTime();
+                return next < releases.length ? Math.min(slice, releases[next] - currentTime) : slice;
+            }
+
+            @Override
+            protected boolean isPreemptive() {
+                return true;
+            }
+        };
+        jobs.forEach(scheduler::addProcess);
+        scheduler.execute();
+
+        int misses = 0;
+        for (Process job : jobs) {
+            if (job.getCompletionTime() > absoluteDeadlines[job.getId()]) {
+                misses++;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Checks that the analytical verdict for a task set agrees with a simulation of its first
+     * hyperperiod, which covers the worst case for synchronous releases.
+     * @param taskSet The task set.
+     * @param policy The scheduling policy.
+     * @return true if both find the set schedulable or both find a deadline miss.
+     */
+    public static boolean crossCheck(TaskSet taskSet, Policy policy) {
+        return analyze(taskSet, policy).isSchedulable() == (simulate(taskSet, policy) == 0);
+    }
+
+    /**
+     * Orders the tasks from highest to lowest fixed priority, breaking ties by the other
+     * parameter and then by index.
+     */
+    private static int[] priorityOrder(long[] deadlines, long[] periods, Policy policy) {
+        long[] primary = policy == Policy.RATE_MONOTONIC ? periods : deadlines;
+        long[] secondary = policy == Policy.RATE_MONOTONIC ? deadlines : periods;
+        int n = primary.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            // Insertion sort; task sets are small
+            int j = i;
+            while (j > 0 && (primary[order[j - 1]] > primary[i]
+                    || (primary[order[j - 1]] == primary[i] && secondary[order[j - 1]] > secondary[i]))) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Computes the worst-case response time of every task by iterating
+     * R = C_i + sum over higher-priority tasks j of ceil(R / T_j) * C_j to a fixed point.
+     * @return The response times by task index, with -1 for tasks that miss their deadline.
+     */
+    private static long[] responseTimeAnalysis(long[] wcets, long[] periods, long[] deadlines, int[] order) {
+        long[] responseTimes = new long[wcets.length];
+        for (int k = 0; k < order.length; k++) {
+            int task = order[k];
+            long response = 0;
+            for (int j = 0; j <= k; j++) {
+                response += wcets[order[j]];
+            }
+            while (true) {
+                if (response > deadlines[task]) {
+                    response = -1;
+                    break;
+                }
+                long next = wcets[task];
+                for (int j = 0; j < k; j++) {
+                    int higher = order[j];
+                    next += (response + periods[higher] - 1) / periods[higher] * wcets[higher];
+                }
+                if (next == response) {
+                    break;
+                }
+                response = next;
+            }
+            responseTimes[task] = response;
+        }
+        return responseTimes;
+    }
+
+    /**
+     * Checks that the EDF processor demand h(t) never exceeds t, using QPA.
+     * @return A time at which it does, or -1 if the set is schedulable.
+     */
+    private static long demandAnalysis(long[] wcets, long[] periods, long[] deadlines, double utilization,
+                                       long hyperperiod) {
+        int n = wcets.length;
+        if (exceedsOne(wcets, periods, hyperperiod, utilization)) {
+            // Demand grows faster than time, so some deadline is missed by the end of the hyperperiod
+            return hyperperiod;
+        }
+
+        // Only deadlines before both the synchronous busy period and the bound La need checking
+        long minDeadline = Long.MAX_VALUE;
+        long maxDeadline = 0;
+        double slack = 0;
+        double density = 0;
+        for (int i = 0; i < n; i++) {
+            minDeadline = Math.min(minDeadline, deadlines[i]);
+            maxDeadline = Math.max(maxDeadline, deadlines[i]);
+            slack += (double) (periods[i] - deadlines[i]) * wcets[i] / periods[i];
+            density += (double) wcets[i] / deadlines[i];
+        }
+        if (slack == 0 || density < 1) {
+            // Implicit deadlines need only U <= 1; a density below 1 is sufficient for any deadlines
+            return -1;
+        }
+        long limit = hyperperiod;
+        if (utilization < 1) {
+            double la = Math.ceil(slack / (1 - utilization));
+            limit = Math.min(limit, Math.max(maxDeadline, la >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) la + 1));
+        }
+        long busyPeriod = 0;
+        for (long wcet : wcets) {
+            busyPeriod += wcet;
+        }
+        while (busyPeriod < limit) {
+            long next = 0;
+            for (int i = 0; i < n; i++) {
+                next += (busyPeriod + periods[i] - 1) / periods[i] * wcets[i];
+            }
+            if (next == busyPeriod) {
+                limit = busyPeriod;
+                break;
+            }
+            busyPeriod = next;
+        }
+
+        long t = lastDeadlineBefore(limit == Long.MAX_VALUE ? limit : limit + 1, periods, deadlines);
+        if (t < 0) {
+            return -1;
+        }
+        long demand = demand(t, wcets, periods, deadlines);
+        while (demand <= t && demand > minDeadline) {
+            t = demand < t ? demand : lastDeadlineBefore(t, periods, deadlines);
+            demand = demand(t, wcets, periods, deadlines);
+        }
+        return demand <= minDeadline ? -1 : t;
+    }
+
+    /**
+     * Whether the total utilization is above 1, compared exactly over the hyperperiod when it
+     * fits in a long.
+     */
+    private static boolean exceedsOne(long[] wcets, long[] periods, long hyperperiod, double utilization) {
+        if (hyperperiod == Long.MAX_VALUE) {
+            return utilization > 1;
+        }
+        long demand = 0;
+        for (int i = 0; i < wcets.length; i++) {
+            long taskDemand = hyperperiod / periods[i] * wcets[i];
+            if (taskDemand > hyperperiod - demand) {
+                return true;
+            }
+            demand += taskDemand;
+        }
+        return false;
+    }
+
+    private static long demand(long t, long[] wcets, long[] periods, long[] deadlines) {
+        long demand = 0;
+        for (int i = 0; i < wcets.length; i++) {
+            if (t >= deadlines[i]) {
+                demand += ((t - deadlines[i]) / periods[i] + 1) * wcets[i];
+            }
+        }
+        return demand;
+    }
+
+    private static long lastDeadlineBefore(long t, long[] periods, long[] deadlines) {
+        long last = -1;
+        for (int i = 0; i < periods.length; i++) {
+            if (deadlines[i] < t) {
+                last = Math.max(last, deadlines[i] + (t - 1 - deadlines[i]) / periods[i] * periods[i]);
+            }
+        }
+        return last;
+    }
+}
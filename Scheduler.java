@@ -48,4 +48,20 @@ public interface Scheduler {
      * @return The number of context switches.
      */
     int getContextSwitches();
+
+    /**
+     * Registers a listener for the events of subsequent runs.
+     * Schedulers that do not report events, such as plugins written before listeners existed,
+     * ignore listeners, so they see no events.
+     * @param listener The listener to add.
+     */
+    default void addSchedulingListener(SchedulingListener listener) {
+    }
+
+    /**
+     * Unregisters a listener.
+     * @param listener The listener to remove.
+     */
+    default void removeSchedulingListener(SchedulingListener listener) {
+    }
 }
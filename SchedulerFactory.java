@@ -1,7 +1,13 @@
 package com.cpuscheduler.core;
 
+import java.util.*;
+
 /**
  * Factory class for creating different types of CPU schedulers.
+ *
+ * Policies are described by {@link SchedulerProvider}s. The built-in policies are always
+ * available; additional providers are discovered with {@link ServiceLoader} the first time a
+ * policy is requested that is not built in, or when the full list is asked for.
  */
 public class SchedulerFactory {
     public enum SchedulerType {
@@ -11,6 +17,8 @@ public class SchedulerFactory {
         ROUND_ROBIN
     }
 
+    private static volatile List<SchedulerProvider> providers;
+
     /**
      * Creates a scheduler of the specified type.
      * @param type The type of scheduler to create.
@@ -18,18 +26,152 @@ public class SchedulerFactory {
      * @return An instance of the specified scheduler.
      */
     public static Scheduler createScheduler(SchedulerType type, int timeQuantum) {
-        switch (type) {
-            case FCFS:
-                return new FCFSScheduler();
-            case SJF:
-                return new SJFScheduler();
-            case PRIORITY:
-                return new PriorityScheduler();
-            case ROUND_ROBIN:
-                return new RoundRobinScheduler(timeQuantum);
-            default:
-                throw new IllegalArgumentException("Unknown scheduler type: " + type);
+        SchedulerProvider provider = getProvider(type.name());
+        return provider.getParameters().isEmpty() ? createScheduler(provider) : createScheduler(provider, timeQuantum);
+    }
+
+    /**
+     * Creates a scheduler from a textual configuration: a policy name optionally followed by
+     * its parameters, separated by colons, such as "FCFS", "RR" or "RR:8". Names are
+     * case-insensitive, and omitted parameters take their default values.
+     * @param spec The scheduler configuration.
+     * @return An instance of the specified scheduler.
+     */
+    public static Scheduler createScheduler(String spec) {
+        String[] parts = spec.trim().split(":");
+        SchedulerProvider provider = getProvider(parts[0].trim());
+        if (parts.length - 1 > provider.getParameters().size()) {
+            throw new IllegalArgumentException(provider.getParameters().isEmpty()
+                    ? provider.getName() + " takes no parameters: " + spec
+                    : "Too many parameters: " + spec);
+        }
+        int[] arguments = new int[parts.length - 1];
+        for (int i = 0; i < arguments.length; i++) {
+            try {
+                arguments[i] = Integer.parseInt(parts[i + 1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + provider.getParameters().get(i).getDescription()
+                        + ": " + spec);
+            }
+        }
+        return createScheduler(provider, arguments);
+    }
+
+    /**
+     * Creates a scheduler from a provider, filling in defaults for omitted trailing parameters.
+     * @param provider The provider of the policy.
+     * @param arguments Values for the leading parameters.
+     * @return An instance of the policy.
+     * @throws IllegalArgumentException If there are too many arguments or one is outside its range.
+     */
+    public static Scheduler createScheduler(SchedulerProvider provider, int... arguments) {
+        List<SchedulerProvider.Parameter> parameters = provider.getParameters();
+        if (arguments.length > parameters.size()) {
+            throw new IllegalArgumentException(provider.getName() + " takes " + parameters.size() + " parameters");
+        }
+        int[] values = new int[parameters.size()];
+        for (int i = 0; i < values.length; i++) {
+            SchedulerProvider.Parameter parameter = parameters.get(i);
+            values[i] = i < arguments.length ? arguments[i] : parameter.getDefaultValue();
+            if (values[i] < parameter.getMinimum()) {
+                throw new IllegalArgumentException(capitalize(parameter.getDescription()) + " must be at least "
+                        + parameter.getMinimum());
+            }
+            if (values[i] > parameter.getMaximum()) {
+                throw new IllegalArgumentException(capitalize(parameter.getDescription()) + " must be at most "
+                        + parameter.getMaximum());
+            }
+        }
+        return provider.create(values);
+    }
+
+    /**
+     * Gets every available policy: the built-in ones followed by those found on the classpath.
+     * Plugins are discovered on the first call. A plugin whose name clashes with an earlier
+     * provider, or that fails to load, is skipped with a warning.
+     * @return The providers.
+     */
+    public static List<SchedulerProvider> getProviders() {
+        List<SchedulerProvider> result = providers;
+        if (result == null) {
+            synchronized (SchedulerFactory.class) {
+                result = providers;
+                if (result == null) {
+                    result = loadProviders();
+                    providers = result;
+                }
+            }
         }
+        return result;
+    }
+
+    /**
+     * Finds a policy by name or alias, ignoring case. Built-in policies are found without
+     * scanning the classpath for plugins.
+     * @param name The name of the policy.
+     * @return The provider, if there is one.
+     */
+    public static Optional<SchedulerProvider> findProvider(String name) {
+        SchedulerProvider provider = find(BuiltInSchedulerProvider.ALL, name);
+        if (provider == null) {
+            provider = find(getProviders(), name);
+        }
+        return Optional.ofNullable(provider);
+    }
+
+    private static SchedulerProvider getProvider(String name) {
+        return findProvider(name)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown scheduler type: " + name));
+    }
+
+    private static SchedulerProvider find(List<SchedulerProvider> candidates, String name) {
+        for (SchedulerProvider provider : candidates) {
+            if (matches(provider, name)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(SchedulerProvider provider, String name) {
+        if (provider.getName().equalsIgnoreCase(name)) {
+            return true;
+        }
+        for (String alias : provider.getAliases()) {
+            if (alias.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<SchedulerProvider> loadProviders() {
+        List<SchedulerProvider> result = new ArrayList<>(BuiltInSchedulerProvider.ALL);
+        Iterator<SchedulerProvider> plugins = ServiceLoader.load(SchedulerProvider.class).iterator();
+        while (true) {
+            SchedulerProvider plugin;
+            try {
+                if (!plugins.hasNext()) {
+                    break;
+                }
+                plugin = plugins.next();
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Skipping scheduler plugin: " + e.getMessage());
+                continue;
+            }
+            SchedulerProvider clash = find(result, plugin.getName());
+            if (clash != null) {
+                System.err.println("Skipping scheduler plugin " + plugin.getClass().getName()
+                        + ": the name " + plugin.getName() + " is already taken by " + clash.getDisplayName());
+                continue;
+            }
+            result.add(plugin);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
     }
 
     /**
@@ -38,6 +180,6 @@ public class SchedulerFactory {
      * @return An instance of the specified scheduler.
      */
     public static Scheduler createScheduler(SchedulerType type) {
-        return createScheduler(type, 4); // Default time quantum of 4 for Round Robin
+        return createScheduler(getProvider(type.name()));
     }
 }
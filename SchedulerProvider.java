@@ -0,0 +1,124 @@
+package com.cpuscheduler.core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service provider interface for scheduling policies.
+ *
+ * A provider describes a policy (its name, parameters and whether it preempts) and creates
+ * instances of it. Providers should stay lightweight: the metadata is read to build menus and
+ * validate configurations, while the policy itself is only loaded when {@link #create(int[])}
+ * is called.
+ *
+ * Custom policies are plugged in by implementing this interface and listing the implementation
+ * in META-INF/services/com.cpuscheduler.core.SchedulerProvider on the classpath. They are then
+ * available everywhere a scheduler can be chosen, under their name, for example "MYPOLICY:3".
+ */
+public interface SchedulerProvider {
+    /**
+     * Gets the short name used in configurations such as "RR:4". Names are case-insensitive.
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Gets other names the policy may be configured by.
+     * @return The aliases; empty by default.
+     */
+    default List<String> getAliases() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Gets the name shown in menus.
+     * @return The display name.
+     */
+    String getDisplayName();
+
+    /**
+     * Gets the integer parameters the policy takes, in the order they appear in a configuration.
+     * @return The parameters; empty by default.
+     */
+    default List<Parameter> getParameters() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checks whether the policy can take the CPU away from a running process.
+     * @return True if the policy is preemptive.
+     */
+    boolean isPreemptive();
+
+    /**
+     * Creates a scheduler.
+     * @param arguments One validated value per parameter, with defaults filled in.
+     * @return A new scheduler.
+     */
+    Scheduler create(int[] arguments);
+
+    /**
+     * An integer parameter of a policy.
+     */
+    final class Parameter {
+        private final String name;
+        private final String description;
+        private final int defaultValue;
+        private final int minimum;
+        private final int maximum;
+
+        /**
+         * Creates a parameter with no upper limit.
+         * @param name The short name of the parameter.
+         * @param description A description to prompt with, such as "time quantum".
+         * @param defaultValue The value used when none is given.
+         * @param minimum The smallest allowed value.
+         */
+        public Parameter(String name, String description, int defaultValue, int minimum) {
+            this(name, description, defaultValue, minimum, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Creates a parameter.
+         * @param name The short name of the parameter.
+         * @param description A description to prompt with, such as "time quantum".
+         * @param defaultValue The value used when none is given.
+         * @param minimum The smallest allowed value.
+         * @param maximum The largest allowed value.
+         */
+        public Parameter(String name, String description, int defaultValue, int minimum, int maximum) {
+            if (defaultValue < minimum || defaultValue > maximum) {
+                throw new IllegalArgumentException("Default value of " + name + " is outside its range");
+            }
+            this.name = name;
+            this.description = description;
+            this.defaultValue = defaultValue;
+            this.minimum = minimum;
+            this.maximum = maximum;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public int getDefaultValue() {
+            return defaultValue;
+        }
+
+        public int getMinimum() {
+            return minimum;
+        }
+
+        /**
+         * Gets the largest allowed value.
+         * @return The maximum, Integer.MAX_VALUE if there is no upper limit.
+         */
+        public int getMaximum() {
+            return maximum;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The complete state of a paused scheduler run, with a compact binary file format.
+ *
+ * A snapshot taken with {@link AbstractScheduler#takeSnapshot()} copies only the ready queue;
+ * completed processes never change again and processes that have not arrived are written
+ * from their fixed attributes, so the rest of the workload is read while the file is being
+ * written and the simulation can keep running. A snapshot read back with {@link #read(Path)}
+ * can be resumed in a fresh JVM with {@link AbstractScheduler#resume(SchedulerSnapshot)}
+ * and produces the same results as the original run.
+ */
+public class SchedulerSnapshot {
+    private static final int MAGIC = 0x43505553; // "CPUS"
+    private static final short VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // A single writer thread keeps snapshots of one run in order
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    final String schedulerName;
+    final int time;
+    final int nextArrival;
+    final int contextSwitches;
+    final int completedCount;
+    final int ganttCursor;
+    final int decisionsSinceCheckpoint;
+    final long totalWaitingTime;
+    final long totalTurnaroundTime;
+    final long totalResponseTime;
+    // Processes in arrival order; only the attributes fixed at the time of the snapshot are read
+    final List<Process> jobs;
+    // Ready queue in queue order, as positions in jobs, with each process's progress
+    final int[] readyJobs;
+    final int[] readyRemainingTimes;
+    final int[] readyResponseTimes;
+
+    SchedulerSnapshot(String schedulerName, int time, int nextArrival, int contextSwitches,
+                      int completedCount, int ganttCursor, int decisionsSinceCheckpoint,
+                      long totalWaitingTime, long totalTurnaroundTime, long totalResponseTime,
+                      List<Process> jobs, int[] readyJobs, int[] readyRemainingTimes, int[] readyResponseTimes) {
+        this.schedulerName = schedulerName;
+        this.time = time;
+        this.nextArrival = nextArrival;
+        this.contextSwitches = contextSwitches;
+        this.completedCount = completedCount;
+        this.ganttCursor = ganttCursor;
+        this.decisionsSinceCheckpoint = decisionsSinceCheckpoint;
+        this.totalWaitingTime = totalWaitingTime;
+        this.totalTurnaroundTime = totalTurnaroundTime;
+        this.totalResponseTime = totalResponseTime;
+        this.jobs = jobs;
+        this.readyJobs = readyJobs;
+        this.readyRemainingTimes = readyRemainingTimes;
+        this.readyResponseTimes = readyResponseTimes;
+    }
+
+    /**
+     * Gets the name of the scheduler the snapshot was taken from.
+     * @return The scheduler name.
+     */
+    public String getSchedulerName() {
+        return schedulerName;
+    }
+
+    /**
+     * Gets the simulated time at which the snapshot was taken.
+     * @return The simulated time.
+     */
+    public int getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the number of Gantt chart entries recorded before the snapshot.
+     * A resumed scheduler's Gantt chart starts with the entry at this position.
+     * @return The Gantt chart cursor.
+     */
+    public int getGanttCursor() {
+        return ganttCursor;
+    }
+
+    /**
+     * Writes the snapshot to a file on a background thread.
+     * The file is written next to the target and moved into place when complete, so a crash
+     * during the write leaves any previous snapshot intact. The run may continue while the
+     * write is in progress, but the workload must not be edited until it has finished.
+     * @param file The file to write.
+     * @return A future that completes with the file once it has been written.
+     */
+    public CompletableFuture<Path> writeAsync(Path file) {
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        WRITER.execute(() -> {
+            try {
+                write(file);
+                result.complete(file);
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putShort(VERSION);
+            putString(channel, buffer, schedulerName);
+            buffer.putInt(time).putInt(nextArrival).putInt(contextSwitches)
+                  .putInt(completedCount).putInt(ganttCursor).putInt(decisionsSinceCheckpoint)
+                  .putLong(totalWaitingTime).putLong(totalTurnaroundTime).putLong(totalResponseTime)
+                  .putInt(jobs.size()).putInt(readyJobs.length);
+
+            for (int i = 0; i < readyJobs.length; i++) {
+                ensureSpace(channel, buffer, 12);
+                buffer.putInt(readyJobs[i]).putInt(readyRemainingTimes[i]).putInt(readyResponseTimes[i]);
+            }
+
+            // Admitted processes that are not waiting have completed; their results are final
+            boolean[] ready = new boolean[nextArrival];
+            for (int job : readyJobs) {
+                ready[job] = true;
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                Process p = jobs.get(i);
+                ensureSpace(channel, buffer, 20);
+                buffer.putInt(p.getId()).putInt(p.getArrivalTime()).putInt(p.getBurstTime()).putInt(p.getPriority());
+                putString(channel, buffer, p.getName());
+                if (i < nextArrival && !ready[i]) {
+                    ensureSpace(channel, buffer, 8);
+                    buffer.putInt(p.getResponseTime()).putInt(p.getCompletionTime());
+                }
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeAsync(Path)}.
+     * @param file The snapshot file.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static SchedulerSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("Not a scheduler snapshot: " + file);
+            }
+
+            String schedulerName = getString(buffer);
+            int time = buffer.getInt();
+            int nextArrival = buffer.getInt();
+            int contextSwitches = buffer.getInt();
+            int completedCount = buffer.getInt();
+            int ganttCursor = buffer.getInt();
+            int decisionsSinceCheckpoint = buffer.getInt();
+            long totalWaitingTime = buffer.getLong();
+            long totalTurnaroundTime = buffer.getLong();
+            long totalResponseTime = buffer.getLong();
+            int jobCount = buffer.getInt();
+            int readyCount = buffer.getInt();
+
+            int[] readyJobs = new int[readyCount];
+            int[] readyRemainingTimes = new int[readyCount];
+            int[] readyResponseTimes = new int[readyCount];
+            boolean[] ready = new boolean[nextArrival];
+            for (int i = 0; i < readyCount; i++) {
+                readyJobs[i] = buffer.getInt();
+                readyRemainingTimes[i] = buffer.getInt();
+                readyResponseTimes[i] = buffer.getInt();
+                ready[readyJobs[i]] = true;
+            }
+
+            List<Process> jobs = new ArrayList<>(jobCount);
+            for (int i = 0; i < jobCount; i++) {
+                int id = buffer.getInt();
+                int arrivalTime = buffer.getInt();
+                int burstTime = buffer.getInt();
+                int priority = buffer.getInt();
+                Process p = new Process(id, getString(buffer), arrivalTime, burstTime, priority);
+                if (i < nextArrival && !ready[i]) {
+                    p.restore(0, buffer.getInt());
+                    p.setCompletionTime(buffer.getInt());
+                }
+                jobs.add(p);
+            }
+
+            return new SchedulerSnapshot(schedulerName, time, nextArrival, contextSwitches,
+                    completedCount, ganttCursor, decisionsSinceCheckpoint,
+                    totalWaitingTime, totalTurnaroundTime, totalResponseTime,
+                    jobs, readyJobs, readyRemainingTimes, readyResponseTimes);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new EOFException("Truncated scheduler snapshot: " + file);
+        }
+    }
+
+    private static void ensureSpace(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static void putString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > BUFFER_SIZE - 4) {
+            throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        }
+        ensureSpace(channel, buffer, 4 + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
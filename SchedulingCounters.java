@@ -0,0 +1,113 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters for scheduler runs.
+ * The counters are striped, so one instance can be shared by many schedulers running on
+ * different threads, for example every run of a batch, without contention.
+ */
+public class SchedulingCounters implements SchedulingListener {
+    private final LongAdder arrivals = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder preemptions = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder idleTime = new LongAdder();
+    private final LongAdder queueDepthTotal = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+    private volatile long startNanos = System.nanoTime();
+
+    @Override
+    public void onArrival(Process process, int time) {
+        arrivals.increment();
+    }
+
+    @Override
+    public void onDispatch(Process process, int time, int readyQueueLength) {
+        decisions.increment();
+        queueDepthTotal.add(readyQueueLength);
+        maxQueueDepth.accumulate(readyQueueLength);
+    }
+
+    @Override
+    public void onPreemption(Process process, int time) {
+        preemptions.increment();
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        completions.increment();
+    }
+
+    @Override
+    public void onIdle(int startTime, int endTime) {
+        idleTime.add(endTime - startTime);
+    }
+
+    /**
+     * Clears all counters and restarts the clock used for rates.
+     */
+    public void reset() {
+        arrivals.reset();
+        decisions.reset();
+        preemptions.reset();
+        completions.reset();
+        idleTime.reset();
+        queueDepthTotal.reset();
+        maxQueueDepth.reset();
+        startNanos = System.nanoTime();
+    }
+
+    public long getArrivals() {
+        return arrivals.sum();
+    }
+
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    public long getPreemptions() {
+        return preemptions.sum();
+    }
+
+    public long getCompletions() {
+        return completions.sum();
+    }
+
+    public long getIdleTime() {
+        return idleTime.sum();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Gets the average ready queue length seen at dispatch time.
+     * @return The average queue depth.
+     */
+    public double getAverageQueueDepth() {
+        long count = decisions.sum();
+        return count == 0 ? 0 : (double) queueDepthTotal.sum() / count;
+    }
+
+    /**
+     * Gets the number of scheduling decisions per second of wall-clock time since the
+     * counters were created or last reset.
+     * @return The decision rate.
+     */
+    public double getDecisionsPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : decisions.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("decisions=%d (%.0f/s), arrivals=%d, preemptions=%d, completions=%d, "
+                + "idle=%d, avgQueue=%.2f, maxQueue=%d",
+                getDecisions(), getDecisionsPerSecond(), getArrivals(), getPreemptions(),
+                getCompletions(), getIdleTime(), getAverageQueueDepth(), getMaxQueueDepth());
+    }
+}
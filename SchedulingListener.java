@@ -0,0 +1,70 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+
+/**
+ * Receives the events of a scheduler run.
+ * Events are delivered on the simulation thread in the order the scheduler handles them;
+ * each carries the simulated time at which it happened. Processes that arrive while
+ * another process is running are reported when that time slice ends.
+ * All methods do nothing by default, so listeners only override what they need.
+ */
+public interface SchedulingListener {
+    /**
+     * Called when a process enters the ready queue for the first time.
+     * @param process The process that arrived.
+     * @param time The arrival time.
+     */
+    default void onArrival(Process process, int time) {
+    }
+
+    /**
+     * Called when a process is given the CPU.
+     * @param process The process being dispatched.
+     * @param time The dispatch time.
+     * @param readyQueueLength The number of processes left waiting in the ready queue.
+     */
+    default void onDispatch(Process process, int time, int readyQueueLength) {
+    }
+
+    /**
+     * Called when a process loses the CPU before it has completed.
+     * @param process The process that was preempted.
+     * @param time The time its slice ended.
+     */
+    default void onPreemption(Process process, int time) {
+    }
+
+    /**
+     * Called when a process finishes a CPU burst and starts waiting for a device.
+     * @param process The process that blocked; {@link Process#getIoDevice()} names the device.
+     * @param time The time its CPU burst ended.
+     */
+    default void onBlock(Process process, int time) {
+    }
+
+    /**
+     * Called when the I/O burst of a blocked process completes and it re-enters the ready queue.
+     * Like arrivals, wakeups during a time slice are reported when the slice ends.
+     * @param process The process that woke up.
+     * @param time The time its I/O burst completed.
+     */
+    default void onWakeup(Process process, int time) {
+    }
+
+    /**
+     * Called when a process completes.
+     * @param process The process that completed.
+     * @param time The completion time.
+     */
+    default void onCompletion(Process process, int time) {
+    }
+
+    /**
+     * Called when the CPU has nothing to run until the next arrival or wakeup.
+     * @param startTime The time the CPU became idle.
+     * @param endTime The time of the next arrival or wakeup.
+     */
+    default void onIdle(int startTime, int endTime) {
+    }
+}
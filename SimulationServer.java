@@ -0,0 +1,447 @@
+package com.cpuscheduler.ui;
+
+import com.cpuscheduler.core.OptimalityBaseline;
+import com.cpuscheduler.core.SchedulerFactory;
+import com.cpuscheduler.core.SchedulerProvider;
+import com.cpuscheduler.core.SchedulingListener;
+import com.cpuscheduler.io.WorkloadReader;
+import com.cpuscheduler.model.Process;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves simulations over HTTP so other tools can run them without the CLI or the GUI.
+ *
+ * Usage: --serve &lt;port&gt; [--bind 127.0.0.1] [--max-concurrent N] [--queue-timeout-ms 1000]
+ *
+ * POST /simulate?scheduler=FCFS&amp;scheduler=RR:4[&amp;timeline=true] takes workloads in the
+ * CLI's name,arrival,burst[,priority] format as the body. Several workloads can be sent at
+ * once, separated by lines of "---", and scheduler may list several configurations,
+ * repeated or comma separated. The reply is a JSON object with one result per workload and
+ * configuration, in that order, holding the same metrics as a batch summary and optionally
+ * the timeline of the run. GET /schedulers lists the policies and GET /stats the counters.
+ *
+ * Each request runs on its own virtual thread on JDKs that have them, and on a bounded pool
+ * of platform threads otherwise. At most max-concurrent requests simulate at a time, by
+ * default one per processor; a request that cannot start within the queue timeout is turned
+ * away with 503. A request identical to one still running waits for that one's reply instead
+ * of simulating again.
+ */
+public class SimulationServer {
+    private static final String USAGE = "Usage: --serve <port> [--bind 127.0.0.1] [--max-concurrent N] "
+            + "[--queue-timeout-ms 1000]";
+    private static final int DEFAULT_QUEUE_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_BODY_BYTES = 16 << 20;
+    private static final String WORKLOAD_SEPARATOR = "(?m)^---\\s*$";
+
+    private final InetSocketAddress address;
+    private final int maxConcurrent;
+    private final int queueTimeoutMillis;
+    private final Semaphore permits;
+    // Replies being computed, by request; identical requests share one
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder simulations = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a server.
+     * @param address The address to listen on; port 0 picks a free port.
+     * @param maxConcurrent The number of requests that may simulate at the same time.
+     * @param queueTimeoutMillis How long a request may wait to start before it is turned away.
+     */
+    public SimulationServer(InetSocketAddress address, int maxConcurrent, int queueTimeoutMillis) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Maximum concurrency must be greater than 0");
+        }
+        if (queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Queue timeout must be >= 0");
+        }
+        this.address = Objects.requireNonNull(address);
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Creates a server from command-line arguments.
+     * @param args The arguments, starting with --serve.
+     * @return The server.
+     * @throws IllegalArgumentException If the arguments are incomplete or invalid.
+     */
+    public static SimulationServer fromArgs(String[] args) {
+        Map<String, String> options = BatchRunner.parseOptions(args, USAGE, "--serve");
+        int port = BatchRunner.intOption(options, "--serve", 0);
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        InetSocketAddress address = options.containsKey("--bind")
+                ? new InetSocketAddress(options.get("--bind"), port)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        return new SimulationServer(address,
+                BatchRunner.intOption(options, "--max-concurrent", Runtime.getRuntime().availableProcessors()),
+                BatchRunner.intOption(options, "--queue-timeout-ms", DEFAULT_QUEUE_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Starts serving in the background.
+     * @return The port the server is listening on.
+     * @throws IOException If the address cannot be bound.
+     */
+    public int start() throws IOException {
+        // Replies are small, so without this Nagle's algorithm holds each one back for a
+        // delayed acknowledgement and caps a keep-alive client at some 25 requests a second.
+        // The JDK server reads the setting once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, 1024);
+        executor = newRequestExecutor(maxConcurrent);
+        server.setExecutor(executor);
+        server.createContext("/simulate", this::handleSimulate);
+        server.createContext("/schedulers", this::handleSchedulers);
+        server.createContext("/stats", this::handleStats);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Serves until the process is stopped.
+     * @throws IOException If the address cannot be bound.
+     */
+    public void run() throws IOException {
+        int port = start();
+        System.out.println("Serving simulations on port " + port + " (at most " + maxConcurrent
+                + " at a time)");
+        try {
+            new CountDownLatch(1).await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Stops accepting requests and waits up to a second for running ones to finish.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    /**
+     * Creates a virtual thread per request where the JDK supports it. The factory method is
+     * looked up reflectively so the simulator still builds and runs on JDKs without it.
+     * Admission is limited by the semaphore, so the fallback pool only needs enough threads
+     * to keep the permits busy while other requests queue or are being turned away.
+     */
+    private static ExecutorService newRequestExecutor(int maxConcurrent) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(4 * maxConcurrent, 16), r -> {
+                Thread thread = new Thread(r, "simulation-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handleSimulate(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, error("Use POST"));
+                return;
+            }
+            Map<String, List<String>> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            List<String> specs = new ArrayList<>();
+            for (String value : query.getOrDefault("scheduler", Collections.emptyList())) {
+                specs.addAll(BatchRunner.parseSpecs(value));
+            }
+            if (specs.isEmpty()) {
+                send(exchange, 400, error("At least one scheduler parameter is required"));
+                return;
+            }
+            boolean timeline = query.getOrDefault("timeline", Collections.emptyList()).contains("true");
+            String body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                send(exchange, 413, error("Request body is larger than " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+
+            String key = String.join(",", specs) + '\n' + timeline + '\n' + body;
+            CompletableFuture<byte[]> reply = new CompletableFuture<>();
+            CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, reply);
+            if (running != null) {
+                deduplicated.increment();
+                reply = running;
+            } else {
+                try {
+                    reply.complete(simulate(body, specs, timeline));
+                } catch (Throwable e) {
+                    reply.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, reply);
+                }
+            }
+
+            try {
+                send(exchange, 200, reply.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RejectedExecutionException) {
+                    rejected.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    send(exchange, 503, error(cause.getMessage()));
+                } else if (cause instanceof IllegalArgumentException || cause instanceof IOException) {
+                    send(exchange, 400, error(cause.getMessage()));
+                } else {
+                    send(exchange, 500, error(String.valueOf(cause)));
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs every configuration on every workload of a request, once a permit is free.
+     * @return The JSON reply.
+     * @throws RejectedExecutionException If no permit became free within the queue timeout.
+     */
+    private byte[] simulate(String body, List<String> specs, boolean timeline) throws IOException {
+        // Parse and validate before waiting for a permit, so bad requests fail fast
+        List<List<Process>> workloads = new ArrayList<>();
+        String[] parts = body.split(WORKLOAD_SEPARATOR);
+        for (int i = 0; i < parts.length; i++) {
+            List<Process> workload = WorkloadReader.read(new BufferedReader(new StringReader(parts[i])),
+                    "workload " + i);
+            if (workload.isEmpty()) {
+                throw new IllegalArgumentException("workload " + i + ": no processes");
+            }
+            workloads.add(workload);
+        }
+        for (String spec : specs) {
+            SchedulerFactory.createScheduler(spec);
+        }
+
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            throw new RejectedExecutionException("Server busy, try again later");
+        }
+        try {
+            StringBuilder json = new StringBuilder(256).append("{\"results\":[");
+            for (int w = 0; w < workloads.size(); w++) {
+                List<Process> workload = workloads.get(w);
+                double optimum = RunSummary.optimalTurnaroundTime(workload);
+                for (String spec : specs) {
+                    TimelineRecorder recorder = timeline ? new TimelineRecorder() : null;
+                    RunSummary summary = recorder != null
+                            ? RunSummary.simulate(workload, spec, optimum, recorder)
+                            : RunSummary.simulate(workload, spec, optimum);
+                    simulations.increment();
+                    if (json.charAt(json.length() - 1) == '}') {
+                        json.append(',');
+                    }
+                    appendResult(json, w, summary);
+                    if (recorder != null) {
+                        json.setLength(json.length() - 1);
+                        json.append(",\"timeline\":[").append(recorder.segments).append("]}");
+                    }
+                }
+            }
+            return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void appendResult(StringBuilder json, int workload, RunSummary summary) {
+        json.append("{\"workload\":").append(workload)
+            .append(",\"scheduler\":");
+        appendString(json, summary.spec);
+        json.append(",\"processes\":").append(summary.processes)
+            .append(",\"avgWaiting\":").append(number(summary.averageWaitingTime))
+            .append(",\"avgTurnaround\":").append(number(summary.averageTurnaroundTime))
+            .append(",\"avgResponse\":").append(number(summary.averageResponseTime))
+            .append(",\"contextSwitches\":").append(summary.contextSwitches)
+            .append(",\"makespan\":").append(summary.makespan)
+            .append(",\"optimalTurnaround\":").append(number(summary.optimalTurnaroundTime))
+            .append(",\"gap\":").append(number(
+                    OptimalityBaseline.gap(summary.averageTurnaroundTime, summary.optimalTurnaroundTime)))
+            .append('}');
+    }
+
+    private void handleSchedulers(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder json = new StringBuilder("{\"schedulers\":[");
+            for (SchedulerProvider provider : SchedulerFactory.getProviders()) {
+                if (json.charAt(json.length() - 1) != '[') {
+                    json.append(',');
+                }
+                json.append("{\"name\":");
+                appendString(json, provider.getName());
+                json.append(",\"displayName\":");
+                appendString(json, provider.getDisplayName());
+                json.append(",\"preemptive\":").append(provider.isPreemptive()).append(",\"parameters\":[");
+                for (SchedulerProvider.Parameter parameter : provider.getParameters()) {
+                    if (json.charAt(json.length() - 1) != '[') {
+                        json.append(',');
+                    }
+                    json.append("{\"name\":");
+                    appendString(json, parameter.getName());
+                    json.append(",\"default\":").append(parameter.getDefaultValue())
+                        .append(",\"minimum\":").append(parameter.getMinimum());
+                    if (parameter.getMaximum() != Integer.MAX_VALUE) {
+                        json.append(",\"maximum\":").append(parameter.getMaximum());
+                    }
+                    json.append('}');
+                }
+                json.append("]}");
+            }
+            send(exchange, 200, json.append("]}").toString().getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            String json = String.format(Locale.ROOT,
+                    "{\"requests\":%d,\"simulations\":%d,\"deduplicated\":%d,\"rejected\":%d,"
+                            + "\"running\":%d,\"maxConcurrent\":%d}",
+                    requests.sum(), simulations.sum(), deduplicated.sum(), rejected.sum(),
+                    maxConcurrent - permits.availablePermits(), maxConcurrent);
+            send(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Records each time slice of a run as a JSON object, in the order the slices end.
+     */
+    private static final class TimelineRecorder implements SchedulingListener {
+        private final StringBuilder segments = new StringBuilder();
+        private final Map<Process, Integer> sliceStarts = new IdentityHashMap<>();
+
+        @Override
+        public void onDispatch(Process process, int time, int readyQueueLength) {
+            sliceStarts.put(process, time);
+        }
+
+        @Override
+        public void onPreemption(Process process, int time) {
+            append(process, time);
+        }
+
+        @Override
+        public void onBlock(Process process, int time) {
+            append(process, time);
+        }
+
+        @Override
+        public void onCompletion(Process process, int time) {
+            append(process, time);
+        }
+
+        private void append(Process process, int endTime) {
+            Integer start = sliceStarts.remove(process);
+            if (segments.length() > 0) {
+                segments.append(',');
+            }
+            segments.append("{\"id\":").append(process.getId()).append(",\"name\":");
+            appendString(segments, process.getName());
+            segments.append(",\"start\":").append(start != null ? start : endTime)
+                    .append(",\"end\":").append(endTime).append('}');
+        }
+    }
+
+    /**
+     * Reads a request body.
+     * @return The body, or null if it is too large.
+     */
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            if (body.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return body.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) throws UnsupportedEncodingException {
+        Map<String, List<String>> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), "UTF-8");
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), "UTF-8");
+            parameters.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+        return parameters;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, String.valueOf(message));
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,562 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.*;
+
+/**
+ * Estimates the steady-state behaviour of a policy in an open system, where jobs keep
+ * arriving from interarrival and burst time distributions instead of forming a fixed batch.
+ *
+ * Jobs are generated one at a time as simulated time reaches them, and each completed job is
+ * folded into the statistics of the current batch and then dropped, so memory use does not
+ * depend on the number of jobs. Batches of equal size are kept in fixed arrays; when the
+ * arrays fill up, neighbouring batches are merged and the batch size doubles.
+ *
+ * The warm-up period is found with MSER: once the arrays first fill up, the truncation point
+ * that minimizes the standard error of the remaining batch means is located, and the batches
+ * before it are discarded if it lies in the first half. After that, the run stops as soon as
+ * the confidence interval of the mean turnaround time, computed from the batch means, is
+ * narrower than the requested relative precision and consecutive batch means are nearly
+ * uncorrelated.
+ *
+ * The policy is one of the single-queue policies and runs exactly as its scheduler would:
+ * its ready queue orders the jobs and its time slices bound each run. Simulated time is kept
+ * relative to the last moment the system was empty, so the process times stay small however
+ * long the run is.
+ */
+public class SteadyStateSimulator {
+    /** The number of batches kept; batches are merged in pairs when this many have completed. */
+    public static final int BATCH_CAPACITY = 256;
+    /** The fewest batches a confidence interval is computed from. */
+    public static final int MIN_BATCHES = 20;
+    /** The largest lag-1 autocorrelation of batch means at which the run may stop. */
+    public static final double MAX_AUTOCORRELATION = 0.2;
+
+    private static final int INITIAL_BATCH_SIZE = 64;
+    // The clock restarts whenever the system empties; a busy period longer than this means overload
+    private static final int MAX_BUSY_PERIOD = Integer.MAX_VALUE / 2;
+
+    private final AbstractScheduler policy;
+    private final Distribution interarrival;
+    private final Distribution burst;
+    private int priorityLevels = 1;
+    private long seed = 1;
+    private double confidence = 0.95;
+    private double relativePrecision = 0.01;
+    private long maxJobs = 1_000_000_000L;
+
+    // Completed batches: sums of the job metrics, busy time, longest turnaround and end time
+    private final double[] turnaroundSums = new double[BATCH_CAPACITY];
+    private final double[] waitingSums = new double[BATCH_CAPACITY];
+    private final double[] responseSums = new double[BATCH_CAPACITY];
+    private final long[] busyTimes = new long[BATCH_CAPACITY];
+    private final int[] maxTurnarounds = new int[BATCH_CAPACITY];
+    private final long[] endTimes = new long[BATCH_CAPACITY];
+    private int batchCount;
+    private long batchSize;
+    private boolean warmedUp;
+    private long warmupJobs;
+    private long steadyStart;
+
+    // The batch being filled
+    private double turnaroundSum;
+    private double waitingSum;
+    private double responseSum;
+    private long busyTime;
+    private int maxTurnaround;
+    private long batchJobs;
+
+    /**
+     * The steady-state estimates of a run.
+     */
+    public static final class Result {
+        private final String policyName;
+        private final boolean converged;
+        private final long jobs;
+        private final long warmupJobs;
+        private final int batches;
+        private final long batchSize;
+        private final double confidence;
+        private final double meanTurnaroundTime;
+        private final double halfWidth;
+        private final double autocorrelation;
+        private final double meanWaitingTime;
+        private final double meanResponseTime;
+        private final int maxTurnaroundTime;
+        private final double utilization;
+        private final double throughput;
+
+        Result(String policyName, boolean converged, long jobs, long warmupJobs, int batches, long batchSize,
+               double confidence, double meanTurnaroundTime, double halfWidth, double autocorrelation,
+               double meanWaitingTime, double meanResponseTime, int maxTurnaroundTime, double utilization,
+               double throughput) {
+            this.policyName = policyName;
+            this.converged = converged;
+            this.jobs = jobs;
+            this.warmupJobs = warmupJobs;
+            this.batches = batches;
+            this.batchSize = batchSize;
+            this.confidence = confidence;
+            this.meanTurnaroundTime = meanTurnaroundTime;
+            this.halfWidth = halfWidth;
+            this.autocorrelation = autocorrelation;
+            this.meanWaitingTime = meanWaitingTime;
+            this.meanResponseTime = meanResponseTime;
+            this.maxTurnaroundTime = maxTurnaroundTime;
+            this.utilization = utilization;
+            this.throughput = throughput;
+        }
+
+        public String getPolicyName() {
+            return policyName;
+        }
+
+        /**
+         * Whether the confidence interval reached the requested precision before the job limit.
+         * @return true if the run converged.
+         */
+        public boolean isConverged() {
+            return converged;
+        }
+
+        /**
+         * Gets the number of jobs completed, including the warm-up.
+         * @return The number of jobs.
+         */
+        public long getJobs() {
+            return jobs;
+        }
+
+        public long getWarmupJobs() {
+            return warmupJobs;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public long getBatchSize() {
+            return batchSize;
+        }
+
+        public double getConfidence() {
+            return confidence;
+        }
+
+        public double getMeanTurnaroundTime() {
+            return meanTurnaroundTime;
+        }
+
+        /**
+         * Gets the half-width of the confidence interval of the mean turnaround time.
+         * @return The half-width, or NaN if too few batches completed.
+         */
+        public double getHalfWidth() {
+            return halfWidth;
+        }
+
+        /**
+         * Gets the lag-1 autocorrelation of the batch means; values near 0 mean the batches
+         * are long enough to be treated as independent.
+         * @return The autocorrelation.
+         */
+        public double getAutocorrelation() {
+            return autocorrelation;
+        }
+
+        public double getMeanWaitingTime() {
+            return meanWaitingTime;
+        }
+
+        public double getMeanResponseTime() {
+            return meanResponseTime;
+        }
+
+        public int getMaxTurnaroundTime() {
+            return maxTurnaroundTime;
+        }
+
+        /**
+         * Gets the fraction of time the CPU was busy after the warm-up.
+         * @return The measured utilization.
+         */
+        public double getUtilization() {
+            return utilization;
+        }
+
+        /**
+         * Gets the number of jobs completed per time unit after the warm-up.
+         * @return The throughput.
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: %s after %d jobs (%d warm-up, %d batches of %d)%n"
+                            + "  mean turnaround %.3f +/- %.3f (%.0f%% confidence, lag-1 autocorrelation %.3f)%n"
+                            + "  mean waiting %.3f, mean response %.3f, max turnaround %d%n"
+                            + "  utilization %.4f, throughput %.6f jobs per time unit",
+                    policyName, converged ? "converged" : "did not converge", jobs, warmupJobs, batches, batchSize,
+                    meanTurnaroundTime, halfWidth, confidence * 100, autocorrelation,
+                    meanWaitingTime, meanResponseTime, maxTurnaroundTime, utilization, throughput);
+        }
+    }
+
+    /**
+     * Creates a simulator.
+     * @param policySpec The policy, such as "FCFS" or "RR:4".
+     * @param interarrival The distribution of times between arrivals, rounded to whole time units.
+     * @param burst The distribution of burst times, rounded to whole time units of at least 1.
+     */
+    public SteadyStateSimulator(String policySpec, Distribution interarrival, Distribution burst) {
+        Scheduler scheduler = SchedulerFactory.createScheduler(policySpec);
+        if (!(scheduler instanceof AbstractScheduler) || scheduler instanceof GroupScheduler
+                || scheduler instanceof PredictiveSJFScheduler) {
+            throw new IllegalArgumentException("Cannot be simulated as an open system: " + policySpec);
+        }
+        this.policy = (AbstractScheduler) scheduler;
+        this.interarrival = Objects.requireNonNull(interarrival);
+        this.burst = Objects.requireNonNull(burst);
+    }
+
+    /**
+     * Creates a simulator whose arrival rate offers the given load, with exponential
+     * interarrival times (Poisson arrivals).
+     * @param policySpec The policy.
+     * @param burst The distribution of burst times.
+     * @param utilization The target utilization, between 0 and 1 exclusive.
+     * @return The simulator.
+     */
+    public static SteadyStateSimulator forUtilization(String policySpec, Distribution burst, double utilization) {
+        if (!(utilization > 0 && utilization < 1)) {
+            throw new IllegalArgumentException("Utilization must be between 0 and 1 exclusive");
+        }
+        return new SteadyStateSimulator(policySpec, Distribution.exponential(burst.getMean() / utilization), burst);
+    }
+
+    /**
+     * Gives jobs priorities drawn uniformly from 1 to the given number of levels; by default
+     * every job has priority 1.
+     * @param priorityLevels The number of priority levels.
+     */
+    public void setPriorityLevels(int priorityLevels) {
+        if (priorityLevels <= 0) {
+            throw new IllegalArgumentException("Number of priority levels must be greater than 0");
+        }
+        this.priorityLevels = priorityLevels;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the confidence level of the interval the stopping rule uses.
+     * @param confidence The level, such as 0.95.
+     */
+    public void setConfidence(double confidence) {
+        if (!(confidence >= 0.5 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be at least 0.5 and below 1");
+        }
+        this.confidence = confidence;
+    }
+
+    /**
+     * Sets the precision at which the run stops: the half-width of the confidence interval
+     * divided by the mean turnaround time.
+     * @param relativePrecision The relative precision, such as 0.01 for 1%.
+     */
+    public void setRelativePrecision(double relativePrecision) {
+        if (!(relativePrecision > 0)) {
+            throw new IllegalArgumentException("Relative precision must be greater than 0");
+        }
+        this.relativePrecision = relativePrecision;
+    }
+
+    /**
+     * Sets the number of jobs after which the run stops even if it has not converged.
+     * @param maxJobs The job limit.
+     */
+    public void setMaxJobs(long maxJobs) {
+        if (maxJobs <= 0) {
+            throw new IllegalArgumentException("Job limit must be greater than 0");
+        }
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * Runs the simulation until the estimate converges or the job limit is reached.
+     * @return The estimates.
+     * @throws IllegalStateException If the queue never drains, which means the offered load is too high.
+     */
+    public Result run() {
+        resetBatches();
+        SplittableRandom random = new SplittableRandom(seed);
+        Queue<Process> ready = policy.createReadyQueue();
+        long epoch = 0; // Absolute time of relative time 0
+        int now = 0;
+        long sequence = 0;
+        long completed = 0;
+        long nextArrival = Math.round(interarrival.sample(random));
+        boolean converged = false;
+        Process running = null;
+
+        while (completed < maxJobs) {
+            while (nextArrival - epoch <= now) {
+                int burstTime = (int) Math.max(1, Math.min(MAX_BUSY_PERIOD, Math.round(burst.sample(random))));
+                int priority = priorityLevels == 1 ? 1 : 1 + random.nextInt(priorityLevels);
+                Process p = new Process((int) (sequence % Integer.MAX_VALUE), "job",
+                        (int) (nextArrival - epoch), burstTime, priority);
+                p.setSequenceNumber(sequence++);
+                ready.add(p);
+                nextArrival += Math.round(interarrival.sample(random));
+            }
+
+            // Retire or requeue the process whose slice just ended, as the schedulers do
+            if (running != null) {
+                if (running.isCompleted()) {
+                    completed++;
+                    if (complete(running, epoch + now)) {
+                        converged = true;
+                        break;
+                    }
+                } else {
+                    ready.add(running);
+                }
+                running = null;
+            }
+
+            Process next = ready.poll();
+            if (next == null) {
+                // The system is empty, so restart the relative clock at the next arrival
+                epoch = nextArrival;
+                now = 0;
+                continue;
+            }
+            int slice = next.execute(policy.getTimeSlice(next), now);
+            now += slice;
+            busyTime += slice;
+            running = next;
+            if (now > MAX_BUSY_PERIOD) {
+                throw new IllegalStateException("The system did not drain within " + MAX_BUSY_PERIOD
+                        + " time units; the offered load is probably at or above 1");
+            }
+        }
+        return result(converged, completed, epoch + now);
+    }
+
+    private void resetBatches() {
+        batchCount = 0;
+        batchSize = INITIAL_BATCH_SIZE;
+        warmedUp = false;
+        warmupJobs = 0;
+        steadyStart = 0;
+        clearCurrentBatch();
+    }
+
+    private void clearCurrentBatch() {
+        turnaroundSum = 0;
+        waitingSum = 0;
+        responseSum = 0;
+        busyTime = 0;
+        maxTurnaround = 0;
+        batchJobs = 0;
+    }
+
+    /**
+     * Adds a completed job to the current batch and closes the batch when it is full.
+     * @return true if the estimate has converged.
+     */
+    private boolean complete(Process p, long time) {
+        turnaroundSum += p.getTurnaroundTime();
+        waitingSum += p.getWaitingTime();
+        responseSum += p.getResponseTime();
+        maxTurnaround = Math.max(maxTurnaround, p.getTurnaroundTime());
+        if (++batchJobs < batchSize) {
+            return false;
+        }
+
+        turnaroundSums[batchCount] = turnaroundSum;
+        waitingSums[batchCount] = waitingSum;
+        responseSums[batchCount] = responseSum;
+        busyTimes[batchCount] = busyTime;
+        maxTurnarounds[batchCount] = maxTurnaround;
+        endTimes[batchCount] = time;
+        batchCount++;
+        clearCurrentBatch();
+
+        if (!warmedUp && batchCount == BATCH_CAPACITY) {
+            int truncation = warmupTruncation();
+            if (truncation < BATCH_CAPACITY / 2) {
+                warmedUp = true;
+                warmupJobs = truncation * batchSize;
+                steadyStart = truncation == 0 ? 0 : endTimes[truncation - 1];
+                dropFirst(truncation);
+            }
+        }
+        if (batchCount == BATCH_CAPACITY) {
+            mergePairs();
+        }
+        return warmedUp && batchCount >= MIN_BATCHES && halfWidth() <= relativePrecision * grandMean()
+                && autocorrelation() <= MAX_AUTOCORRELATION;
+    }
+
+    /**
+     * Finds the number of leading batches to discard with MSER: the truncation point in the
+     * first half that minimizes the squared standard error of the remaining batch means.
+     */
+    private int warmupTruncation() {
+        int best = batchCount / 2;
+        double bestScore = Double.MAX_VALUE;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int d = batchCount - 1; d >= 0; d--) {
+            double mean = turnaroundSums[d] / batchSize;
+            sum += mean;
+            sumOfSquares += mean * mean;
+            int kept = batchCount - d;
+            if (d <= batchCount / 2) {
+                double score = (sumOfSquares - sum * sum / kept) / ((double) kept * kept);
+                if (score <= bestScore) {
+                    bestScore = score;
+                    best = d;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void dropFirst(int count) {
+        int kept = batchCount - count;
+        System.arraycopy(turnaroundSums, count, turnaroundSums, 0, kept);
+        System.arraycopy(waitingSums, count, waitingSums, 0, kept);
+        System.arraycopy(responseSums, count, responseSums, 0, kept);
+        System.arraycopy(busyTimes, count, busyTimes, 0, kept);
+        System.arraycopy(maxTurnarounds, count, maxTurnarounds, 0, kept);
+        System.arraycopy(endTimes, count, endTimes, 0, kept);
+        batchCount = kept;
+    }
+
+    private void mergePairs() {
+        int merged = batchCount / 2;
+        for (int i = 0; i < merged; i++) {
+            int a = 2 * i;
+            int b = a + 1;
+            turnaroundSums[i] = turnaroundSums[a] + turnaroundSums[b];
+            waitingSums[i] = waitingSums[a] + waitingSums[b];
+            responseSums[i] = responseSums[a] + responseSums[b];
+            busyTimes[i] = busyTimes[a] + busyTimes[b];
+            maxTurnarounds[i] = Math.max(maxTurnarounds[a], maxTurnarounds[b]);
+            endTimes[i] = endTimes[b];
+        }
+        batchCount = merged;
+        batchSize *= 2;
+    }
+
+    private double grandMean() {
+        double sum = 0;
+        for (int i = 0; i < batchCount; i++) {
+            sum += turnaroundSums[i];
+        }
+        return sum / ((double) batchCount * batchSize);
+    }
+
+    private double halfWidth() {
+        if (batchCount < 2) {
+            return Double.NaN;
+        }
+        double mean = grandMean();
+        double sumOfSquares = 0;
+        for (int i = 0; i < batchCount; i++) {
+            double deviation = turnaroundSums[i] / batchSize - mean;
+            sumOfSquares += deviation * deviation;
+        }
+        double variance = sumOfSquares / (batchCount - 1);
+        return studentT(1 - (1 - confidence) / 2, batchCount - 1) * Math.sqrt(variance / batchCount);
+    }
+
+    private double autocorrelation() {
+        if (batchCount < 3) {
+            return 0;
+        }
+        double mean = grandMean();
+        double numerator = 0;
+        double denominator = 0;
+        for (int i = 0; i < batchCount; i++) {
+            double deviation = turnaroundSums[i] / batchSize - mean;
+            denominator += deviation * deviation;
+            if (i > 0) {
+                numerator += deviation * (turnaroundSums[i - 1] / batchSize - mean);
+            }
+        }
+        return denominator == 0 ? 0 : numerator / denominator;
+    }
+
+    private Result result(boolean converged, long completed, long time) {
+        // Only complete batches after the warm-up count towards the estimates
+        long jobs = (long) batchCount * batchSize;
+        double turnaround = 0;
+        double waiting = 0;
+        double response = 0;
+        long busy = 0;
+        int longest = 0;
+        for (int i = 0; i < batchCount; i++) {
+            turnaround += turnaroundSums[i];
+            waiting += waitingSums[i];
+            response += responseSums[i];
+            busy += busyTimes[i];
+            longest = Math.max(longest, maxTurnarounds[i]);
+        }
+        long start = warmedUp ? steadyStart : 0;
+        long elapsed = batchCount == 0 ? 0 : endTimes[batchCount - 1] - start;
+        return new Result(policy.getName(), converged, completed, warmedUp ? warmupJobs : completed - jobs,
+                batchCount, batchSize, confidence,
+                jobs == 0 ? 0 : turnaround / jobs, halfWidth(), autocorrelation(),
+                jobs == 0 ? 0 : waiting / jobs, jobs == 0 ? 0 : response / jobs, longest,
+                elapsed == 0 ? 0 : (double) busy / elapsed, elapsed == 0 ? 0 : (double) jobs / elapsed);
+    }
+
+    /**
+     * Approximates a quantile of Student's t distribution with a Cornish-Fisher expansion
+     * around the normal quantile; accurate to about three digits from 10 degrees of freedom.
+     */
+    static double studentT(double p, int degreesOfFreedom) {
+        double z = normalQuantile(p);
+        double n = degreesOfFreedom;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double z7 = z5 * z * z;
+        return z + (z3 + z) / (4 * n) + (5 * z5 + 16 * z3 + 3 * z) / (96 * n * n)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * n * n * n);
+    }
+
+    /**
+     * Approximates the standard normal quantile with Acklam's rational approximation.
+     */
+    static double normalQuantile(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                            3.754408661907416e+00};
+        final double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,268 @@
+package com.cpuscheduler.ui;
+
+import com.cpuscheduler.core.SchedulerFactory;
+import com.cpuscheduler.ui.SweepProtocol.Shard;
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coordinator for sweeps that are too large for one JVM.
+ *
+ * Usage: --coordinate &lt;directory|glob&gt; --schedulers FCFS,SJF,RR:4 --output summary.csv [--port 7070]
+ *        [--shard-size 8]
+ *
+ * Each workload file is split into shards of at most shard-size scheduler configurations. Shards are
+ * handed to {@link SweepWorker} processes that connect over TCP, one shard per worker at a time, so
+ * faster machines simply take more of them. Workers load workload files by path, so every worker must
+ * see the files at the same absolute path (for example on a shared mount). If a worker disconnects or
+ * stops sending heartbeats, its shard goes back to the front of the queue; a shard that loses three
+ * workers is reported as failed. The summary has the same columns as {@link BatchRunner}'s.
+ */
+public class SweepCoordinator {
+    private static final String USAGE = "Usage: --coordinate <directory|glob> --schedulers FCFS,SJF,PRIORITY,RR:4 "
+            + "--output <summary.csv> [--port 7070] [--shard-size 8]";
+    private static final int DEFAULT_PORT = 7070;
+    private static final int DEFAULT_SHARD_SIZE = 8;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final String input;
+    private final List<String> schedulerSpecs;
+    private final Path output;
+    private final int port;
+    private final int shardSize;
+
+    private final BlockingDeque<Shard> queue = new LinkedBlockingDeque<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private CountDownLatch remaining;
+    private volatile boolean finished;
+    private volatile int boundPort = -1;
+
+    public SweepCoordinator(String input, List<String> schedulerSpecs, Path output, int port, int shardSize) {
+        if (schedulerSpecs.isEmpty()) {
+            throw new IllegalArgumentException("At least one scheduler configuration is required");
+        }
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        if (shardSize <= 0) {
+            throw new IllegalArgumentException("Shard size must be greater than 0");
+        }
+        // Fail fast on a bad configuration instead of once per shard on every worker
+        for (String spec : schedulerSpecs) {
+            SchedulerFactory.createScheduler(spec);
+        }
+        this.input = input;
+        this.schedulerSpecs = new ArrayList<>(schedulerSpecs);
+        this.output = output;
+        this.port = port;
+        this.shardSize = shardSize;
+    }
+
+    /**
+     * Creates a coordinator from command-line arguments.
+     * @param args The arguments, starting with --coordinate.
+     * @return The coordinator.
+     * @throws IllegalArgumentException If the arguments are incomplete or invalid.
+     */
+    public static SweepCoordinator fromArgs(String[] args) {
+        Map<String, String> options = BatchRunner.parseOptions(args, USAGE, "--coordinate", "--schedulers", "--output");
+        return new SweepCoordinator(options.get("--coordinate"), BatchRunner.parseSpecs(options.get("--schedulers")),
+                Paths.get(options.get("--output")), BatchRunner.intOption(options, "--port", DEFAULT_PORT),
+                BatchRunner.intOption(options, "--shard-size", DEFAULT_SHARD_SIZE));
+    }
+
+    /**
+     * Gets the port the coordinator is listening on, which differs from the configured one when that is 0.
+     * @return The port, or -1 before the coordinator has started listening.
+     */
+    public int getBoundPort() {
+        return boundPort;
+    }
+
+    /**
+     * Serves shards to workers until every shard has completed or failed, then writes the summary.
+     * @return The number of shards that could not be processed.
+     * @throws IOException If the input cannot be listed, the port cannot be bound or the summary cannot be written.
+     */
+    public int run() throws IOException {
+        List<Shard> shards = createShards();
+        queue.addAll(shards);
+        remaining = new CountDownLatch(shards.size());
+
+        ExecutorService handlers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "sweep-worker-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (ServerSocket server = new ServerSocket(port);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(RunSummary.CSV_HEADER);
+            writer.newLine();
+            boundPort = server.getLocalPort();
+
+            Thread acceptor = new Thread(() -> {
+                try {
+                    while (true) {
+                        Socket socket = server.accept();
+                        handlers.execute(() -> serve(socket, writer));
+                    }
+                } catch (IOException | RejectedExecutionException e) {
+                    // Server closed at the end of the sweep
+                }
+            }, "sweep-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            System.err.println("Waiting for workers on port " + boundPort + " (" + shards.size() + " shards)");
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    remaining.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            finished = true;
+
+            // Give connected workers a chance to receive DONE before the summary is closed
+            handlers.shutdown();
+            try {
+                handlers.awaitTermination(2 * SweepProtocol.HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            handlers.shutdownNow();
+        }
+        return failures.get();
+    }
+
+    private List<Shard> createShards() throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        try (DirectoryStream<Path> files = BatchRunner.listInputs(input)) {
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                String path = file.toAbsolutePath().toString();
+                for (int from = 0; from < schedulerSpecs.size(); from += shardSize) {
+                    List<String> slice = schedulerSpecs.subList(from, Math.min(from + shardSize, schedulerSpecs.size()));
+                    shards.add(new Shard(shards.size(), path, slice.toArray(new String[0])));
+                }
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Feeds shards to one worker connection until the sweep is finished or the worker is lost.
+     */
+    private void serve(Socket socket, BufferedWriter writer) {
+        String worker = String.valueOf(socket.getRemoteSocketAddress());
+        Shard shard = null;
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            s.setSoTimeout(SweepProtocol.TIMEOUT_MILLIS);
+            s.setTcpNoDelay(true);
+            if (in.readByte() != SweepProtocol.HELLO || in.readInt() != SweepProtocol.MAGIC
+                    || in.readInt() != SweepProtocol.VERSION) {
+                System.err.println("Rejected connection from " + worker + ": not a sweep worker");
+                return;
+            }
+            int threads = in.readInt();
+            System.err.println("Worker " + worker + " connected with " + threads + " threads");
+
+            while (true) {
+                shard = queue.poll(1, TimeUnit.SECONDS);
+                if (shard == null) {
+                    if (finished) {
+                        out.writeByte(SweepProtocol.DONE);
+                        out.flush();
+                        return;
+                    }
+                    continue;
+                }
+                process(shard, in, out, writer);
+                shard = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Lost worker " + worker + ": "
+                    + (e instanceof EOFException ? "connection closed" : e.getMessage()));
+            if (shard != null) {
+                requeue(shard);
+            }
+        } catch (InterruptedException e) {
+            if (shard != null) {
+                requeue(shard);
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(Shard shard, DataInputStream in, DataOutputStream out, BufferedWriter writer)
+            throws IOException {
+        shard.write(out);
+        out.flush();
+
+        String fileName = Paths.get(shard.path).getFileName().toString();
+        // Results are only written once the whole shard is in, so a retried shard is never counted twice
+        List<String> lines = new ArrayList<>(shard.specs.length);
+        while (true) {
+            byte type = in.readByte();
+            switch (type) {
+                case SweepProtocol.HEARTBEAT:
+                    break;
+                case SweepProtocol.RESULT: {
+                    int id = in.readInt();
+                    RunSummary summary = RunSummary.read(in);
+                    if (id == shard.id) {
+                        lines.add(summary.toCsv(fileName));
+                    }
+                    break;
+                }
+                case SweepProtocol.SHARD_DONE:
+                    if (in.readInt() == shard.id) {
+                        BatchRunner.writeLines(writer, lines);
+                        remaining.countDown();
+                        return;
+                    }
+                    break;
+                case SweepProtocol.ERROR: {
+                    int id = in.readInt();
+                    String message = in.readUTF();
+                    if (id == shard.id) {
+                        System.err.println("Failed to process " + shard.path + ": " + message);
+                        failures.incrementAndGet();
+                        remaining.countDown();
+                        return;
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("Unexpected message type " + type);
+            }
+        }
+    }
+
+    private void requeue(Shard shard) {
+        shard.attempts++;
+        if (shard.attempts >= MAX_ATTEMPTS) {
+            System.err.println("Giving up on " + shard.path + " after " + shard.attempts + " lost workers");
+            failures.incrementAndGet();
+            remaining.countDown();
+        } else {
+            queue.addFirst(shard);
+        }
+    }
+}
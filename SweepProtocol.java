@@ -0,0 +1,74 @@
+package com.cpuscheduler.ui;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire format shared by {@link SweepCoordinator} and {@link SweepWorker}.
+ *
+ * Every message is a one-byte type followed by its fields in {@link DataOutputStream} encoding.
+ * A worker opens the connection with HELLO, then receives SHARD messages one at a time and
+ * answers each with a RESULT per scheduler configuration followed by SHARD_DONE, or with ERROR
+ * if the shard cannot be run. HEARTBEAT is sent periodically so a dead worker is noticed even
+ * while it is in the middle of a long run. DONE tells the worker to exit.
+ */
+final class SweepProtocol {
+    static final int MAGIC = 0x43505357;
+    static final int VERSION = 2;
+
+    // Coordinator to worker
+    static final byte SHARD = 1;
+    static final byte DONE = 2;
+
+    // Worker to coordinator
+    static final byte HELLO = 3;
+    static final byte RESULT = 4;
+    static final byte SHARD_DONE = 5;
+    static final byte ERROR = 6;
+    static final byte HEARTBEAT = 7;
+
+    static final int HEARTBEAT_MILLIS = 5_000;
+    /** A worker that sends nothing for this long is treated as dead. */
+    static final int TIMEOUT_MILLIS = 6 * HEARTBEAT_MILLIS;
+
+    private SweepProtocol() {
+    }
+
+    /**
+     * One workload file together with a slice of the scheduler configurations to run on it.
+     */
+    static final class Shard {
+        final int id;
+        final String path;
+        final String[] specs;
+        int attempts;
+
+        Shard(int id, String path, String[] specs) {
+            this.id = id;
+            this.path = path;
+            this.specs = specs;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(SHARD);
+            out.writeInt(id);
+            out.writeUTF(path);
+            out.writeInt(specs.length);
+            for (String spec : specs) {
+                out.writeUTF(spec);
+            }
+        }
+
+        /** Reads a shard whose type byte has already been consumed. */
+        static Shard read(DataInputStream in) throws IOException {
+            int id = in.readInt();
+            String path = in.readUTF();
+            String[] specs = new String[in.readInt()];
+            for (int i = 0; i < specs.length; i++) {
+                specs[i] = in.readUTF();
+            }
+            return new Shard(id, path, specs);
+        }
+    }
+}
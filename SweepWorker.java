@@ -0,0 +1,203 @@
+package com.cpuscheduler.ui;
+
+import com.cpuscheduler.model.Process;
+import com.cpuscheduler.ui.SweepProtocol.Shard;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Worker for distributed sweeps. Connects to a {@link SweepCoordinator}, runs the shards it is given
+ * on a local thread pool and streams a binary summary of every run back.
+ *
+ * Usage: --worker &lt;host:port&gt; [--threads N]
+ *
+ * The most recently loaded workload is kept, so consecutive shards of the same file only read it once.
+ */
+public class SweepWorker {
+    private static final String USAGE = "Usage: --worker <host:port> [--threads N]";
+    private static final long CONNECT_RETRY_MILLIS = 30_000;
+
+    private final String host;
+    private final int port;
+    private final int threads;
+
+    private Path cachedPath;
+    private List<Process> cachedWorkload;
+
+    public SweepWorker(String host, int port, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be greater than 0");
+        }
+        this.host = host;
+        this.port = port;
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a worker from command-line arguments.
+     * @param args The arguments, starting with --worker.
+     * @return The worker.
+     * @throws IllegalArgumentException If the arguments are incomplete or invalid.
+     */
+    public static SweepWorker fromArgs(String[] args) {
+        Map<String, String> options = BatchRunner.parseOptions(args, USAGE, "--worker");
+        String address = options.get("--worker");
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        int port;
+        try {
+            port = Integer.parseInt(address.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port: " + address);
+        }
+        return new SweepWorker(address.substring(0, colon), port,
+                BatchRunner.intOption(options, "--threads", Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Runs shards until the coordinator reports that the sweep is finished.
+     * @throws IOException If the coordinator cannot be reached or the connection is lost.
+     */
+    public void run() throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sweep-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (Socket socket = connect();
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setTcpNoDelay(true);
+            synchronized (out) {
+                out.writeByte(SweepProtocol.HELLO);
+                out.writeInt(SweepProtocol.MAGIC);
+                out.writeInt(SweepProtocol.VERSION);
+                out.writeInt(threads);
+                out.flush();
+            }
+            heartbeat.scheduleAtFixedRate(() -> {
+                try {
+                    synchronized (out) {
+                        out.writeByte(SweepProtocol.HEARTBEAT);
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    // The main loop notices the broken connection
+                }
+            }, SweepProtocol.HEARTBEAT_MILLIS, SweepProtocol.HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+
+            while (true) {
+                byte type = in.readByte();
+                if (type == SweepProtocol.DONE) {
+                    return;
+                }
+                if (type != SweepProtocol.SHARD) {
+                    throw new IOException("Unexpected message type " + type);
+                }
+                runShard(Shard.read(in), out, pool);
+            }
+        } finally {
+            heartbeat.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+
+    private Socket connect() throws IOException {
+        // The coordinator may still be starting up
+        long deadline = System.currentTimeMillis() + CONNECT_RETRY_MILLIS;
+        while (true) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), SweepProtocol.TIMEOUT_MILLIS);
+                return socket;
+            } catch (IOException e) {
+                socket.close();
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while connecting to " + host + ":" + port);
+            }
+        }
+    }
+
+    private void runShard(Shard shard, DataOutputStream out, ExecutorService pool) throws IOException {
+        List<Process> workload;
+        try {
+            workload = load(Paths.get(shard.path));
+        } catch (UncheckedIOException e) {
+            sendError(out, shard.id, e.getCause().getMessage());
+            return;
+        }
+
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        double optimum = RunSummary.optimalTurnaroundTime(workload);
+        for (String spec : shard.specs) {
+            runs.add(CompletableFuture
+                .supplyAsync(() -> RunSummary.simulate(workload, spec, optimum), pool)
+                .thenAccept(summary -> sendResult(out, shard.id, summary)));
+        }
+        try {
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = BatchRunner.rootCause(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            sendError(out, shard.id, String.valueOf(cause.getMessage()));
+            return;
+        }
+        synchronized (out) {
+            out.writeByte(SweepProtocol.SHARD_DONE);
+            out.writeInt(shard.id);
+            out.flush();
+        }
+    }
+
+    private List<Process> load(Path path) {
+        if (!path.equals(cachedPath)) {
+            // Let the previous workload go before reading the next
+            cachedPath = null;
+            cachedWorkload = null;
+            cachedWorkload = BatchRunner.load(path);
+            cachedPath = path;
+        }
+        return cachedWorkload;
+    }
+
+    private static void sendResult(DataOutputStream out, int shardId, RunSummary summary) {
+        try {
+            synchronized (out) {
+                out.writeByte(SweepProtocol.RESULT);
+                out.writeInt(shardId);
+                summary.write(out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void sendError(DataOutputStream out, int shardId, String message) throws IOException {
+        synchronized (out) {
+            out.writeByte(SweepProtocol.ERROR);
+            out.writeInt(shardId);
+            out.writeUTF(message);
+            out.flush();
+        }
+    }
+}
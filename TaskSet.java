@@ -0,0 +1,91 @@
+package com.cpuscheduler.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable set of periodic tasks sharing one CPU, all released together at time 0.
+ */
+public class TaskSet {
+    private final List<PeriodicTask> tasks;
+
+    /**
+     * Creates a task set.
+     * @param tasks The tasks, in the order results are reported in.
+     */
+    public TaskSet(List<PeriodicTask> tasks) {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("A task set needs at least one task");
+        }
+        this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+    }
+
+    public List<PeriodicTask> getTasks() {
+        return tasks;
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public PeriodicTask get(int index) {
+        return tasks.get(index);
+    }
+
+    /**
+     * Gets the total fraction of the CPU the tasks need in the worst case.
+     * @return The sum of the task utilizations.
+     */
+    public double getUtilization() {
+        double utilization = 0;
+        for (PeriodicTask task : tasks) {
+            utilization += task.getUtilization();
+        }
+        return utilization;
+    }
+
+    /**
+     * Whether every task's deadline equals its period.
+     * @return true if all deadlines are implicit.
+     */
+    public boolean hasImplicitDeadlines() {
+        for (PeriodicTask task : tasks) {
+            if (task.getDeadline() != task.getPeriod()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the least common multiple of the periods, after which the release pattern repeats.
+     * @return The hyperperiod, or Long.MAX_VALUE if it does not fit in a long.
+     */
+    public long getHyperperiod() {
+        long hyperperiod = 1;
+        for (PeriodicTask task : tasks) {
+            long period = task.getPeriod();
+            long factor = hyperperiod / gcd(hyperperiod, period);
+            if (factor > Long.MAX_VALUE / period) {
+                return Long.MAX_VALUE;
+            }
+            hyperperiod = factor * period;
+        }
+        return hyperperiod;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return tasks.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.cpuscheduler.gui;
+
+import com.cpuscheduler.core.TimeSeriesMetrics;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * Window that charts the per-window metrics of a run over simulated time: CPU utilization and
+ * ready queue length in one chart, arrivals, completions and turnaround percentiles in another.
+ * Points are placed at the start of each window.
+ */
+public class TimeSeriesChartView {
+    private final Stage stage = new Stage();
+
+    /**
+     * Opens the window for the given metrics.
+     * @param title The name of the run, such as the scheduler name.
+     * @param metrics The metrics of a finished run.
+     */
+    public void show(String title, TimeSeriesMetrics metrics) {
+        XYChart.Series<Number, Number> utilization = series("CPU utilization (%)");
+        XYChart.Series<Number, Number> averageQueue = series("Average queue length");
+        XYChart.Series<Number, Number> maxQueue = series("Maximum queue length");
+        XYChart.Series<Number, Number> arrivals = series("Arrivals");
+        XYChart.Series<Number, Number> completions = series("Completions");
+        XYChart.Series<Number, Number> p50 = series("Turnaround p50");
+        XYChart.Series<Number, Number> p99 = series("Turnaround p99");
+
+        for (int i = 0; i < metrics.getWindowCount(); i++) {
+            long start = metrics.getWindowStart(i);
+            utilization.getData().add(new XYChart.Data<>(start, 100 * metrics.getUtilization(i)));
+            averageQueue.getData().add(new XYChart.Data<>(start, metrics.getAverageQueueLength(i)));
+            maxQueue.getData().add(new XYChart.Data<>(start, metrics.getMaxQueueLength(i)));
+            arrivals.getData().add(new XYChart.Data<>(start, metrics.getArrivals(i)));
+            completions.getData().add(new XYChart.Data<>(start, metrics.getCompletions(i)));
+            // Windows without completions have no latency to plot
+            if (metrics.getCompletions(i) > 0) {
+                p50.getData().add(new XYChart.Data<>(start, metrics.getLatencyP50(i)));
+                p99.getData().add(new XYChart.Data<>(start, metrics.getLatencyP99(i)));
+            }
+        }
+
+        LineChart<Number, Number> loadChart = chart("Load");
+        loadChart.getData().add(utilization);
+        loadChart.getData().add(averageQueue);
+        loadChart.getData().add(maxQueue);
+        LineChart<Number, Number> flowChart = chart("Throughput and turnaround");
+        flowChart.getData().add(arrivals);
+        flowChart.getData().add(completions);
+        flowChart.getData().add(p50);
+        flowChart.getData().add(p99);
+
+        VBox root = new VBox(10, loadChart, flowChart);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(loadChart, Priority.ALWAYS);
+        VBox.setVgrow(flowChart, Priority.ALWAYS);
+
+        stage.setTitle(String.format("Metrics over time - %s (window = %d)", title, metrics.getWindowSize()));
+        stage.setScene(new Scene(root, 900, 650));
+        stage.show();
+    }
+
+    private static XYChart.Series<Number, Number> series(String name) {
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(name);
+        return series;
+    }
+
+    private static LineChart<Number, Number> chart(String title) {
+        NumberAxis timeAxis = new NumberAxis();
+        timeAxis.setLabel("Time");
+        timeAxis.setForceZeroInRange(false);
+        LineChart<Number, Number> chart = new LineChart<>(timeAxis, new NumberAxis());
+        chart.setTitle(title);
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        return chart;
+    }
+}
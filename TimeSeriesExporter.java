@@ -0,0 +1,48 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.core.TimeSeriesMetrics;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes the windows of a {@link TimeSeriesMetrics} listener to a file, one record per window.
+ * Latency percentiles are -1 in windows where no process completed.
+ */
+public final class TimeSeriesExporter {
+    private static final String[] COLUMNS = {
+        "start", "end", "busy", "idle", "utilization", "avgQueue", "maxQueue",
+        "arrivals", "completions", "latencyP50", "latencyP90", "latencyP99"
+    };
+
+    private TimeSeriesExporter() {
+    }
+
+    /**
+     * Writes every retained window.
+     * @param file The file to write.
+     * @param format The output format.
+     * @param metrics The metrics of a finished run.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, ExportFormat format, TimeSeriesMetrics metrics) throws IOException {
+        try (RecordWriter writer = new RecordWriter(file, format, COLUMNS)) {
+            for (int i = 0; i < metrics.getWindowCount(); i++) {
+                long start = metrics.getWindowStart(i);
+                writer.beginRecord()
+                      .field(start)
+                      .field(start + metrics.getCoveredTime(i))
+                      .field(metrics.getBusyTime(i))
+                      .field(metrics.getIdleTime(i))
+                      .field(metrics.getUtilization(i))
+                      .field(metrics.getAverageQueueLength(i))
+                      .field(metrics.getMaxQueueLength(i))
+                      .field(metrics.getArrivals(i))
+                      .field(metrics.getCompletions(i))
+                      .field(metrics.getLatencyP50(i))
+                      .field(metrics.getLatencyP90(i))
+                      .field(metrics.getLatencyP99(i))
+                      .endRecord();
+            }
+        }
+    }
+}
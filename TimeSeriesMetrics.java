@@ -0,0 +1,353 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.Process;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Per-window metrics of a scheduler run, updated as the run progresses.
+ *
+ * Simulated time is cut into windows of a fixed length. For each window the listener records
+ * the CPU busy and idle time, the time-weighted and maximum ready queue length, the arrivals
+ * and completions, and the 50th, 90th and 99th percentile turnaround time of the processes
+ * completing in it. Windows are kept in a ring of primitive arrays, so only the most recent
+ * ones are retained and memory use does not grow with the length of the run.
+ *
+ * Attach a new instance, or one that has been {@link #reset() reset}, to each run. Not
+ * thread-safe; read the results after the run has finished.
+ */
+public class TimeSeriesMetrics implements SchedulingListener {
+    private final int windowSize;
+    private final int capacity;
+
+    // One slot per retained window, indexed by window number modulo the capacity
+    private final long[] busyTime;
+    private final long[] idleTime;
+    private final long[] queueTime;
+    private final int[] maxQueueLength;
+    private final int[] arrivals;
+    private final int[] completions;
+    private final int[] latencyP50;
+    private final int[] latencyP90;
+    private final int[] latencyP99;
+
+    // Turnaround times of the processes completing in the current window
+    private int[] latencies = new int[64];
+    private int latencyCount;
+
+    private long currentWindow;
+    private long lastTime;
+    private int running;
+    private int queued;
+
+    /**
+     * Creates a listener that keeps the most recent windows of a run.
+     * @param windowSize The length of a window in time units.
+     * @param capacity The number of windows to keep.
+     */
+    public TimeSeriesMetrics(int windowSize, int capacity) {
+        if (windowSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Window size and capacity must be greater than 0");
+        }
+        this.windowSize = windowSize;
+        this.capacity = capacity;
+        this.busyTime = new long[capacity];
+        this.idleTime = new long[capacity];
+        this.queueTime = new long[capacity];
+        this.maxQueueLength = new int[capacity];
+        this.arrivals = new int[capacity];
+        this.completions = new int[capacity];
+        this.latencyP50 = new int[capacity];
+        this.latencyP90 = new int[capacity];
+        this.latencyP99 = new int[capacity];
+        reset();
+    }
+
+    /**
+     * Creates a listener whose windows are sized so that a single-CPU run of the given
+     * processes fits in about the given number of windows. Runs that take longer than
+     * serial execution would, for example because of group quotas, keep only their end.
+     * @param processes The processes that will be scheduled.
+     * @param windows The number of windows to aim for.
+     * @return The listener.
+     */
+    public static TimeSeriesMetrics forWorkload(Collection<Process> processes, int windows) {
+        long span = 0;
+        for (Process p : processes) {
+            span = Math.max(span, p.getArrivalTime()) + p.getBurstTime();
+        }
+        int windowSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (span + windows - 1) / windows));
+        // One more window for events at the very end of the run, which open a new window
+        return new TimeSeriesMetrics(windowSize, windows + 1);
+    }
+
+    /**
+     * Discards all windows so the listener can be attached to another run.
+     */
+    public void reset() {
+        currentWindow = 0;
+        lastTime = 0;
+        running = 0;
+        queued = 0;
+        latencyCount = 0;
+        clearSlot(0);
+    }
+
+    @Override
+    public void onArrival(Process process, int time) {
+        advanceTo(time);
+        arrivals[slot(currentWindow)]++;
+        setQueued(queued + 1);
+    }
+
+    @Override
+    public void onDispatch(Process process, int time, int readyQueueLength) {
+        advanceTo(time);
+        running++;
+        setQueued(readyQueueLength);
+    }
+
+    @Override
+    public void onPreemption(Process process, int time) {
+        advanceTo(time);
+        running = Math.max(0, running - 1);
+        setQueued(queued + 1);
+    }
+
+    @Override
+    public void onBlock(Process process, int time) {
+        advanceTo(time);
+        running = Math.max(0, running - 1);
+    }
+
+    @Override
+    public void onWakeup(Process process, int time) {
+        advanceTo(time);
+        setQueued(queued + 1);
+    }
+
+    @Override
+    public void onCompletion(Process process, int time) {
+        advanceTo(time);
+        running = Math.max(0, running - 1);
+        completions[slot(currentWindow)]++;
+        if (latencyCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        }
+        latencies[latencyCount++] = time - process.getArrivalTime();
+    }
+
+    @Override
+    public void onIdle(int startTime, int endTime) {
+        advanceTo(endTime);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Gets the number of retained windows, including the last one, which may be partial.
+     * @return The number of windows.
+     */
+    public int getWindowCount() {
+        return (int) (currentWindow - firstWindow() + 1);
+    }
+
+    /**
+     * Gets the time at which a retained window starts.
+     * @param window The index of the window, where 0 is the oldest retained one.
+     * @return The start time.
+     */
+    public long getWindowStart(int window) {
+        return windowNumber(window) * windowSize;
+    }
+
+    /**
+     * Gets the part of a window covered by the run so far. This is the window size for every
+     * window but the last.
+     * @param window The index of the window.
+     * @return The covered length.
+     */
+    public long getCoveredTime(int window) {
+        long start = getWindowStart(window);
+        return Math.max(0, Math.min(start + windowSize, lastTime) - start);
+    }
+
+    /**
+     * Gets the CPU time spent running processes in a window. On several cores this is summed
+     * over all cores.
+     * @param window The index of the window.
+     * @return The busy time.
+     */
+    public long getBusyTime(int window) {
+        return busyTime[slot(windowNumber(window))];
+    }
+
+    /**
+     * Gets the time in a window during which no process was running.
+     * @param window The index of the window.
+     * @return The idle time.
+     */
+    public long getIdleTime(int window) {
+        return idleTime[slot(windowNumber(window))];
+    }
+
+    /**
+     * Gets the busy time of a window divided by its covered length. On several cores this is
+     * the average number of busy cores and can exceed 1.
+     * @param window The index of the window.
+     * @return The utilization.
+     */
+    public double getUtilization(int window) {
+        long covered = getCoveredTime(window);
+        return covered == 0 ? 0 : (double) getBusyTime(window) / covered;
+    }
+
+    /**
+     * Gets the time-weighted average ready queue length in a window.
+     * @param window The index of the window.
+     * @return The average queue length.
+     */
+    public double getAverageQueueLength(int window) {
+        long covered = getCoveredTime(window);
+        return covered == 0 ? 0 : (double) queueTime[slot(windowNumber(window))] / covered;
+    }
+
+    public int getMaxQueueLength(int window) {
+        return maxQueueLength[slot(windowNumber(window))];
+    }
+
+    public int getArrivals(int window) {
+        return arrivals[slot(windowNumber(window))];
+    }
+
+    public int getCompletions(int window) {
+        return completions[slot(windowNumber(window))];
+    }
+
+    /**
+     * Gets the median turnaround time of the processes completing in a window.
+     * @param window The index of the window.
+     * @return The median, or -1 if no process completed in the window.
+     */
+    public int getLatencyP50(int window) {
+        return latencyPercentile(window, latencyP50, 0.50);
+    }
+
+    /**
+     * Gets the 90th percentile turnaround time of the processes completing in a window.
+     * @param window The index of the window.
+     * @return The percentile, or -1 if no process completed in the window.
+     */
+    public int getLatencyP90(int window) {
+        return latencyPercentile(window, latencyP90, 0.90);
+    }
+
+    /**
+     * Gets the 99th percentile turnaround time of the processes completing in a window.
+     * @param window The index of the window.
+     * @return The percentile, or -1 if no process completed in the window.
+     */
+    public int getLatencyP99(int window) {
+        return latencyPercentile(window, latencyP99, 0.99);
+    }
+
+    private int latencyPercentile(int window, int[] closed, double fraction) {
+        long number = windowNumber(window);
+        if (number < currentWindow) {
+            return closed[slot(number)];
+        }
+        // The current window is still open, so sort a copy of its samples
+        int[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        return percentile(sorted, latencyCount, fraction);
+    }
+
+    private long firstWindow() {
+        return Math.max(0, currentWindow - capacity + 1);
+    }
+
+    private long windowNumber(int window) {
+        if (window < 0 || window >= getWindowCount()) {
+            throw new IndexOutOfBoundsException("Window " + window + " of " + getWindowCount());
+        }
+        return firstWindow() + window;
+    }
+
+    private int slot(long windowNumber) {
+        return (int) (windowNumber % capacity);
+    }
+
+    private void setQueued(int length) {
+        queued = length;
+        int slot = slot(currentWindow);
+        maxQueueLength[slot] = Math.max(maxQueueLength[slot], length);
+    }
+
+    /**
+     * Accounts for the time since the last event, during which the running and queued counts
+     * were constant, closing every window that ends on the way.
+     */
+    private void advanceTo(long time) {
+        while (lastTime < time) {
+            long windowEnd = (currentWindow + 1) * windowSize;
+            long end = Math.min(time, windowEnd);
+            long length = end - lastTime;
+            int slot = slot(currentWindow);
+            if (running > 0) {
+                busyTime[slot] += running * length;
+            } else {
+                idleTime[slot] += length;
+            }
+            queueTime[slot] += queued * length;
+            lastTime = end;
+            if (end == windowEnd) {
+                openWindow(currentWindow + 1);
+                // Windows that would be overwritten before the next event need not be filled
+                long skipped = (time - lastTime) / windowSize - capacity;
+                if (skipped > 0) {
+                    currentWindow += skipped;
+                    lastTime += skipped * windowSize;
+                    clearSlot(slot(currentWindow));
+                }
+            }
+        }
+    }
+
+    private void openWindow(long window) {
+        int closed = slot(currentWindow);
+        if (latencyCount > 0) {
+            Arrays.sort(latencies, 0, latencyCount);
+        }
+        latencyP50[closed] = percentile(latencies, latencyCount, 0.50);
+        latencyP90[closed] = percentile(latencies, latencyCount, 0.90);
+        latencyP99[closed] = percentile(latencies, latencyCount, 0.99);
+        latencyCount = 0;
+        currentWindow = window;
+        clearSlot(slot(window));
+    }
+
+    private void clearSlot(int slot) {
+        busyTime[slot] = 0;
+        idleTime[slot] = 0;
+        queueTime[slot] = 0;
+        maxQueueLength[slot] = queued;
+        arrivals[slot] = 0;
+        completions[slot] = 0;
+        latencyP50[slot] = -1;
+        latencyP90[slot] = -1;
+        latencyP99[slot] = -1;
+    }
+
+    /**
+     * Gets a nearest-rank percentile of sorted samples.
+     */
+    private static int percentile(int[] sorted, int count, double fraction) {
+        if (count == 0) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(fraction * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,600 @@
+package com.cpuscheduler.core;
+
+import com.cpuscheduler.model.BurstSequence;
+import com.cpuscheduler.model.Process;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Characterizes a workload in a single pass, to help pick a policy before simulating it:
+ * the distribution of CPU burst times and the weight of its tail, how bursty the arrivals
+ * are, the offered load, the mix of priorities and the most frequent process names.
+ *
+ * The profiler is a consumer, so it can be handed straight to
+ * {@link com.cpuscheduler.io.WorkloadReader#forEach} or
+ * {@link com.cpuscheduler.io.SchedTraceImporter#importTrace}. Nothing is kept per process:
+ * burst and interarrival times go into {@link QuantileSketch}es, names into a
+ * {@link CountMinSketch} with a short list of candidates for the most frequent ones, and the
+ * tail index is the Hill estimate over the largest bursts seen. Memory therefore stays the
+ * same however long the trace is.
+ *
+ * Arrivals do not have to come in order; traces list a process when its task blocks, not
+ * when it wakes up. They are sorted within a window of {@value #REORDER_WINDOW} processes,
+ * and an arrival that is later still out of order counts as arriving with the one before.
+ * The statistics cover the processes seen so far and may be read at any time.
+ */
+public class WorkloadProfiler implements Consumer<Process> {
+    /** The relative error of the reported quantiles. */
+    public static final double QUANTILE_ACCURACY = 0.01;
+    /** The number of most frequent names reported. */
+    public static final int TOP_NAMES = 10;
+    /** The number of processes whose arrivals are sorted before they are measured. */
+    public static final int REORDER_WINDOW = 4096;
+
+    // About 0.07% of the total overestimate, failing with probability e^-4
+    private static final int NAME_SKETCH_WIDTH = 4096;
+    private static final int NAME_SKETCH_DEPTH = 4;
+    // The largest bursts kept for the tail index
+    private static final int TAIL_SAMPLE = 1024;
+    // The fewest bursts a tail index is estimated from
+    private static final int MIN_TAIL_BURSTS = 50;
+    // Priorities beyond this many distinct values are counted together
+    private static final int MAX_PRIORITY_LEVELS = 64;
+    // Round Robin should let this share of CPU bursts finish within one quantum
+    private static final double QUANTUM_QUANTILE = 0.8;
+
+    private final QuantileSketch bursts = new QuantileSketch(QUANTILE_ACCURACY);
+    private final CountMinSketch names = new CountMinSketch(NAME_SKETCH_WIDTH, NAME_SKETCH_DEPTH);
+    private final Map<String, Long> frequentNames = new HashMap<>();
+    // No name below this estimate can enter a full candidate list
+    private long frequentNameFloor;
+    private final Map<Integer, Long> priorities = new TreeMap<>();
+    private long otherPriorities;
+
+    // Min-heaps: the largest bursts, and arrivals waiting to be put in order
+    private final int[] largestBursts = new int[TAIL_SAMPLE + 1];
+    private int largestBurstCount;
+    private final int[] pendingArrivals = new int[REORDER_WINDOW];
+    private int pendingArrivalCount;
+    // Arrivals that have left the window, and a copy with the pending ones added for reading
+    private final ArrivalStats arrivals = new ArrivalStats();
+    private ArrivalStats arrivalView;
+
+    private long processes;
+    private long processesWithIo;
+    private long ioBursts;
+    private long ioTime;
+    private long cpuTime;
+    // Running mean and sum of squared deviations (Welford)
+    private double burstMean;
+    private double burstSquares;
+
+    /**
+     * Statistics of arrivals taken in order: the interarrival times and the span they cover.
+     */
+    private static final class ArrivalStats {
+        final QuantileSketch gaps;
+        // Running mean and sum of squared deviations of the gaps (Welford)
+        double gapMean;
+        double gapSquares;
+        long first = -1;
+        long last;
+        long outOfOrder;
+
+        ArrivalStats() {
+            gaps = new QuantileSketch(QUANTILE_ACCURACY);
+        }
+
+        ArrivalStats(ArrivalStats other) {
+            gaps = new QuantileSketch(other.gaps);
+            gapMean = other.gapMean;
+            gapSquares = other.gapSquares;
+            first = other.first;
+            last = other.last;
+            outOfOrder = other.outOfOrder;
+        }
+
+        void add(int arrival) {
+            if (first < 0) {
+                first = arrival;
+                last = arrival;
+                return;
+            }
+            long gap = arrival - last;
+            if (gap < 0) {
+                outOfOrder++;
+                gap = 0;
+            } else {
+                last = arrival;
+            }
+            gaps.add(gap);
+            double difference = gap - gapMean;
+            gapMean += difference / gaps.getCount();
+            gapSquares += difference * (gap - gapMean);
+        }
+    }
+
+    /**
+     * A policy worth simulating for the profiled workload, and why.
+     */
+    public static final class Suggestion {
+        private final String spec;
+        private final String reason;
+
+        Suggestion(String spec, String reason) {
+            this.spec = spec;
+            this.reason = reason;
+        }
+
+        /**
+         * Gets the configuration, as accepted by {@link SchedulerFactory#createScheduler(String)}.
+         * @return The configuration.
+         */
+        public String getSpec() {
+            return spec;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return spec + " - " + reason;
+        }
+    }
+
+    @Override
+    public void accept(Process process) {
+        processes++;
+        BurstSequence sequence = process.getBursts();
+        if (sequence == null) {
+            addBurst(process.getBurstTime());
+        } else {
+            for (int i = 0; i < sequence.getCpuBurstCount(); i++) {
+                addBurst(sequence.getCpuBurst(i));
+            }
+            if (sequence.getCpuBurstCount() > 1) {
+                processesWithIo++;
+                ioBursts += sequence.getCpuBurstCount() - 1;
+                ioTime += sequence.getTotalIoTime();
+            }
+        }
+        addName(process.getName());
+        Integer priority = process.getPriority();
+        if (priorities.size() < MAX_PRIORITY_LEVELS || priorities.containsKey(priority)) {
+            priorities.merge(priority, 1L, Long::sum);
+        } else {
+            otherPriorities++;
+        }
+
+        arrivalView = null;
+        if (pendingArrivalCount == REORDER_WINDOW) {
+            arrivals.add(pollPendingArrival());
+        }
+        // Sift the arrival up the pending heap
+        int arrival = process.getArrivalTime();
+        int child = pendingArrivalCount++;
+        while (child > 0 && pendingArrivals[(child - 1) >>> 1] > arrival) {
+            pendingArrivals[child] = pendingArrivals[(child - 1) >>> 1];
+            child = (child - 1) >>> 1;
+        }
+        pendingArrivals[child] = arrival;
+    }
+
+    private void addBurst(int burst) {
+        cpuTime += burst;
+        bursts.add(burst);
+        double difference = burst - burstMean;
+        burstMean += difference / bursts.getCount();
+        burstSquares += difference * (burst - burstMean);
+
+        // Keep the largest bursts in a bounded min-heap
+        if (largestBurstCount == largestBursts.length) {
+            if (burst <= largestBursts[0]) {
+                return;
+            }
+            siftDown(largestBursts, largestBurstCount, burst);
+            return;
+        }
+        int child = largestBurstCount++;
+        while (child > 0 && largestBursts[(child - 1) >>> 1] > burst) {
+            largestBursts[child] = largestBursts[(child - 1) >>> 1];
+            child = (child - 1) >>> 1;
+        }
+        largestBursts[child] = burst;
+    }
+
+    /**
+     * Tracks a name in the sketch and keeps the names with the highest estimates as candidates
+     * for the most frequent ones. A name is compared with the candidates only when its
+     * estimate could beat the smallest of them.
+     */
+    private void addName(String name) {
+        long estimate = names.add(name);
+        if (frequentNames.size() < TOP_NAMES || frequentNames.containsKey(name)) {
+            frequentNames.put(name, estimate);
+            return;
+        }
+        if (estimate <= frequentNameFloor) {
+            return;
+        }
+        Map.Entry<String, Long> least = null;
+        for (Map.Entry<String, Long> entry : frequentNames.entrySet()) {
+            if (least == null || entry.getValue() < least.getValue()) {
+                least = entry;
+            }
+        }
+        if (estimate > least.getValue()) {
+            frequentNames.remove(least.getKey());
+            frequentNames.put(name, estimate);
+            frequentNameFloor = Collections.min(frequentNames.values());
+        } else {
+            frequentNameFloor = least.getValue();
+        }
+    }
+
+    private int pollPendingArrival() {
+        int first = pendingArrivals[0];
+        pendingArrivalCount--;
+        if (pendingArrivalCount > 0) {
+            siftDown(pendingArrivals, pendingArrivalCount, pendingArrivals[pendingArrivalCount]);
+        }
+        return first;
+    }
+
+    /**
+     * Replaces the root of a min-heap and restores the heap order.
+     */
+    private static void siftDown(int[] heap, int size, int value) {
+        int parent = 0;
+        for (int child = 1; child < size; child = 2 * parent + 1) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= value) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = value;
+    }
+
+    /**
+     * Gets the arrival statistics including the arrivals still waiting to be ordered. Those
+     * are measured on a copy, so reading a statistic does not change how later arrivals are
+     * ordered; the copy is kept until the next process comes in.
+     */
+    private ArrivalStats arrivalStats() {
+        if (pendingArrivalCount == 0) {
+            return arrivals;
+        }
+        if (arrivalView == null) {
+            arrivalView = new ArrivalStats(arrivals);
+            int[] pending = Arrays.copyOf(pendingArrivals, pendingArrivalCount);
+            Arrays.sort(pending);
+            for (int arrival : pending) {
+                arrivalView.add(arrival);
+            }
+        }
+        return arrivalView;
+    }
+
+    public long getProcessCount() {
+        return processes;
+    }
+
+    public long getCpuBurstCount() {
+        return bursts.getCount();
+    }
+
+    public long getProcessesWithIo() {
+        return processesWithIo;
+    }
+
+    public long getIoBurstCount() {
+        return ioBursts;
+    }
+
+    public long getTotalCpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * Estimates a quantile of the CPU burst times, within {@link #QUANTILE_ACCURACY}.
+     * @param q The quantile, in [0, 1].
+     * @return The estimate, or NaN if no process was seen.
+     */
+    public double getBurstQuantile(double q) {
+        return bursts.getQuantile(q);
+    }
+
+    public double getMeanBurstTime() {
+        return bursts.getMean();
+    }
+
+    /**
+     * Gets the coefficient of variation of the CPU burst times: about 1 for exponential
+     * bursts, well above it when a few long bursts hide among many short ones.
+     * @return The coefficient of variation, or NaN if no process was seen.
+     */
+    public double getBurstCv() {
+        long n = bursts.getCount();
+        return n == 0 ? Double.NaN : Math.sqrt(burstSquares / n) / burstMean;
+    }
+
+    /**
+     * Estimates the tail index of the CPU burst times with the Hill estimator over the
+     * largest 5% of bursts, between 10 and {@value #TAIL_SAMPLE} of them. Below 2 the tail is
+     * so heavy that the variance is dominated by rare huge bursts; exponential-like bursts
+     * give large values.
+     * @return The tail index, infinite if the largest bursts are all equal, or NaN if fewer
+     *         than {@value #MIN_TAIL_BURSTS} bursts were seen.
+     */
+    public double getTailIndex() {
+        long n = bursts.getCount();
+        if (n < MIN_TAIL_BURSTS) {
+            return Double.NaN;
+        }
+        int[] largest = Arrays.copyOf(largestBursts, largestBurstCount);
+        Arrays.sort(largest);
+        int k = (int) Math.min(largest.length - 1, Math.max(10, n / 20));
+        double threshold = largest[largest.length - 1 - k];
+        double sum = 0;
+        for (int i = largest.length - k; i < largest.length; i++) {
+            sum += Math.log(largest[i] / threshold);
+        }
+        return sum == 0 ? Double.POSITIVE_INFINITY : k / sum;
+    }
+
+    /**
+     * Estimates a quantile of the times between consecutive arrivals.
+     * @param q The quantile, in [0, 1].
+     * @return The estimate, or NaN if fewer than two processes were seen.
+     */
+    public double getInterarrivalQuantile(double q) {
+        return arrivalStats().gaps.getQuantile(q);
+    }
+
+    public double getMeanInterarrivalTime() {
+        return arrivalStats().gaps.getMean();
+    }
+
+    /**
+     * Gets the coefficient of variation of the interarrival times; 1 for Poisson arrivals.
+     * @return The coefficient of variation, or NaN if it is not defined.
+     */
+    public double getInterarrivalCv() {
+        ArrivalStats stats = arrivalStats();
+        long n = stats.gaps.getCount();
+        return n == 0 || stats.gapMean == 0 ? Double.NaN : Math.sqrt(stats.gapSquares / n) / stats.gapMean;
+    }
+
+    /**
+     * Gets the burstiness of arrivals, (sigma - mu) / (sigma + mu) of the interarrival times:
+     * -1 for perfectly periodic arrivals, 0 for Poisson ones and towards 1 when arrivals come
+     * in bursts separated by long gaps.
+     * @return The burstiness, or NaN if it is not defined.
+     */
+    public double getArrivalBurstiness() {
+        double cv = getInterarrivalCv();
+        return Double.isNaN(cv) ? Double.NaN : (cv - 1) / (cv + 1);
+    }
+
+    /**
+     * Gets the CPU time requested per unit of time between the first and the last arrival,
+     * the utilization of a single CPU if the workload kept arriving at that rate. Above 1 the
+     * ready queue grows for as long as arrivals continue.
+     * @return The offered load, or NaN if every process arrives at once.
+     */
+    public double getOfferedLoad() {
+        ArrivalStats stats = arrivalStats();
+        long span = stats.last - stats.first;
+        return stats.first < 0 || span == 0 ? Double.NaN : (double) cpuTime / span;
+    }
+
+    /**
+     * Gets the number of arrivals that were still out of order after sorting, which were
+     * measured as arriving with the process before them.
+     * @return The number of late arrivals.
+     */
+    public long getOutOfOrderArrivals() {
+        return arrivalStats().outOfOrder;
+    }
+
+    /**
+     * Gets how many processes have each priority.
+     * @return The counts by priority, in priority order; priorities beyond the first
+     *         {@value #MAX_PRIORITY_LEVELS} distinct ones are left out, see {@link #getOtherPriorities()}.
+     */
+    public Map<Integer, Long> getPriorityCounts() {
+        return Collections.unmodifiableMap(priorities);
+    }
+
+    public long getOtherPriorities() {
+        return otherPriorities;
+    }
+
+    /**
+     * Gets the most frequent process names with their estimated counts, most frequent first.
+     * The counts may be slightly too high, never too low, so names whose count could be all
+     * error, or that occur only once, are left out.
+     * @return Up to {@value #TOP_NAMES} names and counts.
+     */
+    public List<Map.Entry<String, Long>> getFrequentNames() {
+        long threshold = Math.max(1, names.getErrorBound());
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (String name : frequentNames.keySet()) {
+            long estimate = names.estimate(name);
+            if (estimate > threshold) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(name, estimate));
+            }
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries;
+    }
+
+    /**
+     * Fits a distribution with the mean and coefficient of variation of the CPU burst times,
+     * for {@link SteadyStateSimulator}.
+     * @return The distribution, or null if no process was seen.
+     */
+    public Distribution getBurstDistribution() {
+        return bursts.getCount() == 0 ? null : fit(getMeanBurstTime(), getBurstCv());
+    }
+
+    /**
+     * Fits a distribution with the mean and coefficient of variation of the interarrival times.
+     * @return The distribution, or null if fewer than two processes arrived apart.
+     */
+    public Distribution getInterarrivalDistribution() {
+        double mean = getMeanInterarrivalTime();
+        return Double.isNaN(mean) || mean == 0 ? null : fit(mean, getInterarrivalCv());
+    }
+
+    /**
+     * Picks the family matching the variability: constant, lognormal below the variability
+     * of an exponential, exponential around it and hyperexponential above it.
+     */
+    private static Distribution fit(double mean, double cv) {
+        mean = Math.max(0.01, Math.round(mean * 100) / 100.0);
+        cv = Math.round(cv * 100) / 100.0;
+        if (cv < 0.05) {
+            return Distribution.constant(mean);
+        }
+        if (cv < 0.9) {
+            return Distribution.lognormal(mean, cv);
+        }
+        if (cv <= 1.1) {
+            return Distribution.exponential(mean);
+        }
+        return Distribution.hyperexponential(mean, cv);
+    }
+
+    /**
+     * Suggests policies to simulate, the most promising first, from the burst variability,
+     * the arrival pattern and the priority mix. The Round Robin quantum is chosen so that
+     * 80% of CPU bursts finish within one quantum, the usual rule of thumb.
+     * @return The suggestions; empty if no process was seen.
+     */
+    public List<Suggestion> getSuggestions() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        if (processes == 0) {
+            return suggestions;
+        }
+        double cv = getBurstCv();
+        double tailIndex = getTailIndex();
+        double burstiness = getArrivalBurstiness();
+        boolean variable = cv > 1 || tailIndex < 2;
+        int quantum = (int) Math.max(1, Math.ceil(getBurstQuantile(QUANTUM_QUANTILE)));
+
+        if (cv <= 0.5) {
+            suggestions.add(new Suggestion("FCFS", String.format(Locale.ROOT,
+                    "burst times are nearly uniform (cv %.2f), so the order matters little and FCFS "
+                            + "switches least", cv)));
+        }
+        if (variable) {
+            suggestions.add(new Suggestion("PSRTF:50", String.format(Locale.ROOT,
+                    "burst times are highly variable (cv %.2f, tail index %s), so running the shortest "
+                            + "predicted work first cuts turnaround the most", cv, formatTailIndex(tailIndex))));
+            suggestions.add(new Suggestion("SJF",
+                    "the same ordering with known burst times, to measure what prediction costs"));
+        }
+        String reason = String.format(Locale.ROOT, "%.0f%% of CPU bursts finish within one quantum",
+                QUANTUM_QUANTILE * 100);
+        if (burstiness > 0.2) {
+            reason += String.format(Locale.ROOT, ", and time slicing keeps response short when "
+                    + "arrivals come in bursts (burstiness %.2f)", burstiness);
+        }
+        suggestions.add(new Suggestion("RR:" + quantum, reason));
+        if (!variable && cv > 0.5) {
+            suggestions.add(new Suggestion("SJF", String.format(Locale.ROOT,
+                    "moderately variable burst times (cv %.2f) still favour short jobs first", cv)));
+        }
+
+        long mostCommon = priorities.isEmpty() ? 0 : Collections.max(priorities.values());
+        if (priorities.size() + (otherPriorities > 0 ? 1 : 0) > 1 && mostCommon < 0.9 * processes) {
+            suggestions.add(new Suggestion("PRIORITY", String.format(Locale.ROOT,
+                    "%.0f%% of processes differ from the most common priority",
+                    100.0 * (processes - mostCommon) / processes)));
+        }
+        return suggestions;
+    }
+
+    private static String formatTailIndex(double tailIndex) {
+        if (Double.isNaN(tailIndex)) {
+            return "n/a";
+        }
+        return Double.isInfinite(tailIndex) ? "inf" : String.format(Locale.ROOT, "%.2f", tailIndex);
+    }
+
+    /**
+     * Formats the profile as a report.
+     * @return The report.
+     */
+    @Override
+    public String toString() {
+        if (processes == 0) {
+            return String.format("No processes%n");
+        }
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d processes, %d CPU bursts, %d processes with I/O%n",
+                processes, bursts.getCount(), processesWithIo));
+        report.append(String.format(Locale.ROOT,
+                "CPU bursts: mean %.2f, cv %.2f, p50 %.1f, p90 %.1f, p99 %.1f, max %.0f, tail index %s%n",
+                getMeanBurstTime(), getBurstCv(), getBurstQuantile(0.5), getBurstQuantile(0.9),
+                getBurstQuantile(0.99), getBurstQuantile(1), formatTailIndex(getTailIndex())));
+        if (ioBursts > 0) {
+            report.append(String.format(Locale.ROOT, "I/O bursts: %d, mean %.2f%n",
+                    ioBursts, (double) ioTime / ioBursts));
+        }
+        long outOfOrderArrivals = getOutOfOrderArrivals();
+        if (arrivalStats().gaps.getCount() > 0) {
+            report.append(String.format(Locale.ROOT,
+                    "Interarrival: mean %.2f, cv %.2f, burstiness %.2f, p50 %.1f, p99 %.1f",
+                    getMeanInterarrivalTime(), getInterarrivalCv(), getArrivalBurstiness(),
+                    getInterarrivalQuantile(0.5), getInterarrivalQuantile(0.99)));
+            if (outOfOrderArrivals > 0) {
+                report.append(String.format(Locale.ROOT, ", %d out of order", outOfOrderArrivals));
+            }
+            report.append(String.format("%n"));
+        }
+        double load = getOfferedLoad();
+        report.append(Double.isNaN(load) ? String.format("Offered load: all processes arrive at once%n")
+                : String.format(Locale.ROOT, "Offered load: %.2f of one CPU%s%n", load,
+                        load > 1 ? " (overloaded)" : ""));
+
+        report.append("Priorities:");
+        for (Map.Entry<Integer, Long> entry : priorities.entrySet()) {
+            report.append(String.format(Locale.ROOT, " %d=%.1f%%", entry.getKey(),
+                    100.0 * entry.getValue() / processes));
+        }
+        if (otherPriorities > 0) {
+            report.append(String.format(Locale.ROOT, " other=%.1f%%", 100.0 * otherPriorities / processes));
+        }
+        report.append(String.format("%n"));
+        List<Map.Entry<String, Long>> frequent = getFrequentNames();
+        if (!frequent.isEmpty()) {
+            report.append("Frequent names:");
+            for (Map.Entry<String, Long> entry : frequent) {
+                report.append(String.format(Locale.ROOT, " %s~%d (%.1f%%)", entry.getKey(), entry.getValue(),
+                        100.0 * entry.getValue() / processes));
+            }
+            report.append(String.format("%n"));
+        }
+
+        Distribution burst = getBurstDistribution();
+        Distribution interarrival = getInterarrivalDistribution();
+        report.append("Steady-state model: --burst ").append(burst);
+        if (interarrival != null) {
+            report.append(" --arrival ").append(interarrival);
+        }
+        report.append(String.format("%nSuggested schedulers:%n"));
+        for (Suggestion suggestion : getSuggestions()) {
+            report.append("  ").append(suggestion).append(String.format("%n"));
+        }
+        return report.toString();
+    }
+}
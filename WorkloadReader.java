@@ -0,0 +1,130 @@
+package com.cpuscheduler.io;
+
+import com.cpuscheduler.model.BurstSequence;
+import com.cpuscheduler.model.Process;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads workloads from text files with one process per line, in the same format the CLI
+ * accepts: name,arrival,burst[,priority]. The burst is either a CPU time or a sequence of
+ * CPU and I/O bursts in the form {@link BurstSequence#parse(String)} accepts, such as
+ * "4 disk:10 3". Blank lines, lines starting with '#' and a header line are skipped.
+ * Processes are numbered from 1 in file order.
+ */
+public class WorkloadReader {
+
+    private WorkloadReader() {
+    }
+
+    /**
+     * Reads all processes from a workload file.
+     * @param file The workload file.
+     * @return The processes in file order.
+     * @throws IOException If the file cannot be read or contains an invalid line.
+     */
+    public static List<Process> read(Path file) throws IOException {
+        List<Process> processes = new ArrayList<>();
+        forEach(file, processes::add);
+        return processes;
+    }
+
+    /**
+     * Streams the processes of a workload file to a consumer without keeping them in memory.
+     * @param file The workload file.
+     * @param consumer Receives each process in file order.
+     * @throws IOException If the file cannot be read or contains an invalid line.
+     */
+    public static void forEach(Path file, Consumer<Process> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            forEach(reader, file.toString(), consumer);
+        }
+    }
+
+    /**
+     * Reads all processes from workload text that does not come from a file, such as a request body.
+     * @param reader The workload text.
+     * @param source A name for the text in error messages.
+     * @return The processes in order.
+     * @throws IOException If the text cannot be read or contains an invalid line.
+     */
+    public static List<Process> read(BufferedReader reader, String source) throws IOException {
+        List<Process> processes = new ArrayList<>();
+        forEach(reader, source, processes::add);
+        return processes;
+    }
+
+    private static void forEach(BufferedReader reader, String source, Consumer<Process> consumer) throws IOException {
+        String line;
+        int lineNumber = 0;
+        int processId = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                consumer.accept(parseLine(line, processId));
+                processId++;
+            } catch (IllegalArgumentException e) {
+                // Tolerate a header line naming the columns
+                if (processId == 1 && isHeader(line)) {
+                    continue;
+                }
+                throw new IOException(source + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        String[] parts = line.split(",");
+        return parts.length > 1 && !parts[1].trim().matches("-?\\d+");
+    }
+
+    /**
+     * Parses one process from a line of the form name,arrival,burst[,priority].
+     * @param line The line to parse.
+     * @param processId The ID to give the process.
+     * @return The process.
+     * @throws IllegalArgumentException If the line is not a valid process.
+     */
+    public static Process parseLine(String line, int processId) {
+        String[] parts = line.split(",");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalArgumentException("Expected name, arrival, burst, [priority]");
+        }
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim().replaceAll("^\"|\"$", "");
+        }
+
+        String name = parts[0];
+        int arrivalTime = Integer.parseInt(parts[1]);
+        // A burst with spaces alternates CPU and I/O bursts
+        BurstSequence bursts = parts[2].contains(" ") ? BurstSequence.parse(parts[2]) : null;
+        int burstTime = bursts != null ? bursts.getTotalCpuTime() : Integer.parseInt(parts[2]);
+        int priority = (parts.length == 4) ? Integer.parseInt(parts[3]) : 1; // Default priority is 1
+
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Process name cannot be empty");
+        }
+        if (arrivalTime < 0) {
+            throw new IllegalArgumentException("Arrival time must be >= 0");
+        }
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Burst time must be > 0");
+        }
+        if (priority <= 0) {
+            throw new IllegalArgumentException("Priority must be > 0");
+        }
+        return bursts != null
+                ? new Process(processId, name, arrivalTime, bursts, priority)
+                : new Process(processId, name, arrivalTime, burstTime, priority);
+    }
+}